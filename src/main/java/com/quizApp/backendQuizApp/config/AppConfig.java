@@ -34,7 +34,7 @@ public class AppConfig {
     }
 
     @Bean
-    public WebClient geminiWebClient(GeminiProperties props) {
+    public WebClient geminiWebClient(GeminiProperties props, GeminiResilienceFilter resilienceFilter) {
         ExchangeStrategies strategies = ExchangeStrategies.builder()
                 .codecs(c -> c.defaultCodecs().maxInMemorySize(8 * 1024 * 1024))
                 .build();
@@ -43,6 +43,7 @@ public class AppConfig {
                 .clientConnector(new ReactorClientHttpConnector(HttpClient.create()
                         .responseTimeout(Duration.ofSeconds(60))))
                 .exchangeStrategies(strategies)
+                .filter(resilienceFilter)
                 .build();
     }
 }
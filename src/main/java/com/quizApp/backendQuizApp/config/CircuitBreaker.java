@@ -0,0 +1,114 @@
+package com.quizApp.backendQuizApp.config;
+
+import com.quizApp.backendQuizApp.config.properties.GeminiProperties;
+
+import java.time.Duration;
+
+// Count-based circuit breaker: opens when the failure rate over the last windowSize outcomes crosses the threshold,
+// fails fast for openDuration, then lets a few trial calls through before closing again.
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final GeminiProperties.CircuitBreaker props;
+    private final long openNanos;
+    // Ring of recent outcomes, true = failure
+    private final boolean[] window;
+    private int next;
+    private int recorded;
+    private int failures;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    CircuitBreaker(GeminiProperties.CircuitBreaker props) {
+        this.props = props;
+        this.openNanos = props.getOpenDuration().toNanos();
+        this.window = new boolean[Math.max(1, props.getWindowSize())];
+    }
+
+    synchronized boolean tryAcquire(long now) {
+        if (state == State.OPEN) {
+            if (now - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenPermits = props.getHalfOpenCalls();
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= props.getHalfOpenCalls()) {
+                close();
+            }
+            return;
+        }
+        record(false);
+    }
+
+    synchronized void onFailure(long now) {
+        if (state == State.HALF_OPEN) {
+            open(now);
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && recorded >= props.getMinimumCalls()
+                && failures * 100L >= (long) props.getFailureRateThreshold() * recorded) {
+            open(now);
+        }
+    }
+
+    // A cancelled trial call (client gone, hedge lost) says nothing about upstream health; hand its permit back
+    synchronized void onCancel() {
+        if (state == State.HALF_OPEN) {
+            halfOpenPermits++;
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    synchronized Duration remainingOpen(long now) {
+        return state == State.OPEN ? Duration.ofNanos(Math.max(0, openNanos - (now - openedAt))) : Duration.ZERO;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == window.length) {
+            if (window[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        window[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % window.length;
+    }
+
+    private void open(long now) {
+        state = State.OPEN;
+        openedAt = now;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        next = 0;
+        recorded = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,189 @@
+package com.quizApp.backendQuizApp.config;
+
+import com.quizApp.backendQuizApp.config.properties.GeminiProperties;
+import com.quizApp.backendQuizApp.exception.CircuitOpenException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Resilience for the Gemini WebClient, applied per exchange (i.e. up to the response headers):
+// circuit breaker check per try (one breaker per model, so an unhealthy model does not fail fast for the others),
+// optional hedging for non-streaming calls, and bounded retries with jittered backoff.
+// Streams are only ever retried before their body starts, so no question is emitted twice.
+@Component
+public class GeminiResilienceFilter implements ExchangeFilterFunction {
+
+    private static final Set<Integer> RETRYABLE_STATUSES = Set.of(408, 429, 500, 502, 503, 504);
+    private static final int LATENCY_SAMPLES = 256;
+    private static final int MIN_SAMPLES_FOR_HEDGING = 20;
+
+    private final GeminiProperties.Resilience props;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final long[] latencies = new long[LATENCY_SAMPLES];
+    private int latencyCount;
+    private int latencyNext;
+    private final Counter retries;
+    private final Counter hedgesFired;
+    private final Counter hedgesWon;
+    private final Counter rejected;
+
+    public GeminiResilienceFilter(GeminiProperties geminiProperties, MeterRegistry meterRegistry) {
+        this.props = geminiProperties.getResilience();
+        this.meterRegistry = meterRegistry;
+        this.retries = meterRegistry.counter("gemini.retries");
+        this.hedgesFired = meterRegistry.counter("gemini.hedges", "result", "fired");
+        this.hedgesWon = meterRegistry.counter("gemini.hedges", "result", "won");
+        this.rejected = meterRegistry.counter("gemini.circuit.rejected");
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        boolean hedge = props.getHedging().isEnabled() && !isStreaming(request);
+        Mono<ClientResponse> call = hedge ? hedged(request, next) : attempt(request, next);
+        return call.retryWhen(Retry.backoff(Math.max(0, props.getMaxAttempts() - 1), props.getInitialBackoff())
+                .maxBackoff(props.getMaxBackoff())
+                .jitter(props.getJitter())
+                .filter(GeminiResilienceFilter::isRetryable)
+                .doBeforeRetry(signal -> retries.increment())
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    CircuitBreaker.State circuitState(String model) {
+        CircuitBreaker breaker = breakers.get(model);
+        return breaker == null ? CircuitBreaker.State.CLOSED : breaker.state();
+    }
+
+    private CircuitBreaker breaker(String model) {
+        return breakers.computeIfAbsent(model, m -> {
+            CircuitBreaker breaker = new CircuitBreaker(props.getCircuitBreaker());
+            Gauge.builder("gemini.circuit.state", breaker, b -> b.state().ordinal()).tag("model", m).register(meterRegistry);
+            return breaker;
+        });
+    }
+
+    private Mono<ClientResponse> attempt(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            String model = model(request);
+            CircuitBreaker breaker = breaker(model);
+            if (!breaker.tryAcquire(start)) {
+                rejected.increment();
+                return Mono.error(new CircuitOpenException(model, breaker.remainingOpen(start)));
+            }
+            AtomicBoolean settled = new AtomicBoolean();
+            return next.exchange(request)
+                    .timeout(props.getAttemptTimeout())
+                    .flatMap(response -> {
+                        int status = response.statusCode().value();
+                        if (RETRYABLE_STATUSES.contains(status)) {
+                            return response.releaseBody().then(Mono.<ClientResponse>error(new RetryableStatusException(status)));
+                        }
+                        return Mono.just(response);
+                    })
+                    .doOnSuccess(response -> {
+                        if (settled.compareAndSet(false, true)) {
+                            breaker.onSuccess();
+                            recordLatency(System.nanoTime() - start);
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (settled.compareAndSet(false, true)) {
+                            breaker.onFailure(System.nanoTime());
+                        }
+                    })
+                    .doOnCancel(() -> {
+                        if (settled.compareAndSet(false, true)) {
+                            breaker.onCancel();
+                        }
+                    });
+        });
+    }
+
+    // Primary and backup race; the loser is cancelled. If the primary fails before the hedge delay,
+    // the backup is skipped and the failure goes straight to the retry policy.
+    private Mono<ClientResponse> hedged(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            Sinks.Empty<Void> primaryFailed = Sinks.empty();
+            AtomicReference<Throwable> primaryError = new AtomicReference<>();
+            Mono<ClientResponse> primary = attempt(request, next)
+                    .doOnError(e -> {
+                        primaryError.set(e);
+                        primaryFailed.tryEmitEmpty();
+                    });
+            Mono<ClientResponse> backup = Mono.delay(hedgeDelay())
+                    .takeUntilOther(primaryFailed.asMono())
+                    .flatMap(tick -> {
+                        hedgesFired.increment();
+                        return attempt(request, next).doOnNext(response -> hedgesWon.increment());
+                    });
+            return Mono.firstWithValue(primary, backup)
+                    .onErrorMap(e -> primaryError.get() != null ? primaryError.get() : e);
+        });
+    }
+
+    private Duration hedgeDelay() {
+        long[] samples;
+        synchronized (this) {
+            if (latencyCount < MIN_SAMPLES_FOR_HEDGING) {
+                return props.getHedging().getInitialDelay();
+            }
+            samples = Arrays.copyOf(latencies, latencyCount);
+        }
+        Arrays.sort(samples);
+        Duration p95 = Duration.ofNanos(samples[(int) Math.ceil(samples.length * 0.95) - 1]);
+        return p95.compareTo(props.getHedging().getMinDelay()) < 0 ? props.getHedging().getMinDelay() : p95;
+    }
+
+    private synchronized void recordLatency(long nanos) {
+        latencies[latencyNext] = nanos;
+        latencyNext = (latencyNext + 1) % LATENCY_SAMPLES;
+        latencyCount = Math.min(latencyCount + 1, LATENCY_SAMPLES);
+    }
+
+    // "/models/{model}:generateContent" -> "{model}"; anything else shares one breaker
+    static String model(ClientRequest request) {
+        String path = request.url().getPath();
+        int start = path.indexOf("/models/");
+        if (start < 0) {
+            return "default";
+        }
+        start += "/models/".length();
+        int end = path.indexOf(':', start);
+        return end < 0 ? path.substring(start) : path.substring(start, end);
+    }
+
+    private static boolean isStreaming(ClientRequest request) {
+        return request.url().getPath().contains(":streamGenerateContent");
+    }
+
+    private static boolean isRetryable(Throwable e) {
+        return e instanceof RetryableStatusException
+                || e instanceof WebClientRequestException
+                || e instanceof TimeoutException;
+    }
+
+    static final class RetryableStatusException extends RuntimeException {
+        RetryableStatusException(int status) {
+            super("Gemini responded with HTTP " + status);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.quizApp.backendQuizApp.config;
+
+import com.quizApp.backendQuizApp.config.properties.GenerationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableScheduling
+public class GenerationConfig {
+
+    // Fixed number of virtual-thread workers behind a bounded queue; overflow is rejected, not buffered
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService quizGenerationExecutor(GenerationProperties props) {
+        GenerationProperties.Jobs jobs = props.getJobs();
+        return new ThreadPoolExecutor(
+                jobs.getConcurrency(), jobs.getConcurrency(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(jobs.getQueueCapacity()),
+                Thread.ofVirtual().name("quiz-gen-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,66 @@
+package com.quizApp.backendQuizApp.config;
+
+import com.quizApp.backendQuizApp.config.properties.GenerationProperties;
+import com.quizApp.backendQuizApp.model.GenerationCacheEntry;
+import com.quizApp.backendQuizApp.model.GenerationJob;
+import com.quizApp.backendQuizApp.model.Quiz;
+import com.quizApp.backendQuizApp.model.QuizAttempt;
+import com.quizApp.backendQuizApp.model.UserActivityBucket;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+// Auto-index creation is off, so @Indexed/@CompoundIndex declarations never reach the server on their own.
+// The indexes queries depend on are created here instead: the TTL indexes that keep expiring collections bounded,
+// and the declared indexes of the entities listed in INDEXED_ENTITIES (their annotations stay the single definition).
+// ensureIndex is a no-op when the index already exists. Runs off the startup thread so an unreachable database
+// delays only the indexes, not the application.
+@Slf4j
+@Component
+public class MongoIndexes {
+
+    // Entities whose annotation-declared indexes back keyset paging or sorted scans
+    static final List<Class<?>> INDEXED_ENTITIES = List.of(Quiz.class, QuizAttempt.class, UserActivityBucket.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final GenerationProperties generationProperties;
+
+    public MongoIndexes(MongoTemplate mongoTemplate, GenerationProperties generationProperties) {
+        this.mongoTemplate = mongoTemplate;
+        this.generationProperties = generationProperties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureOnStartup() {
+        Thread.ofVirtual().name("mongo-indexes").start(this::ensure);
+    }
+
+    public void ensure() {
+        ensure(GenerationCacheEntry.class, new Index().on("expiresAt", Sort.Direction.ASC).expire(Duration.ZERO));
+        ensure(GenerationJob.class, new Index().on("completedAt", Sort.Direction.ASC)
+                .expire(generationProperties.getJobs().getRetention()));
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> entity : INDEXED_ENTITIES) {
+            resolver.resolveIndexFor(entity).forEach(index -> ensure(entity, index));
+        }
+    }
+
+    private void ensure(Class<?> entity, IndexDefinition index) {
+        try {
+            mongoTemplate.indexOps(entity).ensureIndex(index);
+        } catch (RuntimeException e) {
+            log.error("Failed to create index {} on {}: {}", index.getIndexKeys().toJson(), entity.getSimpleName(),
+                    e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.quizApp.backendQuizApp.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.activity")
+public class ActivityProperties {
+    private Migration migration = new Migration();
+
+    @Data
+    public static class Migration {
+        // Moves the quiz-id sets once stored on users into user_activity in the background after startup
+        private boolean enabled = true;
+        private int batchSize = 200;
+    }
+}
@@ -0,0 +1,19 @@
+package com.quizApp.backendQuizApp.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.attempts")
+public class AttemptProperties {
+    private Compaction compaction = new Compaction();
+
+    @Data
+    public static class Compaction {
+        // Rewrites legacy map-encoded attempts in the background after startup
+        private boolean enabled = false;
+        private int batchSize = 500;
+    }
+}
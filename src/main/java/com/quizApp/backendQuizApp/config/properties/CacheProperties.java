@@ -0,0 +1,34 @@
+package com.quizApp.backendQuizApp.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheProperties {
+    private Principal principal = new Principal();
+    private AnswerKey answerKey = new AnswerKey();
+    private Bundle bundle = new Bundle();
+
+    @Data
+    public static class Principal {
+        private long maxSize = 10_000;
+        private Duration ttl = Duration.ofMinutes(5);
+    }
+
+    @Data
+    public static class AnswerKey {
+        private long maxSize = 5_000;
+        private Duration ttl = Duration.ofMinutes(30);
+    }
+
+    @Data
+    public static class Bundle {
+        private long maxSize = 1_000;
+        private Duration ttl = Duration.ofMinutes(30);
+    }
+}
@@ -4,6 +4,8 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 @Data
 @Component
 @ConfigurationProperties(prefix = "app.gemini")
@@ -11,6 +13,64 @@ public class GeminiProperties {
     private String apiKey;
     private String baseUrl;
     private String model;
+    // Hard ceiling on maxOutputTokens; the per-call budget scales with the number of questions requested
     private Integer maxTokens;
     private Double temperature;
+    // Output budget per call: base + perQuestion * numberOfQuestions, capped at maxTokens
+    private int outputTokensBase = 256;
+    private int outputTokensPerQuestion = 200;
+    // Extra calls made when the model's output still fails schema validation
+    private int schemaRetries = 1;
+    private Admission admission = new Admission();
+    private Resilience resilience = new Resilience();
+
+    @Data
+    public static class Admission {
+        // Upstream calls allowed at once across all users
+        private int maxConcurrent = 8;
+        // Callers allowed to wait for a slot; beyond this requests are rejected immediately
+        private int maxQueued = 16;
+        private Duration maxWait = Duration.ofSeconds(2);
+        // Retry-After hint when the bulkhead is saturated
+        private Duration overloadRetryAfter = Duration.ofSeconds(5);
+        // Per-user token bucket: burst size and steady refill rate
+        private int userBurst = 5;
+        private int userRefillPerMinute = 10;
+        private Duration userIdleEviction = Duration.ofMinutes(10);
+        private long maxTrackedUsers = 100_000;
+    }
+
+    @Data
+    public static class Resilience {
+        // Total tries per call, including the first; retries only on 408/429/5xx and connection errors
+        private int maxAttempts = 3;
+        private Duration initialBackoff = Duration.ofMillis(200);
+        private Duration maxBackoff = Duration.ofSeconds(2);
+        // Random spread applied to each backoff, 0..1
+        private double jitter = 0.5;
+        // How long one try may wait for response headers before it is abandoned and retried
+        private Duration attemptTimeout = Duration.ofSeconds(30);
+        private Hedging hedging = new Hedging();
+        private CircuitBreaker circuitBreaker = new CircuitBreaker();
+    }
+
+    @Data
+    public static class Hedging {
+        // Fires a second non-streaming request if the first has not answered within the recent p95 latency
+        private boolean enabled = false;
+        private Duration minDelay = Duration.ofMillis(500);
+        // Used until enough latency samples have been collected
+        private Duration initialDelay = Duration.ofSeconds(10);
+    }
+
+    @Data
+    public static class CircuitBreaker {
+        // Outcomes of the most recent tries considered when deciding to open
+        private int windowSize = 20;
+        private int minimumCalls = 10;
+        private int failureRateThreshold = 50;
+        private Duration openDuration = Duration.ofSeconds(30);
+        // Trial calls let through while half-open; all must succeed to close again
+        private int halfOpenCalls = 2;
+    }
 }
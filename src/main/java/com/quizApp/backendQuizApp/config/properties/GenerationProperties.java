@@ -0,0 +1,107 @@
+package com.quizApp.backendQuizApp.config.properties;
+
+import com.quizApp.backendQuizApp.model.Question;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.generation")
+public class GenerationProperties {
+    private Jobs jobs = new Jobs();
+    private Cache cache = new Cache();
+    private Fanout fanout = new Fanout();
+    private Repair repair = new Repair();
+    private Routing routing = new Routing();
+    private WarmPool warmPool = new WarmPool();
+
+    @Data
+    public static class Jobs {
+        private int concurrency = 8;
+        private int queueCapacity = 100;
+        private Duration sseTimeout = Duration.ofMinutes(3);
+        // How long finished jobs are kept
+        private Duration retention = Duration.ofDays(1);
+        // Jobs RUNNING or PENDING for longer than this lost their worker (e.g. a node restart) and are failed
+        private Duration staleAfter = Duration.ofMinutes(30);
+    }
+
+    @Data
+    public static class Cache {
+        private boolean enabled = true;
+        private Duration ttl = Duration.ofDays(1);
+        private int maxReuses = 20;
+        private long nearCacheMaxSize = 500;
+        private Duration nearCacheTtl = Duration.ofMinutes(10);
+    }
+
+    @Data
+    public static class Fanout {
+        // Requests for more questions than this are split into parallel chunks of this size
+        private int chunkSize = 10;
+        // Follow-up requests allowed to make up for failed chunks and removed duplicates
+        private int maxTopUps = 1;
+    }
+
+    @Data
+    public static class Repair {
+        // Follow-up requests allowed to replace questions dropped as unrepairable
+        private int maxTopUps = 2;
+    }
+
+    @Data
+    public static class Routing {
+        // Checked in order; the first matching healthy route is preferred. Empty means the default Gemini model only.
+        private List<Route> routes = new ArrayList<>();
+        // Weight of the newest sample in the per-generator moving averages
+        private double latencyAlpha = 0.2;
+        private double errorAlpha = 0.1;
+        // Generators above this smoothed error rate are only tried after the healthy ones
+        private double maxErrorRate = 0.5;
+        // Samples needed before a generator's latency counts against it
+        private int minSamples = 5;
+    }
+
+    @Data
+    public static class Route {
+        // QuestionGenerator name, e.g. "gemini:gemini-1.5-flash"
+        private String generator;
+        // Largest quiz this route serves; unset means any size
+        private Integer maxQuestions;
+        // Difficulties this route serves; empty means all
+        private Set<Question.DifficultyLevel> difficulties = EnumSet.noneOf(Question.DifficultyLevel.class);
+        // Route is treated as unhealthy while its smoothed per-question latency is above this; unset means no budget
+        private Duration maxLatencyPerQuestion;
+    }
+
+    @Data
+    public static class WarmPool {
+        private boolean enabled = true;
+        // How many of the most requested keys get ready-made question sets, and how many sets each
+        private int hotKeys = 20;
+        private int setsPerKey = 2;
+        // Keys tracked by the frequency sketch; a request's weight halves every halfLife
+        private int sketchCapacity = 512;
+        private Duration halfLife = Duration.ofHours(6);
+        // Decayed request count a key needs before it is worth pre-generating
+        private double minRequests = 3;
+        // Background generations allowed at once
+        private int concurrency = 2;
+        // Scheduled top-ups only run inside this window (wrapping past midnight is allowed); unset means any time.
+        // Refills triggered by taking a set from the pool run immediately.
+        private LocalTime offPeakStart;
+        private LocalTime offPeakEnd;
+        private ZoneId zone = ZoneId.of("UTC");
+        // Sets older than this are discarded rather than handed out
+        private Duration maxAge = Duration.ofHours(24);
+    }
+}
@@ -0,0 +1,26 @@
+package com.quizApp.backendQuizApp.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.stats")
+public class StatsProperties {
+    // When false every submission updates quiz statistics directly
+    private boolean writeBehind = true;
+    private long flushIntervalMs = 5000;
+    private Leaderboard leaderboard = new Leaderboard();
+
+    @Data
+    public static class Leaderboard {
+        // Entries persisted per quiz; the largest k a client may request
+        private int capacity = 100;
+        private long cacheMaxSize = 10_000;
+        // How stale a node's view of entries written by other nodes may get
+        private Duration cacheTtl = Duration.ofSeconds(30);
+    }
+}
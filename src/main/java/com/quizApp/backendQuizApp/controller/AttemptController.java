@@ -1,14 +1,21 @@
 package com.quizApp.backendQuizApp.controller;
 
+import com.quizApp.backendQuizApp.dto.attempt.AttemptExportRequest;
+import com.quizApp.backendQuizApp.dto.attempt.BatchSubmitRequest;
+import com.quizApp.backendQuizApp.dto.attempt.BatchSubmitResponse;
 import com.quizApp.backendQuizApp.dto.attempt.SubmitAttemptRequest;
 import com.quizApp.backendQuizApp.model.QuizAttempt;
-import com.quizApp.backendQuizApp.model.User;
 import com.quizApp.backendQuizApp.service.AttemptService;
+import com.quizApp.backendQuizApp.security.AuthenticatedUser;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -21,18 +28,38 @@ public class AttemptController {
 
     @PostMapping
     public ResponseEntity<QuizAttempt> submit(@RequestBody @Valid SubmitAttemptRequest request,
-                                              @AuthenticationPrincipal User user) {
+                                              @AuthenticationPrincipal AuthenticatedUser user) {
         QuizAttempt attempt = attemptService.submitAttempt(request, user);
         return ResponseEntity.ok(attempt);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchSubmitResponse> submitBatch(@RequestBody @Valid BatchSubmitRequest request,
+                                                           @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(attemptService.submitBatch(request, user));
+    }
+
     @GetMapping("/me")
-    public ResponseEntity<List<QuizAttempt>> myAttempts(@AuthenticationPrincipal User user) {
-        return ResponseEntity.ok(attemptService.getMyAttempts(user));
+    public ResponseEntity<List<QuizAttempt>> myAttempts(@RequestParam(defaultValue = "false") boolean verbose,
+                                                        @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(attemptService.getMyAttempts(user, verbose));
     }
 
     @GetMapping("/quiz/{quizId}")
-    public ResponseEntity<List<QuizAttempt>> attemptsForQuiz(@PathVariable String quizId) {
-        return ResponseEntity.ok(attemptService.getAttemptsForQuiz(quizId));
+    public ResponseEntity<List<QuizAttempt>> attemptsForQuiz(@PathVariable String quizId,
+                                                             @RequestParam(defaultValue = "false") boolean verbose) {
+        return ResponseEntity.ok(attemptService.getAttemptsForQuiz(quizId, verbose));
+    }
+
+    @GetMapping("/quiz/{quizId}/export")
+    public ResponseEntity<StreamingResponseBody> exportForQuiz(@PathVariable String quizId,
+                                                               @Valid AttemptExportRequest request) {
+        boolean csv = request.getFormat() == AttemptExportRequest.ExportFormat.CSV;
+        StreamingResponseBody body = attemptService.exportAttempts(quizId, request);
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("attempts-" + quizId + (csv ? ".csv" : ".ndjson")).build().toString())
+                .body(body);
     }
 }
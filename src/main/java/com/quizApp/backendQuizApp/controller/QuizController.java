@@ -1,14 +1,30 @@
 package com.quizApp.backendQuizApp.controller;
 
+import com.quizApp.backendQuizApp.dto.quiz.CursorPage;
+import com.quizApp.backendQuizApp.dto.quiz.ItemAnalysis;
+import com.quizApp.backendQuizApp.dto.quiz.QuizBundle;
+import com.quizApp.backendQuizApp.dto.quiz.QuizCatalogFilter;
 import com.quizApp.backendQuizApp.dto.quiz.QuizGenerationRequest;
+import com.quizApp.backendQuizApp.dto.quiz.QuizSummary;
+import com.quizApp.backendQuizApp.dto.quiz.ScoreDistribution;
+import com.quizApp.backendQuizApp.model.GenerationJob;
+import com.quizApp.backendQuizApp.model.Leaderboard;
 import com.quizApp.backendQuizApp.model.Quiz;
-import com.quizApp.backendQuizApp.model.User;
+import com.quizApp.backendQuizApp.service.GenerationJobService;
+import com.quizApp.backendQuizApp.service.ItemStatsService;
+import com.quizApp.backendQuizApp.service.LeaderboardService;
+import com.quizApp.backendQuizApp.service.QuizBundleService;
 import com.quizApp.backendQuizApp.service.QuizService;
+import com.quizApp.backendQuizApp.service.ScoreDistributionService;
+import com.quizApp.backendQuizApp.security.AuthenticatedUser;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.util.List;
 
@@ -18,17 +34,49 @@ import java.util.List;
 public class QuizController {
 
     private final QuizService quizService;
+    private final GenerationJobService generationJobService;
+    private final LeaderboardService leaderboardService;
+    private final ScoreDistributionService scoreDistributionService;
+    private final ItemStatsService itemStatsService;
+    private final QuizBundleService quizBundleService;
 
     @PostMapping("/generate")
-    public ResponseEntity<Quiz> generate(@RequestBody @Valid QuizGenerationRequest request,
-                                         @AuthenticationPrincipal User user) {
+    public ResponseEntity<?> generate(@RequestBody @Valid QuizGenerationRequest request,
+                                      @RequestParam(defaultValue = "false") boolean async,
+                                      @AuthenticationPrincipal AuthenticatedUser user) {
+        if (async) {
+            GenerationJob job = generationJobService.submit(request, user);
+            return ResponseEntity.accepted()
+                    .location(ServletUriComponentsBuilder.fromCurrentContextPath()
+                            .path("/quizzes/jobs/{id}").buildAndExpand(job.getId()).toUri())
+                    .body(job);
+        }
         Quiz quiz = quizService.generateQuiz(request, user);
         return ResponseEntity.ok(quiz);
     }
 
+    @PostMapping(value = "/generate/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter generateStream(@RequestBody @Valid QuizGenerationRequest request,
+                                     @AuthenticationPrincipal AuthenticatedUser user) {
+        return quizService.streamQuiz(request, user);
+    }
+
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<GenerationJob> getJob(@PathVariable String id,
+                                                @AuthenticationPrincipal AuthenticatedUser user) {
+        GenerationJob job = generationJobService.getJob(id, user);
+        return job != null ? ResponseEntity.ok(job) : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping(value = "/jobs/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter jobEvents(@PathVariable String id,
+                                @AuthenticationPrincipal AuthenticatedUser user) {
+        return generationJobService.subscribe(id, user);
+    }
+
     @GetMapping("/public")
-    public ResponseEntity<List<Quiz>> listPublic() {
-        return ResponseEntity.ok(quizService.listPublicQuizzes());
+    public ResponseEntity<CursorPage<QuizSummary>> listPublic(@Valid QuizCatalogFilter filter) {
+        return ResponseEntity.ok(quizService.listPublicQuizzes(filter));
     }
 
     @GetMapping("/{id}")
@@ -37,8 +85,32 @@ public class QuizController {
         return quiz != null ? ResponseEntity.ok(quiz) : ResponseEntity.notFound().build();
     }
 
+    @GetMapping("/{id}/leaderboard")
+    public ResponseEntity<List<Leaderboard.Entry>> leaderboard(@PathVariable String id,
+                                                               @RequestParam(defaultValue = "10") int k) {
+        return ResponseEntity.ok(leaderboardService.top(id, k));
+    }
+
+    @GetMapping("/{id}/bundle")
+    public ResponseEntity<QuizBundle> bundle(@PathVariable String id) {
+        QuizBundle bundle = quizBundleService.getBundle(id);
+        return ResponseEntity.ok().eTag(bundle.getSignature()).body(bundle);
+    }
+
+    @GetMapping("/{id}/distribution")
+    public ResponseEntity<ScoreDistribution> distribution(@PathVariable String id) {
+        return ResponseEntity.ok(scoreDistributionService.getDistribution(id));
+    }
+
+    @GetMapping("/{id}/item-stats")
+    public ResponseEntity<ItemAnalysis> itemStats(@PathVariable String id,
+                                                  @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(itemStatsService.getItemAnalysis(id, user));
+    }
+
     @GetMapping("/my")
-    public ResponseEntity<List<Quiz>> getMyQuizzes(@AuthenticationPrincipal User user) {
-        return ResponseEntity.ok(quizService.getMyQuizzes(user.getId()));
+    public ResponseEntity<CursorPage<QuizSummary>> getMyQuizzes(@Valid QuizCatalogFilter filter,
+                                                                @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(quizService.getMyQuizzes(user.getId(), filter));
     }
 }
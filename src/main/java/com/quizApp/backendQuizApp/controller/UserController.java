@@ -0,0 +1,26 @@
+package com.quizApp.backendQuizApp.controller;
+
+import com.quizApp.backendQuizApp.dto.quiz.CursorPage;
+import com.quizApp.backendQuizApp.dto.user.ActivityFilter;
+import com.quizApp.backendQuizApp.model.UserActivityBucket;
+import com.quizApp.backendQuizApp.security.AuthenticatedUser;
+import com.quizApp.backendQuizApp.service.UserActivityService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/users")
+@RequiredArgsConstructor
+public class UserController {
+
+    private final UserActivityService userActivityService;
+
+    @GetMapping("/me/activity")
+    public ResponseEntity<CursorPage<UserActivityBucket.Entry>> myActivity(@Valid ActivityFilter filter,
+                                                                           @AuthenticationPrincipal AuthenticatedUser user) {
+        return ResponseEntity.ok(userActivityService.getActivity(user.getId(), filter));
+    }
+}
@@ -0,0 +1,25 @@
+package com.quizApp.backendQuizApp.dto.attempt;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class AttemptExportRequest {
+    private ExportFormat format = ExportFormat.NDJSON;
+
+    // Subset of exportable attempt fields, in output order; empty means all of them
+    private List<String> fields;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    public enum ExportFormat {
+        NDJSON, CSV
+    }
+}
@@ -0,0 +1,28 @@
+package com.quizApp.backendQuizApp.dto.attempt;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BatchSubmitResponse {
+    // One result per submitted attempt, in request order
+    private List<ItemResult> results;
+
+    @Data
+    @Builder
+    public static class ItemResult {
+        private int index;
+        private ItemStatus status;
+        private String attemptId;
+        private Double scorePercentage;
+        private String message;
+    }
+
+    public enum ItemStatus {
+        ACCEPTED, QUIZ_NOT_FOUND, STALE_BUNDLE
+    }
+}
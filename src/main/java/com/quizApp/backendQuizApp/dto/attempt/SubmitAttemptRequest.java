@@ -4,6 +4,7 @@ import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.Data;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Data
@@ -13,4 +14,13 @@ public class SubmitAttemptRequest {
 
     @NotEmpty
     private List<AttemptAnswer> answers;
+
+    // Offline play: when the client started and finished. Only honoured for batch uploads with a current bundle
+    // signature and within the quiz's time limit; otherwise the attempt is timed at upload
+    private LocalDateTime startedAt;
+
+    private LocalDateTime completedAt;
+
+    // Signature of the bundle the attempt was played from; rejected if the quiz has changed since
+    private String bundleSignature;
 }
@@ -0,0 +1,14 @@
+package com.quizApp.backendQuizApp.dto.quiz;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    // Null on the last page
+    private String nextCursor;
+}
@@ -0,0 +1,35 @@
+package com.quizApp.backendQuizApp.dto.quiz;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class ItemAnalysis {
+    private String quizId;
+    private List<QuestionItem> questions;
+
+    @Data
+    @Builder
+    public static class QuestionItem {
+        private int questionIndex;
+        private String questionText;
+        private long attempts;
+        private long correct;
+        // Share of attempts answering correctly; null before the first attempt
+        private Double pValue;
+        private List<OptionItem> options;
+    }
+
+    @Data
+    @Builder
+    public static class OptionItem {
+        private String option;
+        private boolean correct;
+        private long selections;
+        // Share of attempts selecting this option
+        private Double frequency;
+    }
+}
@@ -0,0 +1,39 @@
+package com.quizApp.backendQuizApp.dto.quiz;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.quizApp.backendQuizApp.model.Question;
+import lombok.Builder;
+import lombok.Value;
+import lombok.With;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Everything a client needs to run a quiz offline; correct answers and explanations are left out.
+// The signature covers every other field, so uploads can prove which version of the quiz was played.
+@Value
+@Builder
+@JsonPropertyOrder(alphabetic = true)
+public class QuizBundle {
+    String quizId;
+    String title;
+    String topic;
+    Question.DifficultyLevel difficulty;
+    Integer timeLimitMinutes;
+    Integer totalPoints;
+    // When this version of the quiz was last changed; offline attempts cannot have started before it
+    LocalDateTime issuedAt;
+    List<BundleQuestion> questions;
+    @With
+    String signature;
+
+    @Value
+    @Builder
+    @JsonPropertyOrder(alphabetic = true)
+    public static class BundleQuestion {
+        String questionText;
+        Question.QuestionType type;
+        List<String> options;
+        Integer points;
+    }
+}
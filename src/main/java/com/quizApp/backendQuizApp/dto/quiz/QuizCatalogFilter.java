@@ -0,0 +1,28 @@
+package com.quizApp.backendQuizApp.dto.quiz;
+
+import com.quizApp.backendQuizApp.model.Question;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+@Data
+public class QuizCatalogFilter {
+    private String topic;
+
+    private Question.DifficultyLevel difficulty;
+
+    private String category;
+
+    private SortOrder sort = SortOrder.NEWEST;
+
+    // Opaque value taken from the previous page's nextCursor
+    private String cursor;
+
+    @Min(1)
+    @Max(100)
+    private int limit = 20;
+
+    public enum SortOrder {
+        NEWEST, OLDEST
+    }
+}
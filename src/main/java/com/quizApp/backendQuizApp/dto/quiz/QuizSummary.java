@@ -0,0 +1,35 @@
+package com.quizApp.backendQuizApp.dto.quiz;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.quizApp.backendQuizApp.model.Question;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Catalog view of a Quiz: everything except the questions
+@Data
+public class QuizSummary {
+    private String id;
+    private String title;
+    private String description;
+    private String topic;
+    private String creatorId;
+    private String creatorUsername;
+    private Question.DifficultyLevel difficulty;
+    private String category;
+    private List<String> tags;
+    private Integer timeLimitMinutes;
+    private Integer totalQuestions;
+    private Integer totalPoints;
+    private Integer totalAttempts;
+    private Double averageScore;
+    // Projected so the average can be derived the same way Quiz does
+    @JsonIgnore
+    private Double scoreSum;
+    private LocalDateTime createdAt;
+
+    public Double getAverageScore() {
+        return scoreSum != null && totalAttempts != null && totalAttempts > 0 ? scoreSum / totalAttempts : averageScore;
+    }
+}
@@ -0,0 +1,15 @@
+package com.quizApp.backendQuizApp.dto.quiz;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class ScoreDistribution {
+    private String quizId;
+    private long totalAttempts;
+    // scoreCounts[i] = attempts scoring in [i, i+1) percent; the last bucket is exactly 100
+    private long[] scoreCounts;
+    private long[] timeBucketUpperBoundsSeconds;
+    private long[] timeCounts;
+}
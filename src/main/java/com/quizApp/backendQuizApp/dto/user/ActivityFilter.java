@@ -0,0 +1,18 @@
+package com.quizApp.backendQuizApp.dto.user;
+
+import com.quizApp.backendQuizApp.model.UserActivityBucket;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+@Data
+public class ActivityFilter {
+    private UserActivityBucket.ActivityType type = UserActivityBucket.ActivityType.ATTEMPTED;
+
+    // Opaque value taken from the previous page's nextCursor
+    private String cursor;
+
+    @Min(1)
+    @Max(100)
+    private int limit = 20;
+}
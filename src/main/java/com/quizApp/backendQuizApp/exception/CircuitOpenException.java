@@ -0,0 +1,18 @@
+package com.quizApp.backendQuizApp.exception;
+
+import java.time.Duration;
+
+// One model's circuit breaker is open. Still a 503 for clients, but unlike local back-pressure it is a fault of that
+// model, so the generator router fails over to another one.
+public class CircuitOpenException extends ServiceOverloadedException {
+    private final String model;
+
+    public CircuitOpenException(String model, Duration retryAfter) {
+        super("Gemini is currently unavailable, please retry later", retryAfter);
+        this.model = model;
+    }
+
+    public String getModel() {
+        return model;
+    }
+}
@@ -0,0 +1,12 @@
+package com.quizApp.backendQuizApp.exception;
+
+// The API call succeeded but the model's output did not match the requested question schema
+public class GeminiSchemaException extends GeminiApiException {
+    public GeminiSchemaException(String message) {
+        super(message);
+    }
+
+    public GeminiSchemaException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
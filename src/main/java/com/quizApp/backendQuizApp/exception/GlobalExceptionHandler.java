@@ -1,13 +1,16 @@
 package com.quizApp.backendQuizApp.exception;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.validation.FieldError;
@@ -54,6 +57,39 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
     }
 
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<Map<String, Object>> handleOverloaded(ServiceOverloadedException ex, HttpServletRequest req) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("timestamp", LocalDateTime.now());
+        error.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        error.put("error", HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase());
+        error.put("message", ex.getMessage());
+        error.put("path", req.getRequestURI());
+
+        return withRetryAfter(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE), ex.getRetryAfter()).body(error);
+    }
+
+    @ExceptionHandler(RateLimitedException.class)
+    public ResponseEntity<Map<String, Object>> handleRateLimited(RateLimitedException ex, HttpServletRequest req) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("timestamp", LocalDateTime.now());
+        error.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        error.put("error", HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase());
+        error.put("message", ex.getMessage());
+        error.put("path", req.getRequestURI());
+
+        return withRetryAfter(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS), ex.getRetryAfter()).body(error);
+    }
+
+    private static ResponseEntity.BodyBuilder withRetryAfter(ResponseEntity.BodyBuilder builder, Duration retryAfter) {
+        if (retryAfter != null) {
+            // Whole seconds, rounded up so clients never retry early
+            long seconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+            builder.header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds));
+        }
+        return builder;
+    }
+
     @ExceptionHandler({IllegalArgumentException.class, BadCredentialsException.class})
     public ResponseEntity<Map<String, Object>> handleBadRequest(RuntimeException ex, HttpServletRequest req) {
         Map<String, Object> error = new HashMap<>();
@@ -66,6 +102,18 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(error);
     }
 
+    @ExceptionHandler(AccessDeniedException.class)
+    public ResponseEntity<Map<String, Object>> handleForbidden(AccessDeniedException ex, HttpServletRequest req) {
+        Map<String, Object> error = new HashMap<>();
+        error.put("timestamp", LocalDateTime.now());
+        error.put("status", HttpStatus.FORBIDDEN.value());
+        error.put("error", HttpStatus.FORBIDDEN.getReasonPhrase());
+        error.put("message", ex.getMessage());
+        error.put("path", req.getRequestURI());
+
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+    }
+
     @ExceptionHandler({UsernameNotFoundException.class})
     public ResponseEntity<Map<String, Object>> handleNotFound(RuntimeException ex, HttpServletRequest req) {
         Map<String, Object> error = new HashMap<>();
@@ -0,0 +1,21 @@
+package com.quizApp.backendQuizApp.exception;
+
+import java.time.Duration;
+
+public class ServiceOverloadedException extends RuntimeException {
+    // Optional hint for the Retry-After header
+    private final Duration retryAfter;
+
+    public ServiceOverloadedException(String message) {
+        this(message, null);
+    }
+
+    public ServiceOverloadedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
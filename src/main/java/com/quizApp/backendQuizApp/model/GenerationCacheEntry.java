@@ -0,0 +1,40 @@
+package com.quizApp.backendQuizApp.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "generation_cache")
+public class GenerationCacheEntry {
+
+    // Normalized GenerationKey string
+    @Id
+    private String id;
+
+    private String topic;
+
+    private Question.DifficultyLevel difficulty;
+
+    private String category;
+
+    private Integer numberOfQuestions;
+
+    private List<Question> questions;
+
+    private Integer useCount;
+
+    private LocalDateTime createdAt;
+
+    // TTL index created by MongoIndexes
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,69 @@
+package com.quizApp.backendQuizApp.model;
+
+import com.quizApp.backendQuizApp.dto.quiz.QuizGenerationRequest;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "generation_jobs")
+public class GenerationJob {
+
+    @Id
+    private String id;
+
+    @Indexed
+    private String userId;
+
+    private QuizGenerationRequest request;
+
+    @Builder.Default
+    private JobStatus status = JobStatus.PENDING;
+
+    private String quizId;
+
+    private String error;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    // Set when the job finishes either way; finished jobs are only interesting for a day, after which the TTL index
+    // created by MongoIndexes removes them. Unfinished jobs have no completedAt and never expire.
+    private LocalDateTime completedAt;
+
+    public enum JobStatus {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    // Helper methods
+    public boolean isFinished() {
+        return status == JobStatus.COMPLETED || status == JobStatus.FAILED;
+    }
+
+    public void markRunning() {
+        this.status = JobStatus.RUNNING;
+        this.startedAt = LocalDateTime.now();
+    }
+
+    public void markCompleted(String quizId) {
+        this.status = JobStatus.COMPLETED;
+        this.quizId = quizId;
+        this.completedAt = LocalDateTime.now();
+    }
+
+    public void markFailed(String error) {
+        this.status = JobStatus.FAILED;
+        this.error = error;
+        this.completedAt = LocalDateTime.now();
+    }
+}
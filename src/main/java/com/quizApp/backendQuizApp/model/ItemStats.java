@@ -0,0 +1,36 @@
+package com.quizApp.backendQuizApp.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Map;
+
+// Per-question counters for one quiz, maintained with $inc only
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "item_stats")
+public class ItemStats {
+
+    // Same as the quiz id
+    @Id
+    private String id;
+
+    // Question index (as a string key, so upserted $inc paths create it) -> counters
+    private Map<String, QuestionCounters> questions;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class QuestionCounters {
+        private Long attempts;
+        private Long correct;
+        // Option index -> times selected
+        private Map<String, Long> options;
+    }
+}
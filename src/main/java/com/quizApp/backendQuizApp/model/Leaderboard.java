@@ -0,0 +1,51 @@
+package com.quizApp.backendQuizApp.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+// Top attempts of one quiz, one per user (their best), kept sorted and capped server-side with $push/$sort/$slice
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "leaderboards")
+public class Leaderboard {
+
+    // Same as the quiz id
+    @Id
+    private String id;
+
+    private List<Entry> entries;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        // Higher score first, then faster completion; attempt id breaks exact ties deterministically
+        public static final Comparator<Entry> RANKING = Comparator
+                .comparing((Entry e) -> e.getScorePercentage() == null ? 0 : e.getScorePercentage(), Comparator.reverseOrder())
+                .thenComparing(e -> e.getTimeTakenSeconds() == null ? Long.MAX_VALUE : e.getTimeTakenSeconds())
+                .thenComparing(e -> e.getAttemptId() == null ? "" : e.getAttemptId());
+
+        private String attemptId;
+
+        private String userId;
+
+        private String username;
+
+        private Double scorePercentage;
+
+        private Long timeTakenSeconds;
+
+        private LocalDateTime completedAt;
+    }
+}
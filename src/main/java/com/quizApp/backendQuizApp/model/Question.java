@@ -9,10 +9,11 @@ import org.springframework.data.mongodb.core.mapping.Document;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import java.util.ArrayList;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @Document
@@ -42,6 +43,14 @@ public class Question {
     
     private List<String> tags;
     
+    // Independent copy, lists included, for handing out questions that are shared through a cache
+    public Question copy() {
+        return toBuilder()
+                .options(options == null ? null : new ArrayList<>(options))
+                .tags(tags == null ? null : new ArrayList<>(tags))
+                .build();
+    }
+
     public enum QuestionType {
         MULTIPLE_CHOICE,
         TRUE_FALSE,
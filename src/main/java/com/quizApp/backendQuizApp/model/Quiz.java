@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.index.Indexed;
 
@@ -21,6 +22,12 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "quizzes")
+// Catalog indexes: equality filters first, then the (createdAt, _id) keyset
+@CompoundIndex(name = "public_catalog", def = "{ 'isPublic': 1, 'createdAt': -1, '_id': -1 }")
+@CompoundIndex(name = "public_topic", def = "{ 'isPublic': 1, 'topic': 1, 'createdAt': -1, '_id': -1 }")
+@CompoundIndex(name = "public_difficulty", def = "{ 'isPublic': 1, 'difficulty': 1, 'createdAt': -1, '_id': -1 }")
+@CompoundIndex(name = "public_category", def = "{ 'isPublic': 1, 'category': 1, 'createdAt': -1, '_id': -1 }")
+@CompoundIndex(name = "creator_catalog", def = "{ 'creatorId': 1, 'createdAt': -1, '_id': -1 }")
 public class Quiz {
     
     @Id
@@ -67,8 +74,12 @@ public class Quiz {
     // Quiz statistics
     private Integer totalAttempts;
     
+    // Only read for documents that predate scoreSum; see getAverageScore()
     private Double averageScore;
     
+    // Running sum of scorePercentage, maintained with $inc alongside totalAttempts
+    private Double scoreSum;
+    
     private Integer totalQuestions;
     
     private Integer totalPoints;
@@ -88,20 +99,11 @@ public class Quiz {
     @Builder.Default
     private QuizVisibility visibility = QuizVisibility.PUBLIC;
     
-    public enum QuizVisibility {
-        PUBLIC, PRIVATE, RESTRICTED
+    public Double getAverageScore() {
+        return scoreSum != null && totalAttempts != null && totalAttempts > 0 ? scoreSum / totalAttempts : averageScore;
     }
     
-    // Helper methods
-    public void incrementAttempts() {
-        this.totalAttempts = (this.totalAttempts == null) ? 1 : this.totalAttempts + 1;
-    }
-    
-    public void updateAverageScore(Double newScore) {
-        if (this.averageScore == null) {
-            this.averageScore = newScore;
-        } else {
-            this.averageScore = ((this.averageScore * (this.totalAttempts - 1)) + newScore) / this.totalAttempts;
-        }
+    public enum QuizVisibility {
+        PUBLIC, PRIVATE, RESTRICTED
     }
 }
@@ -1,15 +1,17 @@
 package com.quizApp.backendQuizApp.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.index.Indexed;
 
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -19,6 +21,7 @@ import java.util.Map;
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "quiz_attempts")
+@CompoundIndex(name = "quiz_created", def = "{ 'quizId': 1, 'createdAt': 1 }")
 public class QuizAttempt {
     
     @Id
@@ -36,7 +39,18 @@ public class QuizAttempt {
     
     private String quizTitle;
     
-    @NotNull(message = "User answers are required")
+    // Compact storage: byte i is a bitmask of the options selected for question i (0 = none)
+    @JsonIgnore
+    private byte[] answerSelections;
+    
+    // Bitset of correctly answered question indices
+    @JsonIgnore
+    private byte[] resultBits;
+    
+    @JsonIgnore
+    private Map<Integer, String> freeTextAnswers; // questionIndex -> answer that matches no option
+    
+    // Verbose view, rebuilt from the quiz on read; only legacy documents still store these
     private Map<Integer, String> userAnswers; // questionIndex -> userAnswer
     
     private Map<Integer, String> correctAnswerMap; // questionIndex -> correctAnswer
@@ -51,6 +65,10 @@ public class QuizAttempt {
     
     private Double scorePercentage;
     
+    // Share of other takers this attempt beat; computed at submission, not stored
+    @Transient
+    private Double percentileRank;
+    
     private Integer totalPoints;
     
     private Integer earnedPoints;
@@ -0,0 +1,71 @@
+package com.quizApp.backendQuizApp.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Map;
+
+// Fixed-bucket distribution of attempt results for one quiz, maintained with $inc only
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "score_histograms")
+public class ScoreHistogram {
+
+    public static final int SCORE_BUCKETS = 101; // one per whole percent, 0..100
+    public static final long[] TIME_BUCKET_UPPER_BOUNDS_SECONDS = {30, 60, 120, 300, 600, 1200, 1800, 3600, Long.MAX_VALUE};
+
+    // Same as the quiz id
+    @Id
+    private String id;
+
+    private Long total;
+
+    // Bucket index (as a string key, so upserted $inc paths create it) -> count
+    private Map<String, Long> scoreBuckets;
+
+    private Map<String, Long> timeBuckets;
+
+    public static int scoreBucket(Double scorePercentage) {
+        if (scorePercentage == null) {
+            return 0;
+        }
+        return (int) Math.max(0, Math.min(SCORE_BUCKETS - 1, Math.floor(scorePercentage)));
+    }
+
+    public static int timeBucket(Long seconds) {
+        long value = seconds == null ? 0 : seconds;
+        for (int i = 0; i < TIME_BUCKET_UPPER_BOUNDS_SECONDS.length; i++) {
+            if (value < TIME_BUCKET_UPPER_BOUNDS_SECONDS[i]) {
+                return i;
+            }
+        }
+        return TIME_BUCKET_UPPER_BOUNDS_SECONDS.length - 1;
+    }
+
+    public long[] scoreCounts() {
+        return counts(scoreBuckets, SCORE_BUCKETS);
+    }
+
+    public long[] timeCounts() {
+        return counts(timeBuckets, TIME_BUCKET_UPPER_BOUNDS_SECONDS.length);
+    }
+
+    private static long[] counts(Map<String, Long> buckets, int size) {
+        long[] counts = new long[size];
+        if (buckets != null) {
+            buckets.forEach((key, count) -> {
+                int i = Integer.parseInt(key);
+                if (i >= 0 && i < size && count != null) {
+                    counts[i] = count;
+                }
+            });
+        }
+        return counts;
+    }
+}
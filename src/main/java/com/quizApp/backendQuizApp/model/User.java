@@ -17,7 +17,6 @@ import jakarta.validation.constraints.Size;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
-import java.util.Set;
 
 @Data
 @Builder
@@ -72,17 +71,24 @@ public class User implements UserDetails {
     
     private LocalDateTime lastLoginAt;
     
-    // Quiz-related fields
-    private Set<String> createdQuizIds;
-    
-    private Set<String> attemptedQuizIds;
-    
+    // Quiz-related fields; per-quiz history lives in user_activity so this document stays a fixed size
     private Integer totalQuizzesCreated;
     
     private Integer totalQuizzesAttempted;
     
+    // Only read for documents that predate scoreSum; see getAverageScore()
     private Double averageScore;
     
+    // Running sum of scorePercentage, maintained with $inc alongside totalQuizzesAttempted
+    private Double scoreSum;
+    
+    private Long totalPointsEarned;
+    
+    public Double getAverageScore() {
+        return scoreSum != null && totalQuizzesAttempted != null && totalQuizzesAttempted > 0
+                ? scoreSum / totalQuizzesAttempted : averageScore;
+    }
+    
     // UserDetails implementation
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
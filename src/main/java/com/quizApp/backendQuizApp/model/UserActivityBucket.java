@@ -0,0 +1,58 @@
+package com.quizApp.backendQuizApp.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// A user's quiz activity, split into buckets of at most CAPACITY entries so no document grows without bound
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "user_activity")
+@CompoundIndex(name = "user_type_first", def = "{ 'userId': 1, 'type': 1, 'first': -1 }")
+public class UserActivityBucket {
+
+    public static final int CAPACITY = 200;
+
+    @Id
+    private String id;
+
+    private String userId;
+
+    private ActivityType type;
+
+    private Integer count;
+
+    // Oldest and newest entry timestamps; buckets fill in time order
+    private LocalDateTime first;
+
+    private LocalDateTime last;
+
+    private List<Entry> entries;
+
+    public enum ActivityType {
+        CREATED, ATTEMPTED
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        // attemptId for ATTEMPTED entries, quizId for CREATED ones; tie-breaker for paging
+        private String entryId;
+        private String quizId;
+        private String quizTitle;
+        private String attemptId;
+        private Double scorePercentage;
+        private LocalDateTime at;
+    }
+}
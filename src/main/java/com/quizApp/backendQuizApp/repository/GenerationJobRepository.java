@@ -0,0 +1,7 @@
+package com.quizApp.backendQuizApp.repository;
+
+import com.quizApp.backendQuizApp.model.GenerationJob;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface GenerationJobRepository extends MongoRepository<GenerationJob, String>, GenerationJobRepositoryCustom {
+}
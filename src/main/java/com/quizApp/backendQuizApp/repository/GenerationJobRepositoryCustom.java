@@ -0,0 +1,8 @@
+package com.quizApp.backendQuizApp.repository;
+
+import java.time.LocalDateTime;
+
+public interface GenerationJobRepositoryCustom {
+    // Marks jobs that have been RUNNING since before runningBefore, or PENDING since before pendingBefore, as FAILED
+    long failStale(LocalDateTime runningBefore, LocalDateTime pendingBefore, String error);
+}
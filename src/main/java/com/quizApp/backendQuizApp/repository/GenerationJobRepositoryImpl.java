@@ -0,0 +1,30 @@
+package com.quizApp.backendQuizApp.repository;
+
+import com.quizApp.backendQuizApp.model.GenerationJob;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+
+@RequiredArgsConstructor
+public class GenerationJobRepositoryImpl implements GenerationJobRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public long failStale(LocalDateTime runningBefore, LocalDateTime pendingBefore, String error) {
+        // The status filter makes this a no-op for jobs that finished in the meantime
+        Criteria stale = new Criteria().orOperator(
+                Criteria.where("status").is(GenerationJob.JobStatus.RUNNING).and("startedAt").lt(runningBefore),
+                Criteria.where("status").is(GenerationJob.JobStatus.PENDING).and("createdAt").lt(pendingBefore));
+        return mongoTemplate.updateMulti(Query.query(stale),
+                new Update()
+                        .set("status", GenerationJob.JobStatus.FAILED)
+                        .set("error", error)
+                        .set("completedAt", LocalDateTime.now()),
+                GenerationJob.class).getModifiedCount();
+    }
+}
@@ -0,0 +1,7 @@
+package com.quizApp.backendQuizApp.repository;
+
+import com.quizApp.backendQuizApp.model.Leaderboard;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface LeaderboardRepository extends MongoRepository<Leaderboard, String>, LeaderboardRepositoryCustom {
+}
@@ -0,0 +1,7 @@
+package com.quizApp.backendQuizApp.repository;
+
+import com.quizApp.backendQuizApp.model.Leaderboard;
+
+public interface LeaderboardRepositoryCustom {
+    void offer(String quizId, Leaderboard.Entry entry, int capacity);
+}
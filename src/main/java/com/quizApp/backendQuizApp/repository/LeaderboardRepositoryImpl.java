@@ -0,0 +1,80 @@
+package com.quizApp.backendQuizApp.repository;
+
+import com.quizApp.backendQuizApp.model.Leaderboard;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class LeaderboardRepositoryImpl implements LeaderboardRepositoryCustom {
+
+    // Only reached if the same user's entries keep being replaced concurrently
+    private static final int MAX_ROUNDS = 6;
+
+    private final MongoTemplate mongoTemplate;
+
+    // One entry per user, their best. Mongo cannot $pull and $push the same array in one update, so this alternates
+    // two atomic steps: insert-sort-trim while the user is not listed, otherwise pull their entry if it ranks lower.
+    // The first push upserts the board; once it is known to exist, pushes are plain updates, so "not matched" can only
+    // mean the user is listed. When the pull then removes nothing, the listed entry is at least as good and we are done.
+    @Override
+    public void offer(String quizId, Leaderboard.Entry entry, int capacity) {
+        boolean upsert = true;
+        for (int round = 0; round < MAX_ROUNDS; round++) {
+            Push push = pushUnlessListed(quizId, entry, capacity, upsert);
+            if (push == Push.PUSHED) {
+                return;
+            }
+            upsert = false;
+            if (push == Push.LISTED && pullIfRankedLower(quizId, entry) == 0) {
+                return;
+            }
+        }
+    }
+
+    private Push pushUnlessListed(String quizId, Leaderboard.Entry entry, int capacity, boolean upsert) {
+        Query unlisted = Query.query(Criteria.where("_id").is(quizId).and("entries.userId").ne(entry.getUserId()));
+        Update update = new Update();
+        update.push("entries")
+                .sort(Sort.by(Sort.Order.desc("scorePercentage"), Sort.Order.asc("timeTakenSeconds"), Sort.Order.asc("attemptId")))
+                .slice(capacity)
+                .each(entry);
+        if (!upsert) {
+            return mongoTemplate.updateFirst(unlisted, update, Leaderboard.class).getMatchedCount() > 0
+                    ? Push.PUSHED : Push.LISTED;
+        }
+        try {
+            mongoTemplate.upsert(unlisted, update, Leaderboard.class);
+            return Push.PUSHED;
+        } catch (DuplicateKeyException e) {
+            // The board exists, either listing the user already or created by a concurrent first offer; the next
+            // round's plain push tells the two apart
+            return Push.RACED;
+        }
+    }
+
+    // Same order as Leaderboard.Entry.RANKING: higher score, then faster, then lower attempt id
+    private long pullIfRankedLower(String quizId, Leaderboard.Entry entry) {
+        Document rankedLower = new Document("userId", entry.getUserId())
+                .append("$or", List.of(
+                        new Document("scorePercentage", new Document("$lt", entry.getScorePercentage())),
+                        new Document("scorePercentage", entry.getScorePercentage())
+                                .append("timeTakenSeconds", new Document("$gt", entry.getTimeTakenSeconds())),
+                        new Document("scorePercentage", entry.getScorePercentage())
+                                .append("timeTakenSeconds", entry.getTimeTakenSeconds())
+                                .append("attemptId", new Document("$gt", entry.getAttemptId()))));
+        return mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(quizId)),
+                new Update().pull("entries", rankedLower), Leaderboard.class).getModifiedCount();
+    }
+
+    private enum Push {
+        PUSHED, LISTED, RACED
+    }
+}
@@ -5,7 +5,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.List;
 
-public interface QuizAttemptRepository extends MongoRepository<QuizAttempt, String> {
+public interface QuizAttemptRepository extends MongoRepository<QuizAttempt, String>, QuizAttemptRepositoryCustom {
     List<QuizAttempt> findByQuizId(String quizId);
     List<QuizAttempt> findByUserId(String userId);
 }
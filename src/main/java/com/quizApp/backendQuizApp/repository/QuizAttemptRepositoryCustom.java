@@ -0,0 +1,12 @@
+package com.quizApp.backendQuizApp.repository;
+
+import com.quizApp.backendQuizApp.model.QuizAttempt;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface QuizAttemptRepositoryCustom {
+    // Backed by a server-side cursor; the caller must close the stream
+    Stream<QuizAttempt> streamForQuiz(String quizId, LocalDateTime from, LocalDateTime to, List<String> fields);
+}
@@ -0,0 +1,39 @@
+package com.quizApp.backendQuizApp.repository;
+
+import com.quizApp.backendQuizApp.model.QuizAttempt;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class QuizAttemptRepositoryImpl implements QuizAttemptRepositoryCustom {
+
+    private static final int EXPORT_BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Stream<QuizAttempt> streamForQuiz(String quizId, LocalDateTime from, LocalDateTime to, List<String> fields) {
+        Criteria criteria = Criteria.where("quizId").is(quizId);
+        if (from != null || to != null) {
+            Criteria createdAt = criteria.and("createdAt");
+            if (from != null) {
+                createdAt.gte(from);
+            }
+            if (to != null) {
+                createdAt.lt(to);
+            }
+        }
+        Query query = Query.query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "createdAt"))
+                .cursorBatchSize(EXPORT_BATCH_SIZE);
+        query.fields().include(fields.toArray(String[]::new));
+        return mongoTemplate.stream(query, QuizAttempt.class);
+    }
+}
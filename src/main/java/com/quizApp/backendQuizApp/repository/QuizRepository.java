@@ -2,11 +2,18 @@ package com.quizApp.backendQuizApp.repository;
 
 import com.quizApp.backendQuizApp.model.Quiz;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.util.List;
+import java.util.Optional;
 
-public interface QuizRepository extends MongoRepository<Quiz, String> {
+public interface QuizRepository extends MongoRepository<Quiz, String>, QuizRepositoryCustom {
     List<Quiz> findByCreatorId(String creatorId);
     List<Quiz> findByTopicIgnoreCase(String topic);
     List<Quiz> findByIsPublicTrue();
+
+    // Scoring lookup: skips question text and explanations
+    @Query(value = "{ '_id': ?0 }",
+            fields = "{ 'title': 1, 'questions.correctAnswer': 1, 'questions.points': 1, 'questions.type': 1, 'questions.options': 1 }")
+    Optional<Quiz> findAnswerKeyById(String id);
 }
@@ -0,0 +1,19 @@
+package com.quizApp.backendQuizApp.repository;
+
+import com.quizApp.backendQuizApp.dto.quiz.QuizCatalogFilter;
+import com.quizApp.backendQuizApp.dto.quiz.QuizSummary;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.util.List;
+
+public interface QuizRepositoryCustom {
+    void recordAttempt(String quizId, double scorePercentage);
+
+    void applyStats(List<StatsDelta> deltas);
+
+    // One-off migration for quizzes that predate scoreSum; returns how many were updated
+    long backfillScoreSums();
+
+    // Keyset page of summaries within scope, ordered by (createdAt, _id); fetches at most limit documents
+    List<QuizSummary> findSummaries(Criteria scope, QuizCatalogFilter filter, int limit);
+}
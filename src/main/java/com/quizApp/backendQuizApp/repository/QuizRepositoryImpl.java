@@ -0,0 +1,89 @@
+package com.quizApp.backendQuizApp.repository;
+
+import com.quizApp.backendQuizApp.dto.quiz.QuizCatalogFilter;
+import com.quizApp.backendQuizApp.dto.quiz.QuizCursor;
+import com.quizApp.backendQuizApp.dto.quiz.QuizSummary;
+import com.quizApp.backendQuizApp.model.Quiz;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.lang3.StringUtils;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class QuizRepositoryImpl implements QuizRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    // Single server-side $inc: no read-modify-write race and the questions array is never touched
+    @Override
+    public void recordAttempt(String quizId, double scorePercentage) {
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(quizId)),
+                StatsUpdates.counters("totalAttempts", 1, scorePercentage),
+                Quiz.class);
+    }
+
+    @Override
+    public void applyStats(List<StatsDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Quiz.class);
+        for (StatsDelta delta : deltas) {
+            bulk.updateOne(Query.query(Criteria.where("_id").is(delta.getId())),
+                    StatsUpdates.counters("totalAttempts", delta.getAttempts(), delta.getScoreSum()));
+        }
+        bulk.execute();
+    }
+
+    @Override
+    public long backfillScoreSums() {
+        return mongoTemplate.updateMulti(StatsUpdates.missingScoreSum(), StatsUpdates.backfillScoreSum("totalAttempts"),
+                Quiz.class).getModifiedCount();
+    }
+
+    @Override
+    public List<QuizSummary> findSummaries(Criteria scope, QuizCatalogFilter filter, int limit) {
+        List<Criteria> clauses = new ArrayList<>();
+        clauses.add(scope);
+        if (StringUtils.isNotBlank(filter.getTopic())) {
+            clauses.add(Criteria.where("topic").is(filter.getTopic()));
+        }
+        if (filter.getDifficulty() != null) {
+            clauses.add(Criteria.where("difficulty").is(filter.getDifficulty()));
+        }
+        if (StringUtils.isNotBlank(filter.getCategory())) {
+            clauses.add(Criteria.where("category").is(filter.getCategory()));
+        }
+
+        boolean newestFirst = filter.getSort() != QuizCatalogFilter.SortOrder.OLDEST;
+        if (StringUtils.isNotBlank(filter.getCursor())) {
+            QuizCursor after = QuizCursor.decode(filter.getCursor());
+            Object afterId = ObjectId.isValid(after.getId()) ? new ObjectId(after.getId()) : after.getId();
+            clauses.add(newestFirst
+                    ? new Criteria().orOperator(
+                            Criteria.where("createdAt").lt(after.getCreatedAt()),
+                            Criteria.where("createdAt").is(after.getCreatedAt()).and("_id").lt(afterId))
+                    : new Criteria().orOperator(
+                            Criteria.where("createdAt").gt(after.getCreatedAt()),
+                            Criteria.where("createdAt").is(after.getCreatedAt()).and("_id").gt(afterId)));
+        }
+
+        Sort.Direction direction = newestFirst ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Query query = Query.query(new Criteria().andOperator(clauses))
+                .with(Sort.by(direction, "createdAt").and(Sort.by(direction, "_id")))
+                .limit(limit);
+        // DTO projection: only QuizSummary's fields are requested, so questions never leave the server
+        return mongoTemplate.query(Quiz.class)
+                .as(QuizSummary.class)
+                .matching(query)
+                .all();
+    }
+}
@@ -0,0 +1,12 @@
+package com.quizApp.backendQuizApp.repository;
+
+import lombok.Value;
+
+// Accumulated attempt statistics for one quiz or user, applied with a single server-side update
+@Value
+public class StatsDelta {
+    String id;
+    long attempts;
+    double scoreSum;
+    long points;
+}
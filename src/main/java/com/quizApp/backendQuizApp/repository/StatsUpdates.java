@@ -0,0 +1,32 @@
+package com.quizApp.backendQuizApp.repository;
+
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+// Running attempt counters kept with plain $inc, which commutes under concurrent writers; the average score is derived
+// from scoreSum / count when the document is read rather than stored
+final class StatsUpdates {
+
+    private StatsUpdates() {
+    }
+
+    static Update counters(String countField, long count, double scoreSum) {
+        return new Update().inc(countField, count).inc("scoreSum", scoreSum);
+    }
+
+    // Documents written before scoreSum existed: reconstruct it from their stored average, once, before counting on
+    static Query missingScoreSum() {
+        return Query.query(Criteria.where("scoreSum").exists(false));
+    }
+
+    static AggregationUpdate backfillScoreSum(String countField) {
+        return AggregationUpdate.update()
+                .set("scoreSum").toValue(ArithmeticOperators.Multiply
+                        .valueOf(ConditionalOperators.ifNull("averageScore").then(0))
+                        .multiplyBy(ConditionalOperators.ifNull(countField).then(0)));
+    }
+}
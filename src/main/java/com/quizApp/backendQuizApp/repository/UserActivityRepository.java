@@ -0,0 +1,7 @@
+package com.quizApp.backendQuizApp.repository;
+
+import com.quizApp.backendQuizApp.model.UserActivityBucket;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface UserActivityRepository extends MongoRepository<UserActivityBucket, String>, UserActivityRepositoryCustom {
+}
@@ -0,0 +1,20 @@
+package com.quizApp.backendQuizApp.repository;
+
+import com.quizApp.backendQuizApp.dto.quiz.QuizCursor;
+import com.quizApp.backendQuizApp.model.UserActivityBucket;
+
+import java.util.List;
+import java.util.Set;
+
+public interface UserActivityRepositoryCustom {
+    void append(String userId, UserActivityBucket.ActivityType type, UserActivityBucket.Entry entry);
+
+    // Newest first, strictly after the cursor position (null for the first page)
+    List<UserActivityBucket.Entry> findEntries(String userId, UserActivityBucket.ActivityType type,
+                                               QuizCursor after, int limit);
+
+    Set<String> findEntryIds(String userId, UserActivityBucket.ActivityType type);
+
+    // Back-dated entries go into their own closed buckets, never the open one
+    void appendHistory(String userId, UserActivityBucket.ActivityType type, List<UserActivityBucket.Entry> entries);
+}
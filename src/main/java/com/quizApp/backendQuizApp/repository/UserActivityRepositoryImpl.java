@@ -0,0 +1,103 @@
+package com.quizApp.backendQuizApp.repository;
+
+import com.quizApp.backendQuizApp.dto.quiz.QuizCursor;
+import com.quizApp.backendQuizApp.model.UserActivityBucket;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@RequiredArgsConstructor
+public class UserActivityRepositoryImpl implements UserActivityRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    // Pushes into the user's open bucket, or upserts a new one once it is full.
+    // Concurrent appends may each open a bucket; both stay bounded, only slightly under-filled.
+    @Override
+    public void append(String userId, UserActivityBucket.ActivityType type, UserActivityBucket.Entry entry) {
+        Query openBucket = Query.query(Criteria.where("userId").is(userId)
+                .and("type").is(type)
+                .and("count").lt(UserActivityBucket.CAPACITY));
+        Update update = new Update()
+                .push("entries", entry)
+                .inc("count", 1)
+                .min("first", entry.getAt())
+                .max("last", entry.getAt());
+        mongoTemplate.upsert(openBucket, update, UserActivityBucket.class);
+    }
+
+    @Override
+    public List<UserActivityBucket.Entry> findEntries(String userId, UserActivityBucket.ActivityType type,
+                                                      QuizCursor after, int limit) {
+        Criteria buckets = Criteria.where("userId").is(userId).and("type").is(type);
+        Criteria entries = new Criteria();
+        if (after != null) {
+            buckets.and("first").lte(after.getCreatedAt());
+            entries = new Criteria().orOperator(
+                    Criteria.where("entries.at").lt(after.getCreatedAt()),
+                    Criteria.where("entries.at").is(after.getCreatedAt()).and("entries.entryId").lt(after.getId()));
+        }
+        // Only the newest few buckets can hold the page; one extra covers a partially consumed bucket
+        // and one more covers buckets opened concurrently
+        int bucketLimit = (limit + UserActivityBucket.CAPACITY - 1) / UserActivityBucket.CAPACITY + 2;
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(buckets),
+                Aggregation.sort(Sort.Direction.DESC, "first"),
+                Aggregation.limit(bucketLimit),
+                Aggregation.unwind("entries"),
+                Aggregation.match(entries),
+                Aggregation.sort(Sort.by(Sort.Direction.DESC, "entries.at", "entries.entryId")),
+                Aggregation.limit(limit),
+                Aggregation.replaceRoot("entries"));
+        return mongoTemplate.aggregate(aggregation, UserActivityBucket.class, UserActivityBucket.Entry.class)
+                .getMappedResults();
+    }
+
+    @Override
+    public Set<String> findEntryIds(String userId, UserActivityBucket.ActivityType type) {
+        Query query = Query.query(Criteria.where("userId").is(userId).and("type").is(type));
+        query.fields().include("entries.entryId");
+        Set<String> ids = new HashSet<>();
+        for (UserActivityBucket bucket : mongoTemplate.find(query, UserActivityBucket.class)) {
+            if (bucket.getEntries() != null) {
+                bucket.getEntries().forEach(entry -> ids.add(entry.getEntryId()));
+            }
+        }
+        return ids;
+    }
+
+    // Buckets are written full (count at CAPACITY) so append never reopens them: an old bucket receiving
+    // new entries would sort by its old first timestamp and fall out of findEntries' bucket window
+    @Override
+    public void appendHistory(String userId, UserActivityBucket.ActivityType type,
+                              List<UserActivityBucket.Entry> entries) {
+        List<UserActivityBucket.Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(Comparator.comparing(UserActivityBucket.Entry::getAt));
+        List<UserActivityBucket> buckets = new ArrayList<>();
+        for (int from = 0; from < sorted.size(); from += UserActivityBucket.CAPACITY) {
+            List<UserActivityBucket.Entry> chunk = new ArrayList<>(
+                    sorted.subList(from, Math.min(from + UserActivityBucket.CAPACITY, sorted.size())));
+            buckets.add(UserActivityBucket.builder()
+                    .userId(userId)
+                    .type(type)
+                    .count(UserActivityBucket.CAPACITY)
+                    .first(chunk.get(0).getAt())
+                    .last(chunk.get(chunk.size() - 1).getAt())
+                    .entries(chunk)
+                    .build());
+        }
+        if (!buckets.isEmpty()) {
+            mongoTemplate.insert(buckets, UserActivityBucket.class);
+        }
+    }
+}
@@ -2,13 +2,19 @@ package com.quizApp.backendQuizApp.repository;
 
 import com.quizApp.backendQuizApp.model.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.util.Optional;
 
-public interface UserRepository extends MongoRepository<User, String> {
+public interface UserRepository extends MongoRepository<User, String>, UserRepositoryCustom {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
     Optional<User> findByUsernameOrEmail(String username, String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    // Auth-path lookup: only the fields needed to build an AuthenticatedUser
+    @Query(value = "{ 'username': ?0 }",
+            fields = "{ 'username': 1, 'role': 1, 'enabled': 1, 'accountNonExpired': 1, 'accountNonLocked': 1, 'credentialsNonExpired': 1 }")
+    Optional<User> findAuthViewByUsername(String username);
 }
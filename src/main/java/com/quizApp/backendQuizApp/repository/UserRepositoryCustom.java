@@ -0,0 +1,12 @@
+package com.quizApp.backendQuizApp.repository;
+
+import java.util.List;
+
+public interface UserRepositoryCustom {
+    void applyStats(List<StatsDelta> deltas);
+
+    // One-off migration for users that predate scoreSum; returns how many were updated
+    long backfillScoreSums();
+
+    void incrementQuizzesCreated(String userId);
+}
@@ -0,0 +1,43 @@
+package com.quizApp.backendQuizApp.repository;
+
+import com.quizApp.backendQuizApp.model.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void applyStats(List<StatsDelta> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+        for (StatsDelta delta : deltas) {
+            bulk.updateOne(Query.query(Criteria.where("_id").is(delta.getId())),
+                    StatsUpdates.counters("totalQuizzesAttempted", delta.getAttempts(), delta.getScoreSum())
+                            .inc("totalPointsEarned", delta.getPoints()));
+        }
+        bulk.execute();
+    }
+
+    @Override
+    public long backfillScoreSums() {
+        return mongoTemplate.updateMulti(StatsUpdates.missingScoreSum(),
+                StatsUpdates.backfillScoreSum("totalQuizzesAttempted"), User.class).getModifiedCount();
+    }
+
+    @Override
+    public void incrementQuizzesCreated(String userId) {
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(userId)),
+                new Update().inc("totalQuizzesCreated", 1), User.class);
+    }
+}
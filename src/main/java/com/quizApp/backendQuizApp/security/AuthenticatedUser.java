@@ -0,0 +1,46 @@
+package com.quizApp.backendQuizApp.security;
+
+import com.quizApp.backendQuizApp.model.User;
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+// Auth-only view of a User kept in the principal cache; never carries the password or quiz history
+@Value
+@Builder
+public class AuthenticatedUser implements UserDetails {
+    String id;
+    String username;
+    User.Role role;
+    boolean enabled;
+    boolean accountNonExpired;
+    boolean accountNonLocked;
+    boolean credentialsNonExpired;
+
+    public static AuthenticatedUser from(User user) {
+        return AuthenticatedUser.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .role(user.getRole() != null ? user.getRole() : User.Role.USER)
+                .enabled(!Boolean.FALSE.equals(user.getEnabled()))
+                .accountNonExpired(!Boolean.FALSE.equals(user.getAccountNonExpired()))
+                .accountNonLocked(!Boolean.FALSE.equals(user.getAccountNonLocked()))
+                .credentialsNonExpired(!Boolean.FALSE.equals(user.getCredentialsNonExpired()))
+                .build();
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+}
@@ -3,14 +3,15 @@ package com.quizApp.backendQuizApp.security;
 import com.quizApp.backendQuizApp.config.properties.JwtProperties;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
-import java.security.Key;
 import java.time.Instant;
 import java.util.Date;
 import java.util.Map;
@@ -20,9 +21,13 @@ import java.util.function.Function;
 public class JwtService {
     private static final String ISSUER = "quiz-app";
     private static final int MIN_SECRET_LENGTH = 32;
+    static final String TYPE_CLAIM = "type";
+    static final String REFRESH_TOKEN_TYPE = "refresh";
 
     private final JwtProperties jwtProperties;
-    private Key key;
+    private SecretKey key;
+    // JwtParser is immutable and thread-safe, so one instance serves every request
+    private JwtParser parser;
 
     public JwtService(JwtProperties jwtProperties) {
         this.jwtProperties = jwtProperties;
@@ -37,6 +42,21 @@ public class JwtService {
 
         }
         this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .requireIssuer(ISSUER)
+                .build();
+    }
+
+    // Single parse + signature check; throws JwtException/IllegalArgumentException on bad or expired tokens
+    public VerifiedToken verify(String token) {
+        Claims claims = parseAllClaims(token);
+        return VerifiedToken.builder()
+                .subject(claims.getSubject())
+                .issuedAt(claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null)
+                .expiresAt(claims.getExpiration() != null ? claims.getExpiration().toInstant() : null)
+                .type(claims.get(TYPE_CLAIM, String.class))
+                .build();
     }
 
     public String extractUsername(String token) {
@@ -53,7 +73,7 @@ public class JwtService {
     }
 
     public String generateRefreshToken(UserDetails userDetails) {
-        return generateToken(Map.of("type", "refresh"), userDetails, jwtProperties.getRefreshExpiration());
+        return generateToken(Map.of(TYPE_CLAIM, REFRESH_TOKEN_TYPE), userDetails, jwtProperties.getRefreshExpiration());
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails, long expirationMs) {
@@ -72,27 +92,20 @@ public class JwtService {
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+            return isTokenValid(verify(token), userDetails);
         } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        return token.getSubject() != null
+                && token.getSubject().equals(userDetails.getUsername())
+                && !token.isExpired();
     }
 
     private Claims parseAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith((javax.crypto.SecretKey) key)
-                .requireIssuer(ISSUER)
-                .build()
-                .parseSignedClaims(token)
+        return parser.parseSignedClaims(token)
                 .getPayload();
     }
 }
@@ -0,0 +1,64 @@
+package com.quizApp.backendQuizApp.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.quizApp.backendQuizApp.config.properties.CacheProperties;
+import com.quizApp.backendQuizApp.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.util.function.LongSupplier;
+
+@Slf4j
+@Component
+public class PrincipalCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, AuthenticatedUser> cache;
+
+    @Autowired
+    public PrincipalCache(UserRepository userRepository, CacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        this(userRepository, cacheProperties, meterRegistry, System::nanoTime);
+    }
+
+    PrincipalCache(UserRepository userRepository, CacheProperties cacheProperties, MeterRegistry meterRegistry,
+                   LongSupplier nanoClock) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getPrincipal().getMaxSize())
+                .expireAfterWrite(cacheProperties.getPrincipal().getTtl())
+                .ticker(nanoClock::getAsLong)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+    }
+
+    public AuthenticatedUser get(String username) {
+        AuthenticatedUser principal = cache.get(username, this::load);
+        if (principal == null) {
+            throw new UsernameNotFoundException("User not found: " + username);
+        }
+        return principal;
+    }
+
+    public void invalidate(String username) {
+        if (username != null) {
+            cache.invalidate(username);
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private AuthenticatedUser load(String username) {
+        log.debug("Principal cache miss for {}", username);
+        return userRepository.findAuthViewByUsername(username)
+                .map(AuthenticatedUser::from)
+                .orElse(null);
+    }
+}
@@ -0,0 +1,27 @@
+package com.quizApp.backendQuizApp.security;
+
+import com.quizApp.backendQuizApp.model.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+// Evicts cached principals whenever a User is written through the repository or template
+@Component
+@RequiredArgsConstructor
+public class PrincipalCacheInvalidator extends AbstractMongoEventListener<User> {
+
+    private final PrincipalCache principalCache;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<User> event) {
+        principalCache.invalidate(event.getSource().getUsername());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<User> event) {
+        // Delete events only carry the query, not the username
+        principalCache.invalidateAll();
+    }
+}
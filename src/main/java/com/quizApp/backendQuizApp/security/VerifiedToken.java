@@ -0,0 +1,24 @@
+package com.quizApp.backendQuizApp.security;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+// Claims of a JWT whose signature, issuer and expiry have already been checked once
+@Value
+@Builder
+public class VerifiedToken {
+    String subject;
+    Instant issuedAt;
+    Instant expiresAt;
+    String type;
+
+    public boolean isRefreshToken() {
+        return JwtService.REFRESH_TOKEN_TYPE.equals(type);
+    }
+
+    public boolean isExpired() {
+        return expiresAt != null && expiresAt.isBefore(Instant.now());
+    }
+}
@@ -0,0 +1,159 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.quizApp.backendQuizApp.model.Question;
+import com.quizApp.backendQuizApp.model.Quiz;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Immutable, compiled scoring data for one quiz: normalized answers and points in flat arrays
+public final class AnswerKey {
+
+    private final String quizId;
+    private final String quizTitle;
+    private final String[] correctAnswers;
+    private final String[] normalizedAnswers;
+    // Only populated for MULTIPLE_CHOICE questions, where answer order does not matter
+    private final Set<String>[] answerSets;
+    private final int[] points;
+    // Normalized option labels per question, used to map answers back to option indices
+    private final String[][] options;
+    private final String[][] optionLabels;
+    private final int totalPoints;
+
+    @SuppressWarnings("unchecked")
+    private AnswerKey(Quiz quiz) {
+        List<Question> questions = quiz.getQuestions() != null ? quiz.getQuestions() : List.of();
+        int n = questions.size();
+        this.quizId = quiz.getId();
+        this.quizTitle = quiz.getTitle();
+        this.correctAnswers = new String[n];
+        this.normalizedAnswers = new String[n];
+        this.answerSets = new Set[n];
+        this.points = new int[n];
+        this.options = new String[n][];
+        this.optionLabels = new String[n][];
+        int total = 0;
+        for (int i = 0; i < n; i++) {
+            Question q = questions.get(i);
+            correctAnswers[i] = q.getCorrectAnswer();
+            normalizedAnswers[i] = normalize(q.getCorrectAnswer());
+            if (q.getType() == Question.QuestionType.MULTIPLE_CHOICE) {
+                answerSets[i] = toSet(normalizedAnswers[i]);
+            }
+            points[i] = q.getPoints() == null ? 1 : q.getPoints();
+            optionLabels[i] = q.getOptions() == null ? new String[0] : q.getOptions().toArray(String[]::new);
+            options[i] = Arrays.stream(optionLabels[i]).map(AnswerKey::normalize).toArray(String[]::new);
+            total += points[i];
+        }
+        this.totalPoints = total;
+    }
+
+    public static AnswerKey compile(Quiz quiz) {
+        return new AnswerKey(quiz);
+    }
+
+    public String getQuizId() {
+        return quizId;
+    }
+
+    public String getQuizTitle() {
+        return quizTitle;
+    }
+
+    public int size() {
+        return points.length;
+    }
+
+    public int getTotalPoints() {
+        return totalPoints;
+    }
+
+    public int pointsFor(int index) {
+        return points[index];
+    }
+
+    public String correctAnswer(int index) {
+        return correctAnswers[index];
+    }
+
+    public int optionCount(int index) {
+        return options[index].length;
+    }
+
+    public String optionLabel(int index, int option) {
+        return optionLabels[index][option];
+    }
+
+    public boolean isMultipleChoice(int index) {
+        return answerSets[index] != null;
+    }
+
+    // Indices of the options an answer selects; several for comma-separated multiple-choice answers
+    public int[] selectedOptions(int index, String answer) {
+        if (answer == null || options[index].length == 0) {
+            return new int[0];
+        }
+        String normalized = normalize(answer);
+        int whole = indexOf(options[index], normalized);
+        if (whole >= 0 || answerSets[index] == null) {
+            return whole >= 0 ? new int[]{whole} : new int[0];
+        }
+        return toSet(normalized).stream()
+                .mapToInt(part -> indexOf(options[index], part))
+                .filter(i -> i >= 0)
+                .sorted()
+                .toArray();
+    }
+
+    public boolean isCorrect(int index, String answer) {
+        if (answer == null || normalizedAnswers[index] == null) {
+            return false;
+        }
+        String normalized = normalize(answer);
+        if (normalized.equals(normalizedAnswers[index])) {
+            return true;
+        }
+        return answerSets[index] != null && answerSets[index].equals(toSet(normalized));
+    }
+
+    // Scores answers indexed by question position; results[i] receives per-question correctness
+    public Score score(String[] answers, boolean[] results) {
+        int correct = 0;
+        int earned = 0;
+        for (int i = 0; i < points.length; i++) {
+            boolean ok = i < answers.length && isCorrect(i, answers[i]);
+            results[i] = ok;
+            if (ok) {
+                correct++;
+                earned += points[i];
+            }
+        }
+        return new Score(correct, earned);
+    }
+
+    private static int indexOf(String[] values, String value) {
+        for (int i = 0; i < values.length; i++) {
+            if (value.equals(values[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static Set<String> toSet(String normalized) {
+        Set<String> parts = new HashSet<>();
+        Arrays.stream(normalized.split(",")).map(String::trim).filter(s -> !s.isEmpty()).forEach(parts::add);
+        return parts;
+    }
+
+    public record Score(int correctAnswers, int earnedPoints) {
+    }
+}
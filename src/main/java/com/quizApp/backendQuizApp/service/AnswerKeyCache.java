@@ -0,0 +1,39 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.quizApp.backendQuizApp.config.properties.CacheProperties;
+import com.quizApp.backendQuizApp.repository.QuizRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+@Component
+public class AnswerKeyCache {
+
+    private final LoadingCache<String, Optional<AnswerKey>> cache;
+
+    public AnswerKeyCache(QuizRepository quizRepository, CacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getAnswerKey().getMaxSize())
+                .expireAfterAccess(cacheProperties.getAnswerKey().getTtl())
+                .recordStats()
+                // Projection load: only title and the scoring fields of each question leave Mongo
+                .build(quizId -> quizRepository.findAnswerKeyById(quizId).map(AnswerKey::compile));
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "answerKeys");
+    }
+
+    public AnswerKey get(String quizId) {
+        return cache.get(quizId).orElseThrow(() -> new IllegalArgumentException("Quiz not found"));
+    }
+
+    public Optional<AnswerKey> find(String quizId) {
+        return cache.get(quizId);
+    }
+
+    public void invalidate(String quizId) {
+        cache.invalidate(quizId);
+    }
+}
@@ -0,0 +1,32 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.quizApp.backendQuizApp.model.Quiz;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+// Drops compiled answer keys and signed bundles when a quiz document is rewritten or removed
+@Component
+@RequiredArgsConstructor
+public class AnswerKeyCacheInvalidator extends AbstractMongoEventListener<Quiz> {
+
+    private final AnswerKeyCache answerKeyCache;
+    private final QuizBundleService quizBundleService;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Quiz> event) {
+        answerKeyCache.invalidate(event.getSource().getId());
+        quizBundleService.invalidate(event.getSource().getId());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Quiz> event) {
+        Object id = event.getSource().get("_id");
+        if (id != null) {
+            answerKeyCache.invalidate(id.toString());
+            quizBundleService.invalidate(id.toString());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.quizApp.backendQuizApp.model.QuizAttempt;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+// Compact attempt encoding: one byte per question holding a bitmask of the selected options,
+// correctness as a bitset, and a sparse map for answers that do not map onto options.
+// Correct answers are never stored; the verbose view is rebuilt from the quiz's answer key.
+final class AttemptCodec {
+
+    // Options beyond this index cannot be represented in the per-question byte
+    static final int MAX_ENCODED_OPTIONS = 8;
+
+    private AttemptCodec() {
+    }
+
+    static void encode(QuizAttempt attempt, AnswerKey key, String[] answers, boolean[] results) {
+        byte[] selections = new byte[key.size()];
+        Map<Integer, String> freeText = new HashMap<>();
+        BitSet correct = new BitSet(key.size());
+        for (int i = 0; i < key.size(); i++) {
+            if (results[i]) {
+                correct.set(i);
+            }
+            String answer = i < answers.length ? answers[i] : null;
+            if (answer == null) {
+                continue;
+            }
+            int mask = optionMask(key, i, answer);
+            if (mask != 0) {
+                selections[i] = (byte) mask;
+            } else {
+                freeText.put(i, answer);
+            }
+        }
+        attempt.setAnswerSelections(selections);
+        attempt.setResultBits(correct.toByteArray());
+        attempt.setFreeTextAnswers(freeText.isEmpty() ? null : freeText);
+        attempt.setUserAnswers(null);
+        attempt.setCorrectAnswerMap(null);
+        attempt.setQuestionResultsMap(null);
+    }
+
+    // Fills the verbose maps from the compact fields; legacy attempts that still carry the maps are left alone
+    static void decode(QuizAttempt attempt, AnswerKey key) {
+        byte[] selections = attempt.getAnswerSelections();
+        if (selections == null) {
+            return;
+        }
+        BitSet correct = BitSet.valueOf(attempt.getResultBits() != null ? attempt.getResultBits() : new byte[0]);
+        Map<Integer, String> freeText = attempt.getFreeTextAnswers() != null ? attempt.getFreeTextAnswers() : Map.of();
+        Map<Integer, String> userAnswers = new HashMap<>();
+        Map<Integer, String> correctMap = new HashMap<>();
+        Map<Integer, Boolean> resultsMap = new HashMap<>();
+        for (int i = 0; i < selections.length; i++) {
+            String answer = freeText.get(i);
+            if (answer == null && selections[i] != 0 && i < key.size()) {
+                answer = labels(key, i, selections[i] & 0xFF);
+            }
+            if (answer != null) {
+                userAnswers.put(i, answer);
+            }
+            if (i < key.size()) {
+                correctMap.put(i, key.correctAnswer(i));
+            }
+            resultsMap.put(i, correct.get(i));
+        }
+        attempt.setUserAnswers(userAnswers);
+        attempt.setCorrectAnswerMap(correctMap);
+        attempt.setQuestionResultsMap(resultsMap);
+    }
+
+    // Non-zero only when the options reproduce the answer exactly (up to case, spacing and order)
+    private static int optionMask(AnswerKey key, int index, String answer) {
+        int[] selected = key.selectedOptions(index, answer);
+        if (selected.length == 0) {
+            return 0;
+        }
+        String normalized = AnswerKey.normalize(answer);
+        boolean whole = selected.length == 1
+                && normalized.equals(AnswerKey.normalize(key.optionLabel(index, selected[0])));
+        boolean parts = key.isMultipleChoice(index) && AnswerKey.toSet(normalized).size() == selected.length;
+        if (!whole && !parts) {
+            return 0;
+        }
+        int mask = 0;
+        for (int option : selected) {
+            if (option >= MAX_ENCODED_OPTIONS) {
+                return 0;
+            }
+            mask |= 1 << option;
+        }
+        return mask;
+    }
+
+    private static String labels(AnswerKey key, int index, int mask) {
+        StringJoiner joined = new StringJoiner(", ");
+        for (int option = 0; option < MAX_ENCODED_OPTIONS && option < key.optionCount(index); option++) {
+            if ((mask & (1 << option)) != 0) {
+                joined.add(key.optionLabel(index, option));
+            }
+        }
+        return joined.toString();
+    }
+}
@@ -0,0 +1,121 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.quizApp.backendQuizApp.config.properties.AttemptProperties;
+import com.quizApp.backendQuizApp.model.QuizAttempt;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// One-off migration of attempts stored with the verbose answer maps to the compact encoding.
+// Walks the legacy documents in _id order so skipped ones never stall progress; safe to rerun.
+@Slf4j
+@Component
+public class AttemptCompactionJob {
+
+    private final MongoTemplate mongoTemplate;
+    private final AnswerKeyCache answerKeyCache;
+    private final AttemptProperties attemptProperties;
+    private final Counter migrated;
+    private final Counter skipped;
+
+    public AttemptCompactionJob(MongoTemplate mongoTemplate, AnswerKeyCache answerKeyCache,
+                                AttemptProperties attemptProperties, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.answerKeyCache = answerKeyCache;
+        this.attemptProperties = attemptProperties;
+        this.migrated = Counter.builder("attempts.compaction").tag("result", "migrated").register(meterRegistry);
+        this.skipped = Counter.builder("attempts.compaction").tag("result", "skipped").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startIfEnabled() {
+        if (attemptProperties.getCompaction().isEnabled()) {
+            Thread.ofVirtual().name("attempt-compaction").start(this::run);
+        }
+    }
+
+    public void run() {
+        int batchSize = attemptProperties.getCompaction().getBatchSize();
+        String lastId = null;
+        long total = 0;
+        try {
+            while (true) {
+                Criteria criteria = Criteria.where("answerSelections").exists(false).and("userAnswers").exists(true);
+                if (lastId != null) {
+                    criteria.and("_id").gt(new ObjectId(lastId));
+                }
+                List<QuizAttempt> batch = mongoTemplate.find(Query.query(criteria)
+                        .with(Sort.by(Sort.Direction.ASC, "_id"))
+                        .limit(batchSize), QuizAttempt.class);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                total += migrate(batch);
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+            log.info("Attempt compaction finished, {} documents migrated", total);
+        } catch (RuntimeException e) {
+            log.error("Attempt compaction stopped after {} documents: {}", total, e.getMessage());
+        }
+    }
+
+    private int migrate(List<QuizAttempt> batch) {
+        Map<String, Optional<AnswerKey>> keys = new HashMap<>();
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, QuizAttempt.class);
+        int count = 0;
+        for (QuizAttempt attempt : batch) {
+            AnswerKey key = keys.computeIfAbsent(attempt.getQuizId(), answerKeyCache::find).orElse(null);
+            // Without the quiz, or after its questions changed, the verbose maps are the only faithful record
+            if (key == null || attempt.getTotalQuestions() == null || attempt.getTotalQuestions() != key.size()) {
+                skipped.increment();
+                continue;
+            }
+            String[] answers = new String[key.size()];
+            boolean[] results = new boolean[key.size()];
+            attempt.getUserAnswers().forEach((i, answer) -> {
+                if (i >= 0 && i < answers.length) {
+                    answers[i] = answer;
+                }
+            });
+            if (attempt.getQuestionResultsMap() != null) {
+                attempt.getQuestionResultsMap().forEach((i, ok) -> {
+                    if (i >= 0 && i < results.length) {
+                        results[i] = Boolean.TRUE.equals(ok);
+                    }
+                });
+            }
+            AttemptCodec.encode(attempt, key, answers, results);
+            Update update = new Update()
+                    .set("answerSelections", attempt.getAnswerSelections())
+                    .set("resultBits", attempt.getResultBits())
+                    .unset("userAnswers")
+                    .unset("correctAnswerMap")
+                    .unset("questionResultsMap");
+            if (attempt.getFreeTextAnswers() != null) {
+                update.set("freeTextAnswers", attempt.getFreeTextAnswers());
+            }
+            ops.updateOne(Query.query(Criteria.where("_id").is(attempt.getId())), update);
+            count++;
+        }
+        if (count > 0) {
+            ops.execute();
+            migrated.increment(count);
+        }
+        return count;
+    }
+}
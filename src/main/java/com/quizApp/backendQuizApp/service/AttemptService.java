@@ -1,92 +1,290 @@
 package com.quizApp.backendQuizApp.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.quizApp.backendQuizApp.dto.attempt.AttemptAnswer;
+import com.quizApp.backendQuizApp.dto.attempt.AttemptExportRequest;
+import com.quizApp.backendQuizApp.dto.attempt.BatchSubmitRequest;
+import com.quizApp.backendQuizApp.dto.attempt.BatchSubmitResponse;
 import com.quizApp.backendQuizApp.dto.attempt.SubmitAttemptRequest;
-import com.quizApp.backendQuizApp.model.Question;
-import com.quizApp.backendQuizApp.model.Quiz;
+import com.quizApp.backendQuizApp.dto.quiz.QuizBundle;
 import com.quizApp.backendQuizApp.model.QuizAttempt;
-import com.quizApp.backendQuizApp.model.User;
 import com.quizApp.backendQuizApp.repository.QuizAttemptRepository;
-import com.quizApp.backendQuizApp.repository.QuizRepository;
+import com.quizApp.backendQuizApp.security.AuthenticatedUser;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class AttemptService {
 
-    private final QuizRepository quizRepository;
+    // Flat attempt fields that may be exported, in default column order
+    private static final Map<String, Function<QuizAttempt, Object>> EXPORT_FIELDS = new LinkedHashMap<>();
+
+    static {
+        EXPORT_FIELDS.put("id", QuizAttempt::getId);
+        EXPORT_FIELDS.put("quizId", QuizAttempt::getQuizId);
+        EXPORT_FIELDS.put("userId", QuizAttempt::getUserId);
+        EXPORT_FIELDS.put("username", QuizAttempt::getUsername);
+        EXPORT_FIELDS.put("totalQuestions", QuizAttempt::getTotalQuestions);
+        EXPORT_FIELDS.put("correctAnswers", QuizAttempt::getCorrectAnswers);
+        EXPORT_FIELDS.put("incorrectAnswers", QuizAttempt::getIncorrectAnswers);
+        EXPORT_FIELDS.put("scorePercentage", QuizAttempt::getScorePercentage);
+        EXPORT_FIELDS.put("totalPoints", QuizAttempt::getTotalPoints);
+        EXPORT_FIELDS.put("earnedPoints", QuizAttempt::getEarnedPoints);
+        EXPORT_FIELDS.put("startedAt", QuizAttempt::getStartedAt);
+        EXPORT_FIELDS.put("completedAt", QuizAttempt::getCompletedAt);
+        EXPORT_FIELDS.put("timeTakenSeconds", QuizAttempt::getTimeTakenSeconds);
+        EXPORT_FIELDS.put("status", QuizAttempt::getStatus);
+        EXPORT_FIELDS.put("createdAt", QuizAttempt::getCreatedAt);
+    }
+
+    private static final int EXPORT_FLUSH_EVERY = 200;
+
     private final QuizAttemptRepository attemptRepository;
+    private final AnswerKeyCache answerKeyCache;
+    private final StatsAggregator statsAggregator;
+    private final LeaderboardService leaderboardService;
+    private final ScoreDistributionService scoreDistributionService;
+    private final ItemStatsService itemStatsService;
+    private final UserActivityService userActivityService;
+    private final QuizBundleService quizBundleService;
+    private final ObjectMapper objectMapper;
+
+    public QuizAttempt submitAttempt(SubmitAttemptRequest request, AuthenticatedUser user) {
+        AnswerKey key = answerKeyCache.get(request.getQuizId());
+        if (request.getBundleSignature() != null
+                && !quizBundleService.isCurrent(request.getQuizId(), request.getBundleSignature())) {
+            throw new IllegalArgumentException("Quiz has changed since the bundle was downloaded");
+        }
+        // Single uploads are live play: they are timed by the server
+        Scored scored = score(request, key, user, null);
+
+        QuizAttempt saved = attemptRepository.save(scored.attempt());
+        recordStats(scored);
+        saved.setPercentileRank(scoreDistributionService.record(saved));
+        AttemptCodec.decode(saved, key);
+        return saved;
+    }
+
+    // Scores every attempt against one answer key lookup per distinct quiz and inserts them with a single insertMany
+    public BatchSubmitResponse submitBatch(BatchSubmitRequest request, AuthenticatedUser user) {
+        Map<String, Optional<AnswerKey>> keys = new HashMap<>();
+        Map<String, Optional<QuizBundle>> currentBundles = new HashMap<>();
+        List<BatchSubmitResponse.ItemResult> results = new ArrayList<>();
+        List<Scored> accepted = new ArrayList<>();
+        List<BatchSubmitResponse.ItemResult> acceptedResults = new ArrayList<>();
+
+        List<SubmitAttemptRequest> attempts = request.getAttempts();
+        for (int i = 0; i < attempts.size(); i++) {
+            SubmitAttemptRequest item = attempts.get(i);
+            BatchSubmitResponse.ItemResult.ItemResultBuilder result = BatchSubmitResponse.ItemResult.builder().index(i);
+            AnswerKey key = keys.computeIfAbsent(item.getQuizId(), answerKeyCache::find).orElse(null);
+            if (key == null) {
+                results.add(result.status(BatchSubmitResponse.ItemStatus.QUIZ_NOT_FOUND).message("Quiz not found").build());
+                continue;
+            }
+            QuizBundle bundle = null;
+            if (item.getBundleSignature() != null) {
+                bundle = currentBundles.computeIfAbsent(item.getQuizId() + "|" + item.getBundleSignature(),
+                        k -> quizBundleService.findCurrent(item.getQuizId(), item.getBundleSignature())).orElse(null);
+                if (bundle == null) {
+                    results.add(result.status(BatchSubmitResponse.ItemStatus.STALE_BUNDLE)
+                            .message("Quiz has changed since the bundle was downloaded").build());
+                    continue;
+                }
+            }
+            Scored scored = score(item, key, user, bundle);
+            accepted.add(scored);
+            BatchSubmitResponse.ItemResult itemResult = result.status(BatchSubmitResponse.ItemStatus.ACCEPTED)
+                    .scorePercentage(scored.attempt().getScorePercentage())
+                    .build();
+            acceptedResults.add(itemResult);
+            results.add(itemResult);
+        }
+
+        if (!accepted.isEmpty()) {
+            List<QuizAttempt> saved = attemptRepository.insert(accepted.stream().map(Scored::attempt).toList());
+            for (int i = 0; i < saved.size(); i++) {
+                acceptedResults.get(i).setAttemptId(saved.get(i).getId());
+            }
+            accepted.forEach(this::recordStats);
+            scoreDistributionService.recordAll(saved);
+        }
+        return new BatchSubmitResponse(results);
+    }
 
-    public QuizAttempt submitAttempt(SubmitAttemptRequest request, User user) {
-        Quiz quiz = quizRepository.findById(request.getQuizId())
-                .orElseThrow(() -> new IllegalArgumentException("Quiz not found"));
-
-        Map<Integer, String> userAnswers = request.getAnswers().stream()
-                .collect(Collectors.toMap(AttemptAnswer::getQuestionIndex, AttemptAnswer::getAnswer));
-
-        Map<Integer, String> correctMap = new HashMap<>();
-        Map<Integer, Boolean> resultsMap = new HashMap<>();
-        int totalQuestions = quiz.getQuestions().size();
-        int correctCount = 0;
-        int totalPoints = 0;
-        int earnedPoints = 0;
-
-        List<Question> questions = quiz.getQuestions();
-        for (int i = 0; i < questions.size(); i++) {
-            Question q = questions.get(i);
-            totalPoints += (q.getPoints() == null ? 1 : q.getPoints());
-            String correct = q.getCorrectAnswer();
-            correctMap.put(i, correct);
-            String userAns = userAnswers.get(i);
-            boolean isCorrect = userAns != null && userAns.equalsIgnoreCase(correct);
-            resultsMap.put(i, isCorrect);
-            if (isCorrect) {
-                correctCount++;
-                earnedPoints += (q.getPoints() == null ? 1 : q.getPoints());
+    // bundle: the verified bundle an offline attempt was played from, or null to time the attempt by the server
+    private Scored score(SubmitAttemptRequest request, AnswerKey key, AuthenticatedUser user, QuizBundle bundle) {
+        int totalQuestions = key.size();
+        String[] answers = new String[totalQuestions];
+        for (AttemptAnswer answer : request.getAnswers()) {
+            int index = answer.getQuestionIndex();
+            if (index >= 0 && index < totalQuestions) {
+                answers[index] = answer.getAnswer();
             }
         }
+        boolean[] results = new boolean[totalQuestions];
+        AnswerKey.Score score = key.score(answers, results);
+        int correctCount = score.correctAnswers();
+
+        LocalDateTime now = LocalDateTime.now();
+        Played played = played(request, bundle, now);
 
         QuizAttempt attempt = QuizAttempt.builder()
-                .quizId(quiz.getId())
+                .quizId(key.getQuizId())
                 .userId(user.getId())
                 .username(user.getUsername())
-                .quizTitle(quiz.getTitle())
-                .userAnswers(userAnswers)
-                .correctAnswerMap(correctMap)
-                .questionResultsMap(resultsMap)
+                .quizTitle(key.getQuizTitle())
                 .totalQuestions(totalQuestions)
                 .correctAnswers(correctCount)
                 .incorrectAnswers(totalQuestions - correctCount)
-                .totalPoints(totalPoints)
-                .earnedPoints(earnedPoints)
-                .startedAt(LocalDateTime.now())
-                .completedAt(LocalDateTime.now())
-                .createdAt(LocalDateTime.now())
+                .totalPoints(key.getTotalPoints())
+                .earnedPoints(score.earnedPoints())
+                .startedAt(played.startedAt())
+                .completedAt(played.completedAt())
+                .createdAt(now)
                 .status(QuizAttempt.AttemptStatus.COMPLETED)
                 .build();
         attempt.calculateScore();
         attempt.calculateTimeTaken();
+        AttemptCodec.encode(attempt, key, answers, results);
+        return new Scored(attempt, key, answers, results);
+    }
+
+    // Quiz/user stats, item analytics, leaderboard and history for an attempt that has been persisted
+    private void recordStats(Scored scored) {
+        QuizAttempt attempt = scored.attempt();
+        statsAggregator.recordAttempt(attempt.getQuizId(), attempt.getUserId(), attempt.getScorePercentage(),
+                attempt.getEarnedPoints());
+        itemStatsService.record(scored.key(), scored.answers(), scored.results());
+        leaderboardService.record(attempt);
+        userActivityService.recordAttempt(attempt);
+    }
+
+    public List<QuizAttempt> getMyAttempts(AuthenticatedUser user, boolean verbose) {
+        return expand(attemptRepository.findByUserId(user.getId()), verbose);
+    }
+
+    public List<QuizAttempt> getAttemptsForQuiz(String quizId, boolean verbose) {
+        return expand(attemptRepository.findByQuizId(quizId), verbose);
+    }
+
+    // Rebuilds answers, correct answers and per-question results from the compact encoding
+    private List<QuizAttempt> expand(List<QuizAttempt> attempts, boolean verbose) {
+        if (!verbose) {
+            return attempts;
+        }
+        Map<String, Optional<AnswerKey>> keys = new HashMap<>();
+        for (QuizAttempt attempt : attempts) {
+            keys.computeIfAbsent(attempt.getQuizId(), answerKeyCache::find)
+                    .ifPresent(key -> AttemptCodec.decode(attempt, key));
+        }
+        return attempts;
+    }
+
+    // Validates eagerly so bad parameters fail with 400 before any bytes are written
+    public StreamingResponseBody exportAttempts(String quizId, AttemptExportRequest request) {
+        List<String> fields = request.getFields() == null || request.getFields().isEmpty()
+                ? List.copyOf(EXPORT_FIELDS.keySet())
+                : request.getFields();
+        for (String field : fields) {
+            if (!EXPORT_FIELDS.containsKey(field)) {
+                throw new IllegalArgumentException("Unknown export field: " + field);
+            }
+        }
+        boolean csv = request.getFormat() == AttemptExportRequest.ExportFormat.CSV;
+
+        return out -> {
+            // Rows are written as the cursor yields them; a slow client blocks the write, which in turn
+            // stops further batches being fetched. A disconnect surfaces as an IOException that closes the cursor.
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            try (Stream<QuizAttempt> attempts = attemptRepository.streamForQuiz(
+                    quizId, request.getFrom(), request.getTo(), fields)) {
+                if (csv) {
+                    writer.write(String.join(",", fields));
+                    writer.write('\n');
+                }
+                Map<String, Object> row = new LinkedHashMap<>();
+                int written = 0;
+                for (Iterator<QuizAttempt> it = attempts.iterator(); it.hasNext(); ) {
+                    QuizAttempt attempt = it.next();
+                    if (csv) {
+                        writeCsvRow(writer, attempt, fields);
+                    } else {
+                        row.clear();
+                        for (String field : fields) {
+                            row.put(field, EXPORT_FIELDS.get(field).apply(attempt));
+                        }
+                        writer.write(objectMapper.writeValueAsString(row));
+                        writer.write('\n');
+                    }
+                    if (++written % EXPORT_FLUSH_EVERY == 0) {
+                        writer.flush();
+                    }
+                }
+                writer.flush();
+            }
+        };
+    }
 
-        // update quiz stats
-        quiz.incrementAttempts();
-        quiz.updateAverageScore(attempt.getScorePercentage());
-        quizRepository.save(quiz);
+    // Client-reported times are only trusted for offline play from a verified bundle, and only when they fall after
+    // the bundle was issued, not in the future, in order and within the quiz's time limit; otherwise upload time is used
+    static Played played(SubmitAttemptRequest request, QuizBundle bundle, LocalDateTime now) {
+        LocalDateTime startedAt = request.getStartedAt();
+        LocalDateTime completedAt = request.getCompletedAt();
+        if (bundle == null || startedAt == null || completedAt == null
+                || completedAt.isAfter(now) || startedAt.isAfter(completedAt)
+                || (bundle.getIssuedAt() != null && startedAt.isBefore(bundle.getIssuedAt()))) {
+            return new Played(now, now);
+        }
+        Integer limit = bundle.getTimeLimitMinutes();
+        if (limit != null && Duration.between(startedAt, completedAt).compareTo(Duration.ofMinutes(limit)) > 0) {
+            return new Played(now, now);
+        }
+        return new Played(startedAt, completedAt);
+    }
 
-        return attemptRepository.save(attempt);
+    record Played(LocalDateTime startedAt, LocalDateTime completedAt) {
     }
 
-    public List<QuizAttempt> getMyAttempts(User user) {
-        return attemptRepository.findByUserId(user.getId());
+    private record Scored(QuizAttempt attempt, AnswerKey key, String[] answers, boolean[] results) {
     }
 
-    public List<QuizAttempt> getAttemptsForQuiz(String quizId) {
-        return attemptRepository.findByQuizId(quizId);
+    private void writeCsvRow(Writer writer, QuizAttempt attempt, List<String> fields) throws IOException {
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = EXPORT_FIELDS.get(fields.get(i)).apply(attempt);
+            if (value != null) {
+                writer.write(csvEscape(value.toString()));
+            }
+        }
+        writer.write('\n');
+    }
+
+    private static String csvEscape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
     }
 }
@@ -0,0 +1,75 @@
+package com.quizApp.backendQuizApp.service;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+// Space-Saving heavy-hitters sketch with exponential time decay: at most `capacity` keys are tracked, and a hit's weight
+// halves every halfLife. Decay is applied by weighting new hits up (forward decay) rather than walking every counter;
+// weights are rescaled back to 1 before they can overflow. Counts of evicted-and-returning keys are overestimates.
+final class DecayingTopK<K> {
+
+    private static final double RESCALE_ABOVE = 1e12;
+
+    private final int capacity;
+    private final double halfLifeMillis;
+    private final LongSupplier clockMillis;
+    private final Map<K, double[]> counts = new HashMap<>();
+    private long landmarkMillis;
+
+    DecayingTopK(int capacity, Duration halfLife, LongSupplier clockMillis) {
+        this.capacity = capacity;
+        this.halfLifeMillis = halfLife.toMillis();
+        this.clockMillis = clockMillis;
+        this.landmarkMillis = clockMillis.getAsLong();
+    }
+
+    synchronized void offer(K key) {
+        double weight = weightNow();
+        if (weight > RESCALE_ABOVE) {
+            counts.values().forEach(count -> count[0] /= weight);
+            landmarkMillis = clockMillis.getAsLong();
+            offer(key);
+            return;
+        }
+        double[] count = counts.get(key);
+        if (count != null) {
+            count[0] += weight;
+            return;
+        }
+        if (counts.size() < capacity) {
+            counts.put(key, new double[]{weight});
+            return;
+        }
+        // Replace the smallest counter and inherit its count, as Space-Saving does
+        Map.Entry<K, double[]> smallest = counts.entrySet().stream()
+                .min(Comparator.comparingDouble(entry -> entry.getValue()[0]))
+                .orElseThrow();
+        counts.remove(smallest.getKey());
+        counts.put(key, new double[]{smallest.getValue()[0] + weight});
+    }
+
+    // Current decayed hit count, in units of "hits right now"
+    synchronized double estimate(K key) {
+        double[] count = counts.get(key);
+        return count == null ? 0 : count[0] / weightNow();
+    }
+
+    // The n hottest keys whose decayed count is at least minCount, hottest first
+    synchronized List<K> top(int n, double minCount) {
+        double weight = weightNow();
+        return counts.entrySet().stream()
+                .filter(entry -> entry.getValue()[0] / weight >= minCount)
+                .sorted(Comparator.comparingDouble((Map.Entry<K, double[]> entry) -> entry.getValue()[0]).reversed())
+                .limit(n)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private double weightNow() {
+        return Math.pow(2, (clockMillis.getAsLong() - landmarkMillis) / halfLifeMillis);
+    }
+}
@@ -1,42 +1,331 @@
 package com.quizApp.backendQuizApp.service;
 
-import java.util.Collections;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.WebClient;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.quizApp.backendQuizApp.config.properties.GeminiProperties;
+import com.quizApp.backendQuizApp.config.properties.GenerationProperties;
 import com.quizApp.backendQuizApp.dto.quiz.QuizGenerationRequest;
 import com.quizApp.backendQuizApp.exception.GeminiApiException;
+import com.quizApp.backendQuizApp.exception.GeminiSchemaException;
+import com.quizApp.backendQuizApp.exception.ServiceOverloadedException;
 import com.quizApp.backendQuizApp.model.Question;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
-public class GeminiAiService {
+public class GeminiAiService implements QuestionGenerator {
+
+    // Generator names are "gemini:<model>", which is how routing configuration refers to a model
+    public static final String NAME_PREFIX = "gemini:";
+    // Upper bound on a buffered generateContent body
+    private static final int MAX_RESPONSE_BYTES = 8 * 1024 * 1024;
 
     private final WebClient geminiWebClient;
     private final GeminiProperties geminiProperties;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MeterRegistry meterRegistry;
+    private final GenerationAdmission generationAdmission;
+    private final GenerationProperties generationProperties;
+    private final ObjectMapper objectMapper;
+    private final GeminiResponseParser responseParser;
+    private final ObjectNode responseSchema;
+    private final String model;
+    // Identical prompts in flight at the same time share one upstream call
+    private final SingleFlight<String, List<Question>> inFlightGenerations = new SingleFlight<>();
+
+    @Autowired
+    public GeminiAiService(WebClient geminiWebClient, GeminiProperties geminiProperties, MeterRegistry meterRegistry,
+                           GenerationAdmission generationAdmission, GenerationProperties generationProperties,
+                           ObjectMapper objectMapper) {
+        this.geminiWebClient = geminiWebClient;
+        this.geminiProperties = geminiProperties;
+        this.meterRegistry = meterRegistry;
+        this.generationAdmission = generationAdmission;
+        this.generationProperties = generationProperties;
+        this.objectMapper = objectMapper;
+        this.responseParser = new GeminiResponseParser(objectMapper);
+        this.responseSchema = QuestionSchema.build(objectMapper);
+        this.model = geminiProperties.getModel();
+    }
 
+    // Same client, bulkhead and settings, different model
+    private GeminiAiService(GeminiAiService base, String model) {
+        this.geminiWebClient = base.geminiWebClient;
+        this.geminiProperties = base.geminiProperties;
+        this.meterRegistry = base.meterRegistry;
+        this.generationAdmission = base.generationAdmission;
+        this.generationProperties = base.generationProperties;
+        this.objectMapper = base.objectMapper;
+        this.responseParser = base.responseParser;
+        this.responseSchema = base.responseSchema;
+        this.model = model;
+    }
+
+    GeminiAiService withModel(String model) {
+        return model.equals(this.model) ? this : new GeminiAiService(this, model);
+    }
+
+    @Override
+    public String name() {
+        return NAME_PREFIX + model;
+    }
+
+    @Override
     public List<Question> generateQuestions(QuizGenerationRequest request) {
-        String prompt = buildPrompt(request);
+        String prompt = buildPrompt(request, request.getNumberOfQuestions());
+        SingleFlight.Result<List<Question>> result = inFlightGenerations.execute(prompt, () -> generate(request, prompt));
+        if (result.shared()) {
+            meterRegistry.counter("gemini.requests.coalesced").increment();
+        }
+        // Callers each persist and may repair their own Quiz, so nobody (the leader included, since followers copy
+        // from the same result) gets the shared Question instances
+        return result.value().stream().map(Question::copy).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private List<Question> generate(QuizGenerationRequest request, String prompt) {
+        int wanted = request.getNumberOfQuestions();
+        int chunkSize = questionsPerCall();
+        if (wanted <= chunkSize) {
+            List<Question> questions = callGenerateContent(prompt, wanted).block();
+            if (questions.size() >= wanted) {
+                return questions;
+            }
+            // Some questions were dropped as unrepairable: ask only for the gap
+            Map<String, Question> unique = new LinkedHashMap<>();
+            addUnique(unique, questions);
+            topUp(request, unique, wanted, generationProperties.getRepair().getMaxTopUps(), "gemini.repair.topups");
+            return complete(request, unique, wanted);
+        }
+        return generateFannedOut(request, wanted, chunkSize);
+    }
+
+    // Large quizzes: chunks run concurrently on the WebClient, so wall-clock time tracks the largest chunk.
+    // A failed chunk only costs its share; duplicates across chunks are dropped and the gap is topped up.
+    private List<Question> generateFannedOut(QuizGenerationRequest request, int wanted, int chunkSize) {
+        int chunks = (wanted + chunkSize - 1) / chunkSize;
+        List<Mono<List<Question>>> calls = new ArrayList<>();
+        for (int i = 0; i < chunks; i++) {
+            int count = Math.min(chunkSize, wanted - i * chunkSize);
+            String prompt = buildPrompt(request, count)
+                    + "\nThis is batch " + (i + 1) + " of " + chunks + " for the same quiz; "
+                    + "cover a different aspect of the topic than the other batches.";
+            calls.add(tolerant(callGenerateContent(prompt, count)));
+        }
+        meterRegistry.counter("gemini.fanout.chunks").increment(chunks);
+        List<List<Question>> results = Flux.mergeSequential(calls).collectList().block();
+
+        Map<String, Question> unique = new LinkedHashMap<>();
+        results.forEach(batch -> addUnique(unique, batch));
+        topUp(request, unique, wanted, generationProperties.getFanout().getMaxTopUps(), "gemini.fanout.topups");
+        return complete(request, unique, wanted);
+    }
+
+    // A quiz is only persisted with the number of questions that was asked for
+    private List<Question> complete(QuizGenerationRequest request, Map<String, Question> unique, int wanted) {
+        if (unique.isEmpty()) {
+            throw new GeminiApiException("No questions generated in the response");
+        }
+        if (unique.size() < wanted) {
+            meterRegistry.counter("gemini.generation.shortfall").increment();
+            log.warn("Generation for '{}' produced {} of {} questions after top-ups", request.getTopic(), unique.size(), wanted);
+            throw new GeminiApiException("Generated only " + unique.size() + " of " + wanted + " questions, please retry");
+        }
+        return firstN(unique, wanted);
+    }
+
+    private void topUp(QuizGenerationRequest request, Map<String, Question> unique, int wanted, int rounds, String metric) {
+        for (int round = 0; round < rounds && unique.size() < wanted; round++) {
+            int deficit = wanted - unique.size();
+            meterRegistry.counter(metric).increment();
+            addUnique(unique, tolerant(callGenerateContent(topUpPrompt(request, deficit, unique.values()), deficit)).block());
+        }
+    }
+
+    private String topUpPrompt(QuizGenerationRequest request, int deficit, Collection<Question> existing) {
+        return buildPrompt(request, deficit)
+                + "\nDo not repeat any of these existing questions:\n- "
+                + String.join("\n- ", existing.stream().map(Question::getQuestionText).toList());
+    }
+
+    private static List<Question> firstN(Map<String, Question> unique, int wanted) {
+        List<Question> merged = new ArrayList<>(unique.values());
+        return merged.size() > wanted ? new ArrayList<>(merged.subList(0, wanted)) : merged;
+    }
+
+    // Model and schema failures cost only their share of the quiz; admission rejection still reaches the caller as a 503
+    private Mono<List<Question>> tolerant(Mono<List<Question>> call) {
+        return call.onErrorResume(ex -> !(ex instanceof ServiceOverloadedException), ex -> {
+            meterRegistry.counter("gemini.fanout.failed.chunks").increment();
+            log.warn("Generation call failed: {}", ex.getMessage());
+            return Mono.just(List.of());
+        });
+    }
 
+    private void addUnique(Map<String, Question> unique, List<Question> questions) {
+        for (Question question : questions) {
+            if (unique.putIfAbsent(normalizeText(question.getQuestionText()), question) != null) {
+                meterRegistry.counter("gemini.fanout.duplicates").increment();
+            }
+        }
+    }
+
+    // Case, punctuation and spacing differences do not make a question distinct
+    static String normalizeText(String text) {
+        return text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    // Holds a bulkhead slot for the duration of the call; nothing blocks until the caller subscribes
+    private Mono<List<Question>> callGenerateContent(String prompt, int numberOfQuestions) {
+        ObjectNode root = buildRequestBody(prompt, numberOfQuestions);
+
+        String uri = String.format("/models/%s:generateContent?key=%s",
+                model, geminiProperties.getApiKey());
+
+        return Mono.using(() -> {
+            generationAdmission.acquire();
+            return Boolean.TRUE;
+        }, slot -> {
+            meterRegistry.counter("gemini.requests.upstream").increment();
+            return geminiWebClient.post()
+                    .uri(uri)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(BodyInserters.fromValue(root.toString()))
+                    .retrieve()
+                    .bodyToFlux(DataBuffer.class)
+                    .as(body -> DataBufferUtils.join(body, MAX_RESPONSE_BYTES))
+                    .onErrorResume(ex -> {
+                        if (ex instanceof ServiceOverloadedException) {
+                            return Mono.error(ex);
+                        }
+                        log.error("Gemini API error: {}", ex.getMessage(), ex);
+                        return Mono.error(new GeminiApiException("Failed to generate quiz from Gemini AI", ex));
+                    })
+                    .map(this::readQuestions)
+                    .switchIfEmpty(Mono.error(() -> new GeminiApiException("Received empty response from Gemini API")))
+                    // Transport failures are retried by the WebClient filter; this only re-asks for off-schema output
+                    .retryWhen(Retry.max(geminiProperties.getSchemaRetries())
+                            .filter(GeminiSchemaException.class::isInstance)
+                            .doBeforeRetry(signal -> meterRegistry.counter("gemini.schema.retries").increment())
+                            .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+        }, slot -> generationAdmission.release());
+    }
+
+    // Emits each question as soon as its JSON object has fully arrived from streamGenerateContent
+    @Override
+    public Flux<Question> streamQuestions(QuizGenerationRequest request) {
+        int wanted = request.getNumberOfQuestions();
+        return Flux.defer(() -> {
+            Map<String, Question> emitted = new LinkedHashMap<>();
+            // Chunks and top-ups each run after the previous call's bulkhead slot has been released
+            return streamChunks(request, emitted, wanted, 0)
+                    .concatWith(streamTopUps(request, emitted, wanted, 0))
+                    .concatWith(Flux.defer(() -> {
+                        complete(request, emitted, wanted);
+                        return Flux.empty();
+                    }));
+        });
+    }
+
+    // Large streams are split into sequential calls that each fit the output-token budget; later chunks are told
+    // what has already been asked so they do not repeat it. Like top-ups, they subscribe off the event loop.
+    private Flux<Question> streamChunks(QuizGenerationRequest request, Map<String, Question> emitted, int wanted, int chunk) {
+        return Flux.defer(() -> {
+            int chunkSize = questionsPerCall();
+            int count = Math.min(chunkSize, wanted - chunk * chunkSize);
+            if (count <= 0) {
+                return Flux.empty();
+            }
+            Flux<Question> call = chunk == 0
+                    ? streamGenerateContent(buildPrompt(request, count), count)
+                    : streamGenerateContent(topUpPrompt(request, count, emitted.values()), count)
+                            .subscribeOn(Schedulers.boundedElastic());
+            if (chunk > 0) {
+                meterRegistry.counter("gemini.stream.chunks").increment();
+            }
+            return call
+                    .filter(question -> emitted.putIfAbsent(normalizeText(question.getQuestionText()), question) == null)
+                    .concatWith(streamChunks(request, emitted, wanted, chunk + 1));
+        });
+    }
+
+    // Same rounds as topUp() on the blocking path. The call is subscribed on boundedElastic because the previous
+    // stage completes on a Netty event loop, and acquiring the bulkhead slot may block for up to max-wait.
+    private Flux<Question> streamTopUps(QuizGenerationRequest request, Map<String, Question> emitted, int wanted, int round) {
+        return Flux.defer(() -> {
+            int deficit = wanted - emitted.size();
+            if (deficit <= 0 || emitted.isEmpty() || round >= generationProperties.getRepair().getMaxTopUps()) {
+                return Flux.empty();
+            }
+            meterRegistry.counter("gemini.repair.topups").increment();
+            return tolerant(callGenerateContent(topUpPrompt(request, deficit, emitted.values()), deficit))
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMapIterable(questions -> questions)
+                    .filter(question -> emitted.size() < wanted
+                            && emitted.putIfAbsent(normalizeText(question.getQuestionText()), question) == null)
+                    .concatWith(streamTopUps(request, emitted, wanted, round + 1));
+        });
+    }
+
+    private Flux<Question> streamGenerateContent(String prompt, int numberOfQuestions) {
+        ObjectNode root = buildRequestBody(prompt, numberOfQuestions);
+
+        String uri = String.format("/models/%s:streamGenerateContent?alt=sse&key=%s",
+                model, geminiProperties.getApiKey());
+
+        // The bulkhead slot is held for the lifetime of the stream and released on completion, error or cancel
+        return Flux.using(() -> {
+            generationAdmission.acquire();
+            return Boolean.TRUE;
+        }, slot -> Flux.defer(() -> {
+            QuestionStreamParser parser = new QuestionStreamParser();
+            AtomicInteger index = new AtomicInteger();
+            return geminiWebClient.post()
+                    .uri(uri)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .accept(MediaType.TEXT_EVENT_STREAM)
+                    .body(BodyInserters.fromValue(root.toString()))
+                    .retrieve()
+                    .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<String>>() {})
+                    .onErrorMap(ex -> !(ex instanceof GeminiApiException || ex instanceof ServiceOverloadedException), ex -> {
+                        log.error("Gemini streaming API error: {}", ex.getMessage(), ex);
+                        return new GeminiApiException("Failed to stream quiz from Gemini AI", ex);
+                    })
+                    .mapNotNull(ServerSentEvent::data)
+                    .concatMapIterable(chunk -> parser.feed(responseParser.readChunkText(chunk)))
+                    .mapNotNull(json -> salvage(json, index.incrementAndGet()));
+        }), slot -> generationAdmission.release());
+    }
+
+    private ObjectNode buildRequestBody(String prompt, int numberOfQuestions) {
         ObjectNode root = objectMapper.createObjectNode();
         ArrayNode contents = objectMapper.createArrayNode();
         ObjectNode contentObj = objectMapper.createObjectNode();
@@ -48,106 +337,106 @@ public class GeminiAiService {
         contents.add(contentObj);
         root.set("contents", contents);
 
-        // Add generation config to enforce JSON output
+        // Structured output: the schema constrains decoding, so the model cannot answer off-shape JSON
         ObjectNode generationConfig = objectMapper.createObjectNode();
-        generationConfig.put("response_mime_type", "application/json");
+        generationConfig.put("responseMimeType", "application/json");
+        generationConfig.set("responseSchema", responseSchema);
+        generationConfig.put("maxOutputTokens", maxOutputTokens(numberOfQuestions));
+        if (geminiProperties.getTemperature() != null) {
+            generationConfig.put("temperature", geminiProperties.getTemperature());
+        }
         root.set("generationConfig", generationConfig);
+        return root;
+    }
 
+    // Questions one call may ask for: the fan-out chunk size, further limited to what maxTokens can hold
+    int questionsPerCall() {
+        int chunkSize = Math.max(1, generationProperties.getFanout().getChunkSize());
+        Integer ceiling = geminiProperties.getMaxTokens();
+        if (ceiling == null) {
+            return chunkSize;
+        }
+        int fits = (ceiling - geminiProperties.getOutputTokensBase()) / Math.max(1, geminiProperties.getOutputTokensPerQuestion());
+        return Math.max(1, Math.min(chunkSize, fits));
+    }
 
-        String uri = String.format("/models/%s:generateContent?key=%s",
-                geminiProperties.getModel(), geminiProperties.getApiKey());
-
-        String response = geminiWebClient.post()
-                .uri(uri)
-                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .body(BodyInserters.fromValue(root.toString()))
-                .retrieve()
-                .bodyToMono(String.class)
-                .onErrorResume(ex -> {
-                    log.error("Gemini API error: {}", ex.getMessage(), ex);
-                    return Mono.error(new GeminiApiException("Failed to generate quiz from Gemini AI", ex));
-                })
-                .block();
-
-        return parseQuestionsFromResponse(response);
+    int maxOutputTokens(int numberOfQuestions) {
+        int budget = geminiProperties.getOutputTokensBase() + geminiProperties.getOutputTokensPerQuestion() * numberOfQuestions;
+        Integer ceiling = geminiProperties.getMaxTokens();
+        return ceiling != null ? Math.min(budget, ceiling) : budget;
     }
 
-    private String buildPrompt(QuizGenerationRequest req) {
+    private String buildPrompt(QuizGenerationRequest req, int numberOfQuestions) {
         StringBuilder sb = new StringBuilder();
-        sb.append("Generate ").append(req.getNumberOfQuestions())
+        sb.append("Generate ").append(numberOfQuestions)
                 .append(" quiz questions for the topic: '").append(req.getTopic()).append("'.\n");
         sb.append("Difficulty: ").append(req.getDifficulty()).append(".\n");
         if (StringUtils.isNotBlank(req.getCategory())) {
             sb.append("Category: ").append(req.getCategory()).append(".\n");
         }
-        sb.append("Return a JSON object with a single key 'questions', which is an array of question objects. ");
-        sb.append("Each question object must have the following fields: 'questionText', 'type', 'options', 'correctAnswer', 'explanation', 'difficulty', 'category', and 'tags'.");
+        sb.append("Each question's correctAnswer must be exactly one of its options.");
         return sb.toString();
     }
 
-    private List<Question> parseQuestionsFromResponse(String response) {
-        if (response == null || response.isBlank()) {
+    // Tokens are read straight off the pooled buffers; the body is never copied into a String or tree
+    private List<Question> readQuestions(DataBuffer body) {
+        if (body.readableByteCount() == 0) {
+            DataBufferUtils.release(body);
             throw new GeminiApiException("Received empty response from Gemini API");
         }
-        try {
-            JsonNode root = objectMapper.readTree(response);
-            
-            // Check if there are any error messages from Gemini
-            JsonNode errorNode = root.at("/error");
-            if (!errorNode.isMissingNode()) {
-                String errorMessage = errorNode.get("message").asText();
-                throw new GeminiApiException("Gemini API returned an error: " + errorMessage);
-            }
-
-            // Validate response structure
-            if (!root.has("candidates") || root.get("candidates").isEmpty()) {
-                throw new GeminiApiException("Invalid response structure: missing or empty candidates array");
-            }
-
-            JsonNode textNode = root.at("/candidates/0/content/parts/0/text");
-            if (textNode.isMissingNode()) {
-                throw new GeminiApiException("Could not find text content in Gemini response: " + response);
-            }
-
-            String jsonText = textNode.asText();
-            Map<String, List<Question>> result = objectMapper.readValue(jsonText, new TypeReference<>() {});
-            
-            List<Question> questions = result.get("questions");
-            if (questions == null || questions.isEmpty()) {
-                throw new GeminiApiException("No questions generated in the response");
-            }
-
-            // Validate each question
-            for (int i = 0; i < questions.size(); i++) {
-                Question question = questions.get(i);
-                validateQuestion(question, i + 1);
-            }
-
-            return questions;
-
-        } catch (GeminiApiException e) {
-            throw e; // Re-throw our custom exceptions
-        } catch (Exception e) {
-            log.error("Failed to parse Gemini response: {}", response, e);
-            throw new GeminiApiException("Failed to process Gemini API response: " + e.getMessage(), e);
+        int[] outputTokens = new int[1];
+        try (InputStream in = body.asInputStream(true)) {
+            List<Question> questions = responseParser.readQuestions(in, (promptTokens, candidateTokens) -> {
+                outputTokens[0] = candidateTokens;
+                meterRegistry.counter("gemini.tokens", "kind", "prompt").increment(promptTokens);
+                meterRegistry.counter("gemini.tokens", "kind", "output").increment(candidateTokens);
+            });
+            return salvage(questions);
+        } catch (GeminiSchemaException e) {
+            meterRegistry.counter("gemini.schema.failures").increment();
+            meterRegistry.counter("gemini.tokens", "kind", "wasted").increment(outputTokens[0]);
+            log.warn("Gemini output failed schema validation: {}", e.getMessage());
+            throw e;
+        } catch (IOException e) {
+            throw new GeminiApiException("Failed to read Gemini API response: " + e.getMessage(), e);
         }
     }
 
-    private void validateQuestion(Question question, int index) {
-        if (question.getQuestionText() == null || question.getQuestionText().isBlank()) {
-            throw new GeminiApiException("Question " + index + " is missing question text");
-        }
-        if (question.getType() == null) {
-            throw new GeminiApiException("Question " + index + " is missing question type");
+    // Repairs what can be fixed locally and drops the rest; only a response with nothing usable fails the call
+    private List<Question> salvage(List<Question> questions) {
+        List<Question> kept = new ArrayList<>(questions.size());
+        for (int i = 0; i < questions.size(); i++) {
+            Question question = salvage(questions.get(i), i + 1);
+            if (question != null) {
+                kept.add(question);
+            }
         }
-        if (question.getOptions() == null || question.getOptions().isEmpty()) {
-            throw new GeminiApiException("Question " + index + " is missing options");
+        if (kept.isEmpty()) {
+            throw new GeminiSchemaException("None of the " + questions.size() + " generated questions could be repaired");
         }
-        if (question.getCorrectAnswer() == null || question.getCorrectAnswer().isBlank()) {
-            throw new GeminiApiException("Question " + index + " is missing correct answer");
+        return kept;
+    }
+
+    private Question salvage(String json, int index) {
+        try {
+            return salvage(responseParser.readQuestion(json), index);
+        } catch (GeminiSchemaException e) {
+            meterRegistry.counter("gemini.repair", "result", "dropped").increment();
+            log.debug("Dropped streamed question {}: {}", index, e.getMessage());
+            return null;
         }
-        if (!question.getOptions().contains(question.getCorrectAnswer())) {
-            throw new GeminiApiException("Question " + index + " has a correct answer that is not in the options");
+    }
+
+    private Question salvage(Question question, int index) {
+        boolean repaired = QuestionRepair.repair(question);
+        try {
+            GeminiResponseParser.validate(question, index);
+        } catch (GeminiSchemaException e) {
+            meterRegistry.counter("gemini.repair", "result", "dropped").increment();
+            log.debug("Dropped generated question: {}", e.getMessage());
+            return null;
         }
+        meterRegistry.counter("gemini.repair", "result", repaired ? "repaired" : "clean").increment();
+        return question;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,232 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.quizApp.backendQuizApp.exception.GeminiApiException;
+import com.quizApp.backendQuizApp.exception.GeminiSchemaException;
+import com.quizApp.backendQuizApp.model.Question;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+// Single-pass streaming reads of Gemini responses: walks the token stream to candidates[0].content.parts[0].text
+// without building a tree, then binds each question straight from the embedded JSON. Binding is lenient (unknown
+// fields and enum values do not fail the batch); validation is left to the caller so bad questions can be salvaged.
+class GeminiResponseParser {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader questionReader;
+
+    GeminiResponseParser(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.questionReader = objectMapper.readerFor(Question.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .with(DeserializationFeature.READ_UNKNOWN_ENUM_VALUES_AS_NULL);
+    }
+
+    // A full generateContent response body
+    List<Question> readQuestions(InputStream body) {
+        return readQuestions(body, (promptTokens, outputTokens) -> { });
+    }
+
+    // Usage is reported before the questions are bound, so tokens spent on an off-schema answer are still seen
+    List<Question> readQuestions(InputStream body, UsageListener usage) {
+        String text;
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            text = candidateText(parser, true, usage);
+        } catch (IOException e) {
+            throw new GeminiApiException("Failed to process Gemini API response: " + e.getMessage(), e);
+        }
+        if (text == null) {
+            throw new GeminiApiException("Could not find text content in Gemini response");
+        }
+        return readQuestionsJson(text);
+    }
+
+    // One streamGenerateContent event; the final one may only carry finishReason/usage metadata
+    String readChunkText(String chunk) {
+        try (JsonParser parser = objectMapper.createParser(chunk)) {
+            String text = candidateText(parser, false, null);
+            return text != null ? text : "";
+        } catch (IOException e) {
+            throw new GeminiApiException("Failed to process Gemini stream chunk: " + e.getMessage(), e);
+        }
+    }
+
+    Question readQuestion(String json) {
+        try {
+            return questionReader.readValue(json);
+        } catch (IOException e) {
+            throw new GeminiSchemaException("Failed to parse streamed question: " + e.getMessage(), e);
+        }
+    }
+
+    static void validate(Question question, int index) {
+        if (question.getQuestionText() == null || question.getQuestionText().isBlank()) {
+            throw new GeminiSchemaException("Question " + index + " is missing question text");
+        }
+        if (question.getType() == null) {
+            throw new GeminiSchemaException("Question " + index + " is missing question type");
+        }
+        if (question.getOptions() == null || question.getOptions().isEmpty()) {
+            throw new GeminiSchemaException("Question " + index + " is missing options");
+        }
+        if (question.getCorrectAnswer() == null || question.getCorrectAnswer().isBlank()) {
+            throw new GeminiSchemaException("Question " + index + " is missing correct answer");
+        }
+        if (!answerInOptions(question)) {
+            throw new GeminiSchemaException("Question " + index + " has a correct answer that is not in the options");
+        }
+    }
+
+    // Multiple-choice answers list every correct option, comma separated, the way AnswerKey scores them
+    private static boolean answerInOptions(Question question) {
+        if (question.getOptions().contains(question.getCorrectAnswer())) {
+            return true;
+        }
+        if (question.getType() != Question.QuestionType.MULTIPLE_CHOICE) {
+            return false;
+        }
+        for (String part : question.getCorrectAnswer().split(",")) {
+            if (!part.isBlank() && !question.getOptions().contains(part.trim())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // The model's text: {"questions": [ {...}, ... ]}; other top-level fields are skipped
+    private List<Question> readQuestionsJson(String text) {
+        List<Question> questions = new ArrayList<>();
+        try (JsonParser parser = objectMapper.createParser(text)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new GeminiSchemaException("Gemini text is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (!"questions".equals(field) || value != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    questions.add(questionReader.readValue(parser));
+                }
+            }
+        } catch (IOException e) {
+            throw new GeminiSchemaException("Failed to process Gemini API response: " + e.getMessage(), e);
+        }
+        if (questions.isEmpty()) {
+            throw new GeminiSchemaException("No questions generated in the response");
+        }
+        return questions;
+    }
+
+    private String candidateText(JsonParser parser, boolean requireCandidates, UsageListener usage) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new GeminiApiException("Invalid response structure: expected a JSON object");
+        }
+        String text = null;
+        boolean sawCandidate = false;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("error".equals(field)) {
+                String message = value == JsonToken.START_OBJECT ? field(parser, "message", GeminiResponseParser::text) : null;
+                throw new GeminiApiException("Gemini API returned an error: " + message);
+            }
+            if ("candidates".equals(field) && value == JsonToken.START_ARRAY) {
+                int[] seen = new int[1];
+                text = first(parser, seen, c -> field(c, "content",
+                        content -> field(content, "parts",
+                                parts -> first(parts, new int[1], part -> field(part, "text", GeminiResponseParser::text)))));
+                sawCandidate = seen[0] > 0;
+            } else if ("usageMetadata".equals(field) && value == JsonToken.START_OBJECT && usage != null) {
+                readUsage(parser, usage);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        if (requireCandidates && !sawCandidate) {
+            throw new GeminiApiException("Invalid response structure: missing or empty candidates array");
+        }
+        return text;
+    }
+
+    private static void readUsage(JsonParser parser, UsageListener usage) throws IOException {
+        int promptTokens = 0;
+        int outputTokens = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if ("promptTokenCount".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                promptTokens = parser.getIntValue();
+            } else if ("candidatesTokenCount".equals(field) && value == JsonToken.VALUE_NUMBER_INT) {
+                outputTokens = parser.getIntValue();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        usage.onUsage(promptTokens, outputTokens);
+    }
+
+    // Parser positioned on START_OBJECT; applies the reader to the named field's value and consumes the object
+    private static <T> T field(JsonParser parser, String name, ValueReader<T> reader) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        T result = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            boolean match = name.equals(parser.currentName());
+            parser.nextToken();
+            if (match) {
+                result = reader.read(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return result;
+    }
+
+    // Parser positioned on START_ARRAY; applies the reader to the first element and consumes the array
+    private static <T> T first(JsonParser parser, int[] count, ValueReader<T> reader) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        T result = null;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (count[0]++ == 0) {
+                result = reader.read(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return result;
+    }
+
+    private static String text(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            return parser.getText();
+        }
+        parser.skipChildren();
+        return null;
+    }
+
+    @FunctionalInterface
+    interface UsageListener {
+        void onUsage(int promptTokens, int outputTokens);
+    }
+
+    @FunctionalInterface
+    private interface ValueReader<T> {
+        // Must leave the parser on the last token of the value it was given
+        T read(JsonParser parser) throws IOException;
+    }
+}
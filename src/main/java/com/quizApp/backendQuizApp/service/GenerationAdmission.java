@@ -0,0 +1,127 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.quizApp.backendQuizApp.config.properties.GeminiProperties;
+import com.quizApp.backendQuizApp.exception.RateLimitedException;
+import com.quizApp.backendQuizApp.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Admission control in front of Gemini: a per-user token bucket checked when a generation is requested,
+// and a global bulkhead around each upstream call with a bounded, time-limited wait.
+@Component
+public class GenerationAdmission {
+
+    private final GeminiProperties.Admission props;
+    private final Semaphore slots;
+    private final AtomicInteger waiting = new AtomicInteger();
+    // Idle users fall out after userIdleEviction, so memory tracks active users only
+    private final Cache<String, TokenBucket> buckets;
+    private final double refillPerNano;
+    private final Counter rejectedUserRate;
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedWaitTimeout;
+    private final Timer waitTimer;
+
+    public GenerationAdmission(GeminiProperties geminiProperties, MeterRegistry meterRegistry) {
+        this.props = geminiProperties.getAdmission();
+        this.slots = new Semaphore(props.getMaxConcurrent(), true);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(props.getMaxTrackedUsers())
+                .expireAfterAccess(props.getUserIdleEviction())
+                .build();
+        this.refillPerNano = props.getUserRefillPerMinute() / (double) TimeUnit.MINUTES.toNanos(1);
+        this.rejectedUserRate = rejected(meterRegistry, "user_rate");
+        this.rejectedQueueFull = rejected(meterRegistry, "queue_full");
+        this.rejectedWaitTimeout = rejected(meterRegistry, "wait_timeout");
+        this.waitTimer = Timer.builder("gemini.bulkhead.wait").register(meterRegistry);
+        Gauge.builder("gemini.bulkhead.active", slots, s -> props.getMaxConcurrent() - s.availablePermits())
+                .register(meterRegistry);
+        Gauge.builder("gemini.bulkhead.queued", waiting, AtomicInteger::get).register(meterRegistry);
+        Gauge.builder("gemini.ratelimit.tracked.users", buckets, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    // Takes one token from the user's bucket or fails with 429 and the time until the next token
+    public void admitUser(String userId) {
+        TokenBucket bucket = buckets.get(userId, k -> new TokenBucket(props.getUserBurst(), System.nanoTime()));
+        long waitNanos = bucket.tryTake(System.nanoTime(), props.getUserBurst(), refillPerNano);
+        if (waitNanos > 0) {
+            rejectedUserRate.increment();
+            throw new RateLimitedException("Quiz generation rate limit exceeded, please slow down",
+                    Duration.ofNanos(waitNanos));
+        }
+    }
+
+    // Blocks up to maxWait for a bulkhead slot; the caller must release() it when the upstream call ends
+    public void acquire() {
+        if (waiting.incrementAndGet() > props.getMaxQueued() && slots.availablePermits() == 0) {
+            waiting.decrementAndGet();
+            rejectedQueueFull.increment();
+            throw overloaded();
+        }
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = slots.tryAcquire(props.getMaxWait().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        } finally {
+            waiting.decrementAndGet();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            rejectedWaitTimeout.increment();
+            throw overloaded();
+        }
+    }
+
+    public void release() {
+        slots.release();
+    }
+
+    // True while every slot is taken or callers are queued; optional work should wait rather than add to the queue
+    public boolean saturated() {
+        return slots.availablePermits() == 0 || waiting.get() > 0;
+    }
+
+    private ServiceOverloadedException overloaded() {
+        return new ServiceOverloadedException("Quiz generation is at capacity, please retry shortly",
+                props.getOverloadRetryAfter());
+    }
+
+    private static Counter rejected(MeterRegistry registry, String reason) {
+        return Counter.builder("gemini.admission.rejected").tag("reason", reason).register(registry);
+    }
+
+    // Two primitives per user; refilled lazily on access rather than by a timer
+    private static final class TokenBucket {
+        private double tokens;
+        private long refilledAt;
+
+        private TokenBucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.refilledAt = now;
+        }
+
+        // 0 when a token was taken, otherwise nanoseconds until one will be available
+        private synchronized long tryTake(long now, int burst, double refillPerNano) {
+            tokens = Math.min(burst, tokens + (now - refilledAt) * refillPerNano);
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return refillPerNano > 0 ? (long) Math.ceil((1 - tokens) / refillPerNano) : Long.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.quizApp.backendQuizApp.config.properties.GenerationProperties;
+import com.quizApp.backendQuizApp.model.GenerationCacheEntry;
+import com.quizApp.backendQuizApp.model.Question;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+// Two-level cache of generated question sets: a per-node Caffeine near-cache over the shared generation_cache collection.
+// Each entry may be handed out at most maxReuses times before it is regenerated; the near-cache enforces that budget
+// per node, so the global reuse count can exceed it by at most one near-cache lifetime per node.
+@Slf4j
+@Service
+public class GenerationCacheService {
+
+    private final MongoTemplate mongoTemplate;
+    private final GenerationProperties.Cache props;
+    private final Cache<String, NearEntry> nearCache;
+    private final Counter hits;
+    private final Counter nearHits;
+    private final Counter misses;
+    private final Counter stale;
+
+    @Autowired
+    public GenerationCacheService(MongoTemplate mongoTemplate, GenerationProperties generationProperties,
+                                  MeterRegistry meterRegistry) {
+        this(mongoTemplate, generationProperties, meterRegistry, System::nanoTime);
+    }
+
+    GenerationCacheService(MongoTemplate mongoTemplate, GenerationProperties generationProperties,
+                           MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.mongoTemplate = mongoTemplate;
+        this.props = generationProperties.getCache();
+        this.nearCache = Caffeine.newBuilder()
+                .maximumSize(props.getNearCacheMaxSize())
+                .expireAfterWrite(props.getNearCacheTtl())
+                .ticker(nanoClock::getAsLong)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, nearCache, "generation.near");
+        this.hits = Counter.builder("quiz.generation.cache").tag("result", "hit").register(meterRegistry);
+        this.nearHits = Counter.builder("quiz.generation.cache").tag("result", "near_hit").register(meterRegistry);
+        this.misses = Counter.builder("quiz.generation.cache").tag("result", "miss").register(meterRegistry);
+        this.stale = Counter.builder("quiz.generation.cache").tag("result", "stale").register(meterRegistry);
+    }
+
+    public List<Question> getOrGenerate(GenerationKey key, Supplier<List<Question>> generator) {
+        if (!props.isEnabled()) {
+            return generator.get();
+        }
+        List<Question> cached = lookup(key);
+        if (cached != null) {
+            return cached;
+        }
+        misses.increment();
+        List<Question> questions = generator.get();
+        store(key, questions);
+        return questions;
+    }
+
+    private List<Question> lookup(GenerationKey key) {
+        String id = key.asString();
+        NearEntry near = nearCache.getIfPresent(id);
+        if (near != null) {
+            if (near.uses.incrementAndGet() <= props.getMaxReuses()) {
+                nearHits.increment();
+                return copy(near.questions);
+            }
+            // Reuse budget spent: drop it everywhere so the next request regenerates
+            nearCache.invalidate(id);
+            mongoTemplate.remove(Query.query(Criteria.where("_id").is(id)), GenerationCacheEntry.class);
+            stale.increment();
+            return null;
+        }
+
+        // Atomically claim one reuse; a null result means the entry is missing, expired or used up
+        GenerationCacheEntry entry = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(id)
+                        .and("useCount").lt(props.getMaxReuses())
+                        .and("expiresAt").gt(LocalDateTime.now())),
+                new Update().inc("useCount", 1),
+                FindAndModifyOptions.options().returnNew(true),
+                GenerationCacheEntry.class);
+        if (entry == null) {
+            return null;
+        }
+        hits.increment();
+        nearCache.put(id, new NearEntry(entry.getQuestions(), entry.getUseCount()));
+        return copy(entry.getQuestions());
+    }
+
+    // Callers get their own Question objects, so edits to a quiz never leak into the shared set
+    private static List<Question> copy(List<Question> questions) {
+        List<Question> copies = new ArrayList<>(questions.size());
+        questions.forEach(question -> copies.add(question.copy()));
+        return copies;
+    }
+
+    private void store(GenerationKey key, List<Question> questions) {
+        LocalDateTime now = LocalDateTime.now();
+        GenerationCacheEntry entry = GenerationCacheEntry.builder()
+                .id(key.asString())
+                .topic(key.getTopic())
+                .difficulty(key.getDifficulty())
+                .category(key.getCategory())
+                .numberOfQuestions(key.getNumberOfQuestions())
+                .questions(copy(questions))
+                .useCount(1)
+                .createdAt(now)
+                .expiresAt(now.plus(props.getTtl()))
+                .build();
+        try {
+            mongoTemplate.save(entry);
+            nearCache.put(entry.getId(), new NearEntry(entry.getQuestions(), 1));
+        } catch (RuntimeException e) {
+            // The cache is an optimization; a failed write must not fail the generation
+            log.warn("Failed to cache generated questions for {}: {}", entry.getId(), e.getMessage());
+        }
+    }
+
+    private static final class NearEntry {
+        private final List<Question> questions;
+        private final AtomicInteger uses;
+
+        private NearEntry(List<Question> questions, int uses) {
+            this.questions = questions;
+            this.uses = new AtomicInteger(uses);
+        }
+    }
+}
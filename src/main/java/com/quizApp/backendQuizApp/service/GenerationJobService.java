@@ -0,0 +1,142 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.quizApp.backendQuizApp.config.properties.GenerationProperties;
+import com.quizApp.backendQuizApp.dto.quiz.QuizGenerationRequest;
+import com.quizApp.backendQuizApp.exception.ServiceOverloadedException;
+import com.quizApp.backendQuizApp.model.GenerationJob;
+import com.quizApp.backendQuizApp.model.Quiz;
+import com.quizApp.backendQuizApp.repository.GenerationJobRepository;
+import com.quizApp.backendQuizApp.security.AuthenticatedUser;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GenerationJobService {
+
+    private final GenerationJobRepository jobRepository;
+    private final QuizService quizService;
+    private final ExecutorService quizGenerationExecutor;
+    private final GenerationProperties generationProperties;
+    private final GenerationAdmission generationAdmission;
+
+    // jobId -> open SSE streams on this node
+    private final Map<String, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    public GenerationJob submit(QuizGenerationRequest request, AuthenticatedUser user) {
+        generationAdmission.admitUser(user.getId());
+        GenerationJob job = jobRepository.save(GenerationJob.builder()
+                .userId(user.getId())
+                .request(request)
+                .status(GenerationJob.JobStatus.PENDING)
+                .createdAt(LocalDateTime.now())
+                .build());
+        try {
+            quizGenerationExecutor.execute(() -> run(job, user));
+        } catch (RejectedExecutionException e) {
+            job.markFailed("Generation queue is full");
+            jobRepository.save(job);
+            throw new ServiceOverloadedException("Too many quiz generations in progress, please retry shortly");
+        }
+        return job;
+    }
+
+    public GenerationJob getJob(String id, AuthenticatedUser user) {
+        return jobRepository.findById(id)
+                .filter(job -> job.getUserId().equals(user.getId()))
+                .orElse(null);
+    }
+
+    public SseEmitter subscribe(String id, AuthenticatedUser user) {
+        GenerationJob job = getJob(id, user);
+        if (job == null) {
+            throw new IllegalArgumentException("Generation job not found");
+        }
+        SseEmitter emitter = new SseEmitter(generationProperties.getJobs().getSseTimeout().toMillis());
+        if (job.isFinished()) {
+            send(emitter, job);
+            return emitter;
+        }
+        Set<SseEmitter> emitters = subscribers.computeIfAbsent(id, k -> ConcurrentHashMap.newKeySet());
+        emitters.add(emitter);
+        Runnable remove = () -> emitters.remove(emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        return emitter;
+    }
+
+    // Jobs running on another node finish without a local callback, so watch the collection for them
+    @Scheduled(fixedDelayString = "${app.generation.jobs.poll-interval-ms:2000}")
+    public void pollSubscribedJobs() {
+        subscribers.entrySet().removeIf(entry -> entry.getValue().isEmpty());
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        jobRepository.findAllById(subscribers.keySet()).forEach(job -> {
+            if (job.isFinished()) {
+                notifySubscribers(job);
+            }
+        });
+    }
+
+    // A job whose node died mid-generation would otherwise stay RUNNING (or PENDING) forever
+    @Scheduled(initialDelayString = "${app.generation.jobs.stale-sweep-interval-ms:300000}",
+            fixedDelayString = "${app.generation.jobs.stale-sweep-interval-ms:300000}")
+    public void failStaleJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(generationProperties.getJobs().getStaleAfter());
+        try {
+            long failed = jobRepository.failStale(cutoff, cutoff, "Generation was interrupted, please retry");
+            if (failed > 0) {
+                log.warn("Marked {} stale generation jobs as failed", failed);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Stale generation job sweep failed: {}", e.getMessage());
+        }
+    }
+
+    private void run(GenerationJob job, AuthenticatedUser user) {
+        job.markRunning();
+        jobRepository.save(job);
+        try {
+            Quiz quiz = quizService.generate(job.getRequest(), user);
+            job.markCompleted(quiz.getId());
+        } catch (Exception e) {
+            log.warn("Generation job {} failed: {}", job.getId(), e.getMessage());
+            job.markFailed(e.getMessage());
+        }
+        jobRepository.save(job);
+        notifySubscribers(job);
+    }
+
+    private void notifySubscribers(GenerationJob job) {
+        Set<SseEmitter> emitters = subscribers.remove(job.getId());
+        if (emitters != null) {
+            emitters.forEach(emitter -> send(emitter, job));
+        }
+    }
+
+    private void send(SseEmitter emitter, GenerationJob job) {
+        try {
+            emitter.send(SseEmitter.event()
+                    .id(job.getId())
+                    .name(job.getStatus().name().toLowerCase())
+                    .data(job));
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            emitter.completeWithError(e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.quizApp.backendQuizApp.dto.quiz.QuizGenerationRequest;
+import com.quizApp.backendQuizApp.model.Question;
+import lombok.Value;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.Locale;
+
+// Normalized identity of a generation request: "Java  Basics" and "java basics" are the same quiz
+@Value
+public class GenerationKey {
+    String topic;
+    Question.DifficultyLevel difficulty;
+    String category;
+    int numberOfQuestions;
+
+    public static GenerationKey of(QuizGenerationRequest request) {
+        return new GenerationKey(
+                normalize(request.getTopic()),
+                request.getDifficulty() != null ? request.getDifficulty() : Question.DifficultyLevel.MEDIUM,
+                normalize(request.getCategory()),
+                request.getNumberOfQuestions() != null ? request.getNumberOfQuestions() : 10);
+    }
+
+    public String asString() {
+        return topic + "|" + difficulty + "|" + category + "|" + numberOfQuestions;
+    }
+
+    private static String normalize(String value) {
+        return StringUtils.normalizeSpace(StringUtils.defaultString(value)).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,233 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.quizApp.backendQuizApp.config.properties.GenerationProperties;
+import com.quizApp.backendQuizApp.dto.quiz.QuizGenerationRequest;
+import com.quizApp.backendQuizApp.model.Question;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+// Per-node pool of ready-made, unassigned question sets for the most requested generation keys. Request frequency is
+// tracked in a decaying top-N sketch; during the off-peak window the hottest keys are topped up to setsPerKey with at
+// most `concurrency` generations in flight. Each pooled set is handed out once, and taking one triggers its refill.
+// Refills never compete with user requests: while the Gemini bulkhead is saturated they are deferred to the next pass.
+@Slf4j
+@Service
+public class GenerationWarmPool {
+
+    private final QuestionGeneratorRouter questionGeneratorRouter;
+    private final GenerationAdmission admission;
+    private final GenerationProperties.WarmPool props;
+    private final Clock clock;
+    private final Executor executor;
+    private final DecayingTopK<GenerationKey> sketch;
+    private final Map<GenerationKey, Deque<PooledSet>> pool = new ConcurrentHashMap<>();
+    // Generations in flight per key; a key is removed when its count drops to zero
+    private final Map<GenerationKey, Integer> pending = new ConcurrentHashMap<>();
+    // Keys whose refill was put off while admission was saturated
+    private final Set<GenerationKey> deferred = ConcurrentHashMap.newKeySet();
+    // When each handed-out set was taken, oldest first; cleared as replacements land
+    private final Map<GenerationKey, Queue<Instant>> vacated = new ConcurrentHashMap<>();
+    private final AtomicInteger pooledSets = new AtomicInteger();
+    private final Semaphore workers;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter refilled;
+    private final Counter refillFailures;
+    private final Timer refillLag;
+
+    @Autowired
+    public GenerationWarmPool(QuestionGeneratorRouter questionGeneratorRouter, GenerationAdmission admission,
+                              GenerationProperties generationProperties, MeterRegistry meterRegistry) {
+        this(questionGeneratorRouter, admission, generationProperties.getWarmPool(), meterRegistry, Clock.systemUTC(),
+                task -> Thread.ofVirtual().name("warm-pool").start(task));
+    }
+
+    GenerationWarmPool(QuestionGeneratorRouter questionGeneratorRouter, GenerationAdmission admission,
+                       GenerationProperties.WarmPool props, MeterRegistry meterRegistry, Clock clock, Executor executor) {
+        this.questionGeneratorRouter = questionGeneratorRouter;
+        this.admission = admission;
+        this.props = props;
+        this.clock = clock;
+        this.executor = executor;
+        this.sketch = new DecayingTopK<>(props.getSketchCapacity(), props.getHalfLife(), clock::millis);
+        this.workers = new Semaphore(props.getConcurrency());
+        Gauge.builder("generation.pool.size", pooledSets, AtomicInteger::get)
+                .description("Ready-made question sets held").register(meterRegistry);
+        Gauge.builder("generation.pool.keys", pool, Map::size).register(meterRegistry);
+        Gauge.builder("generation.pool.refills.deferred", deferred, Set::size).register(meterRegistry);
+        Gauge.builder("generation.pool.refills.active", workers, w -> props.getConcurrency() - w.availablePermits())
+                .register(meterRegistry);
+        this.hits = Counter.builder("generation.pool.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("generation.pool.requests").tag("result", "miss").register(meterRegistry);
+        this.refilled = Counter.builder("generation.pool.refills").tag("result", "success").register(meterRegistry);
+        this.refillFailures = Counter.builder("generation.pool.refills").tag("result", "failure").register(meterRegistry);
+        this.refillLag = Timer.builder("generation.pool.refill.lag")
+                .description("Time from a pooled set being taken until its replacement is ready")
+                .register(meterRegistry);
+    }
+
+    // Counts the request towards the key's popularity and hands out a pooled set if one is ready
+    public Optional<List<Question>> take(GenerationKey key) {
+        if (!props.isEnabled()) {
+            return Optional.empty();
+        }
+        sketch.offer(key);
+        Deque<PooledSet> sets = pool.get(key);
+        PooledSet set;
+        while (sets != null && (set = sets.pollFirst()) != null) {
+            pooledSets.decrementAndGet();
+            if (fresh(set)) {
+                hits.increment();
+                vacated.computeIfAbsent(key, k -> new ConcurrentLinkedQueue<>()).add(clock.instant());
+                refill(key);
+                return Optional.of(set.questions().stream().map(Question::copy).collect(Collectors.toCollection(ArrayList::new)));
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    @Scheduled(fixedDelayString = "${app.generation.warm-pool.refill-interval-ms:300000}")
+    public void refillHotKeys() {
+        if (!props.isEnabled()) {
+            return;
+        }
+        List<GenerationKey> hot = sketch.top(props.getHotKeys(), props.getMinRequests());
+        evictColdAndExpired(new HashSet<>(hot));
+        // Deferred refills run as soon as admission has room again, off-peak or not
+        for (GenerationKey key : List.copyOf(deferred)) {
+            deferred.remove(key);
+            refill(key);
+        }
+        if (offPeak()) {
+            hot.forEach(this::refill);
+        }
+    }
+
+    int pooled(GenerationKey key) {
+        Deque<PooledSet> sets = pool.get(key);
+        return sets == null ? 0 : sets.size();
+    }
+
+    int pendingKeys() {
+        return pending.size();
+    }
+
+    // Starts as many generations as the key is short of, without waiting for a worker; the next pass catches up
+    private void refill(GenerationKey key) {
+        if (admission.saturated()) {
+            deferred.add(key);
+            return;
+        }
+        while (pooled(key) + pending.getOrDefault(key, 0) < props.getSetsPerKey() && workers.tryAcquire()) {
+            pending.merge(key, 1, Integer::sum);
+            try {
+                executor.execute(() -> generate(key));
+            } catch (RuntimeException e) {
+                finished(key);
+                throw e;
+            }
+        }
+    }
+
+    private void finished(GenerationKey key) {
+        pending.computeIfPresent(key, (k, inFlight) -> inFlight > 1 ? inFlight - 1 : null);
+        workers.release();
+    }
+
+    private void generate(GenerationKey key) {
+        try {
+            List<Question> questions = questionGeneratorRouter.generateQuestions(requestFor(key));
+            pool.computeIfAbsent(key, k -> new ConcurrentLinkedDeque<>())
+                    .addLast(new PooledSet(List.copyOf(questions), clock.instant()));
+            pooledSets.incrementAndGet();
+            refilled.increment();
+            Queue<Instant> waiting = vacated.get(key);
+            Instant takenAt = waiting != null ? waiting.poll() : null;
+            if (takenAt != null) {
+                refillLag.record(Duration.between(takenAt, clock.instant()));
+            }
+        } catch (RuntimeException e) {
+            refillFailures.increment();
+            log.warn("Warm pool generation for {} failed: {}", key.asString(), e.getMessage());
+        } finally {
+            finished(key);
+        }
+    }
+
+    private void evictColdAndExpired(Set<GenerationKey> hot) {
+        for (Iterator<Map.Entry<GenerationKey, Deque<PooledSet>>> it = pool.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<GenerationKey, Deque<PooledSet>> entry = it.next();
+            if (!hot.contains(entry.getKey())) {
+                pooledSets.addAndGet(-entry.getValue().size());
+                vacated.remove(entry.getKey());
+                it.remove();
+                continue;
+            }
+            entry.getValue().removeIf(set -> {
+                boolean expired = !fresh(set);
+                if (expired) {
+                    pooledSets.decrementAndGet();
+                }
+                return expired;
+            });
+        }
+        vacated.keySet().retainAll(hot);
+        deferred.retainAll(hot);
+    }
+
+    private boolean fresh(PooledSet set) {
+        return set.createdAt().plus(props.getMaxAge()).isAfter(clock.instant());
+    }
+
+    private boolean offPeak() {
+        LocalTime start = props.getOffPeakStart();
+        LocalTime end = props.getOffPeakEnd();
+        if (start == null || end == null) {
+            return true;
+        }
+        LocalTime now = LocalTime.now(clock.withZone(props.getZone()));
+        return start.isBefore(end)
+                ? !now.isBefore(start) && now.isBefore(end)
+                : !now.isBefore(start) || now.isBefore(end);
+    }
+
+    private static QuizGenerationRequest requestFor(GenerationKey key) {
+        QuizGenerationRequest request = new QuizGenerationRequest();
+        request.setTopic(key.getTopic());
+        request.setDifficulty(key.getDifficulty());
+        request.setCategory(key.getCategory().isEmpty() ? null : key.getCategory());
+        request.setNumberOfQuestions(key.getNumberOfQuestions());
+        return request;
+    }
+
+    private record PooledSet(List<Question> questions, Instant createdAt) {
+    }
+}
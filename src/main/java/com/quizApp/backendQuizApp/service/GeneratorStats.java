@@ -0,0 +1,46 @@
+package com.quizApp.backendQuizApp.service;
+
+// Exponentially weighted latency (per question, so quiz sizes are comparable) and error rate for one generator
+final class GeneratorStats {
+
+    private final double latencyAlpha;
+    private final double errorAlpha;
+    private double latencyMsPerQuestion;
+    private double errorRate;
+    private long samples;
+
+    GeneratorStats(double latencyAlpha, double errorAlpha) {
+        this.latencyAlpha = latencyAlpha;
+        this.errorAlpha = errorAlpha;
+    }
+
+    synchronized void recordSuccess(long elapsedNanos, int questions) {
+        double perQuestion = elapsedNanos / 1_000_000.0 / Math.max(1, questions);
+        latencyMsPerQuestion = samples == 0 ? perQuestion : latencyMsPerQuestion + latencyAlpha * (perQuestion - latencyMsPerQuestion);
+        errorRate += errorAlpha * (0 - errorRate);
+        samples++;
+    }
+
+    // Failures only move the error rate; a fast failure must not make a generator look quick
+    synchronized void recordFailure() {
+        errorRate += errorAlpha * (1 - errorRate);
+        samples++;
+    }
+
+    synchronized double latencyMsPerQuestion() {
+        return latencyMsPerQuestion;
+    }
+
+    synchronized double errorRate() {
+        return errorRate;
+    }
+
+    synchronized long samples() {
+        return samples;
+    }
+
+    // Expected time to a successful question: latency inflated by the chance of having to go again
+    synchronized double cost() {
+        return latencyMsPerQuestion / Math.max(0.05, 1 - errorRate);
+    }
+}
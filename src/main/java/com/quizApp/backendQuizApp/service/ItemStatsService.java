@@ -0,0 +1,206 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.quizApp.backendQuizApp.config.properties.StatsProperties;
+import com.quizApp.backendQuizApp.dto.quiz.ItemAnalysis;
+import com.quizApp.backendQuizApp.model.ItemStats;
+import com.quizApp.backendQuizApp.model.Question;
+import com.quizApp.backendQuizApp.model.Quiz;
+import com.quizApp.backendQuizApp.model.User;
+import com.quizApp.backendQuizApp.repository.QuizRepository;
+import com.quizApp.backendQuizApp.security.AuthenticatedUser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.Pair;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Item analytics: per-question correct/attempt counters and per-option selection counts.
+// Submissions fold into an in-memory tally per quiz; a scheduled flush writes one $inc per quiz in a single bulkWrite.
+@Slf4j
+@Service
+public class ItemStatsService {
+
+    private final MongoTemplate mongoTemplate;
+    private final QuizRepository quizRepository;
+    private final StatsProperties statsProperties;
+    private final Map<String, Tally> pending = new ConcurrentHashMap<>();
+    private final Timer flushTimer;
+
+    public ItemStatsService(MongoTemplate mongoTemplate, QuizRepository quizRepository,
+                            StatsProperties statsProperties, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.quizRepository = quizRepository;
+        this.statsProperties = statsProperties;
+        this.flushTimer = Timer.builder("stats.items.flush").register(meterRegistry);
+    }
+
+    public void record(AnswerKey key, String[] answers, boolean[] results) {
+        Tally tally = new Tally(key.size());
+        for (int i = 0; i < key.size(); i++) {
+            tally.attempts[i] = 1;
+            tally.correct[i] = results[i] ? 1 : 0;
+            tally.options[i] = new long[key.optionCount(i)];
+            if (i < answers.length) {
+                for (int option : key.selectedOptions(i, answers[i])) {
+                    tally.options[i][option]++;
+                }
+            }
+        }
+        if (!statsProperties.isWriteBehind()) {
+            write(List.of(Pair.of(key.getQuizId(), tally)));
+            return;
+        }
+        // merge() serializes with the flusher's remove(), so no increment can slip between drain and write
+        pending.merge(key.getQuizId(), tally, Tally::add);
+    }
+
+    @Scheduled(fixedDelayString = "${app.stats.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        List<Pair<String, Tally>> batch = new ArrayList<>();
+        for (String quizId : pending.keySet()) {
+            Tally tally = pending.remove(quizId);
+            if (tally != null) {
+                batch.add(Pair.of(quizId, tally));
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            flushTimer.record(() -> write(batch));
+        } catch (RuntimeException e) {
+            log.error("Failed to flush item statistics for {} quizzes, keeping them for the next run: {}",
+                    batch.size(), e.getMessage());
+            batch.forEach(p -> pending.merge(p.getFirst(), p.getSecond(), Tally::add));
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // Per-option answer counts reveal the answer key, so only the quiz's author (or an admin) may see them
+    public ItemAnalysis getItemAnalysis(String quizId, AuthenticatedUser user) {
+        Quiz quiz = quizRepository.findById(quizId)
+                .orElseThrow(() -> new IllegalArgumentException("Quiz not found"));
+        if (!user.getId().equals(quiz.getCreatorId()) && user.getRole() != User.Role.ADMIN) {
+            throw new AccessDeniedException("Only the quiz's author can view its item statistics");
+        }
+        ItemStats stats = mongoTemplate.findById(quizId, ItemStats.class);
+        Map<String, ItemStats.QuestionCounters> counters = stats != null && stats.getQuestions() != null
+                ? stats.getQuestions() : Map.of();
+        AnswerKey key = AnswerKey.compile(quiz);
+
+        List<ItemAnalysis.QuestionItem> items = new ArrayList<>();
+        for (int i = 0; i < key.size(); i++) {
+            Question question = quiz.getQuestions().get(i);
+            ItemStats.QuestionCounters c = counters.get(String.valueOf(i));
+            long attempts = c != null && c.getAttempts() != null ? c.getAttempts() : 0;
+            long correct = c != null && c.getCorrect() != null ? c.getCorrect() : 0;
+            Map<String, Long> selections = c != null && c.getOptions() != null ? c.getOptions() : Map.of();
+            int[] correctOptions = key.selectedOptions(i, key.correctAnswer(i));
+
+            List<ItemAnalysis.OptionItem> options = new ArrayList<>();
+            List<String> labels = question.getOptions() != null ? question.getOptions() : List.of();
+            for (int o = 0; o < labels.size(); o++) {
+                long selected = selections.getOrDefault(String.valueOf(o), 0L);
+                int option = o;
+                options.add(ItemAnalysis.OptionItem.builder()
+                        .option(labels.get(o))
+                        .correct(Arrays.stream(correctOptions).anyMatch(x -> x == option))
+                        .selections(selected)
+                        .frequency(ratio(selected, attempts))
+                        .build());
+            }
+            items.add(ItemAnalysis.QuestionItem.builder()
+                    .questionIndex(i)
+                    .questionText(question.getQuestionText())
+                    .attempts(attempts)
+                    .correct(correct)
+                    .pValue(ratio(correct, attempts))
+                    .options(options)
+                    .build());
+        }
+        return ItemAnalysis.builder().quizId(quizId).questions(items).build();
+    }
+
+    private void write(List<Pair<String, Tally>> batch) {
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ItemStats.class);
+        for (Pair<String, Tally> entry : batch) {
+            ops.upsert(Query.query(Criteria.where("_id").is(entry.getFirst())), toUpdate(entry.getSecond()));
+        }
+        ops.execute();
+    }
+
+    private static Update toUpdate(Tally tally) {
+        Update update = new Update();
+        for (int i = 0; i < tally.attempts.length; i++) {
+            String prefix = "questions." + i + ".";
+            update.inc(prefix + "attempts", tally.attempts[i]);
+            update.inc(prefix + "correct", tally.correct[i]);
+            for (int o = 0; o < tally.options[i].length; o++) {
+                if (tally.options[i][o] != 0) {
+                    update.inc(prefix + "options." + o, tally.options[i][o]);
+                }
+            }
+        }
+        return update;
+    }
+
+    private static Double ratio(long part, long whole) {
+        return whole == 0 ? null : (double) part / whole;
+    }
+
+    // Plain arrays: only ever mutated inside ConcurrentHashMap.merge for its key
+    private static final class Tally {
+        private long[] attempts;
+        private long[] correct;
+        private long[][] options;
+
+        private Tally(int questions) {
+            this.attempts = new long[questions];
+            this.correct = new long[questions];
+            this.options = new long[questions][];
+        }
+
+        // Sizes can differ if the quiz was edited between submissions; grow to the larger shape
+        private Tally add(Tally other) {
+            int n = Math.max(attempts.length, other.attempts.length);
+            attempts = Arrays.copyOf(attempts, n);
+            correct = Arrays.copyOf(correct, n);
+            options = Arrays.copyOf(options, n);
+            for (int i = 0; i < other.attempts.length; i++) {
+                attempts[i] += other.attempts[i];
+                correct[i] += other.correct[i];
+                long[] mine = options[i] == null ? new long[0] : options[i];
+                long[] theirs = other.options[i];
+                mine = Arrays.copyOf(mine, Math.max(mine.length, theirs.length));
+                for (int o = 0; o < theirs.length; o++) {
+                    mine[o] += theirs[o];
+                }
+                options[i] = mine;
+            }
+            for (int i = other.attempts.length; i < n; i++) {
+                if (options[i] == null) {
+                    options[i] = new long[0];
+                }
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.quizApp.backendQuizApp.config.properties.StatsProperties;
+import com.quizApp.backendQuizApp.model.Leaderboard;
+import com.quizApp.backendQuizApp.model.QuizAttempt;
+import com.quizApp.backendQuizApp.repository.LeaderboardRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+@Slf4j
+@Service
+public class LeaderboardService {
+
+    private final LeaderboardRepository leaderboardRepository;
+    private final MeterRegistry meterRegistry;
+    private final int capacity;
+    private final LoadingCache<String, LocalBoard> boards;
+
+    public LeaderboardService(LeaderboardRepository leaderboardRepository, StatsProperties statsProperties,
+                              MeterRegistry meterRegistry) {
+        StatsProperties.Leaderboard props = statsProperties.getLeaderboard();
+        this.leaderboardRepository = leaderboardRepository;
+        this.meterRegistry = meterRegistry;
+        this.capacity = props.getCapacity();
+        this.boards = Caffeine.newBuilder()
+                .maximumSize(props.getCacheMaxSize())
+                .expireAfterWrite(props.getCacheTtl())
+                .build(this::load);
+    }
+
+    public void record(QuizAttempt attempt) {
+        Leaderboard.Entry entry = Leaderboard.Entry.builder()
+                .attemptId(attempt.getId())
+                .userId(attempt.getUserId())
+                .username(attempt.getUsername())
+                .scorePercentage(attempt.getScorePercentage())
+                .timeTakenSeconds(attempt.getTimeTakenSeconds())
+                .completedAt(attempt.getCompletedAt())
+                .build();
+        // The local board is a subset of the persisted one, so anything it rejects cannot make the real top K either
+        if (!boards.get(attempt.getQuizId()).offer(entry)) {
+            meterRegistry.counter("leaderboard.offers", "result", "skipped").increment();
+            return;
+        }
+        meterRegistry.counter("leaderboard.offers", "result", "written").increment();
+        try {
+            leaderboardRepository.offer(attempt.getQuizId(), entry, capacity);
+        } catch (RuntimeException e) {
+            log.warn("Failed to update leaderboard for quiz {}: {}", attempt.getQuizId(), e.getMessage());
+            boards.invalidate(attempt.getQuizId());
+        }
+    }
+
+    public List<Leaderboard.Entry> top(String quizId, int k) {
+        return boards.get(quizId).top(Math.max(1, Math.min(k, capacity)));
+    }
+
+    private LocalBoard load(String quizId) {
+        LocalBoard board = new LocalBoard(capacity);
+        leaderboardRepository.findById(quizId)
+                .map(Leaderboard::getEntries)
+                .ifPresent(entries -> entries.forEach(board::offer));
+        return board;
+    }
+
+    // Bounded sorted set holding each user's best entry: O(log K) offer, O(K) read
+    private static final class LocalBoard {
+        private final int capacity;
+        private final TreeSet<Leaderboard.Entry> entries = new TreeSet<>(Leaderboard.Entry.RANKING);
+        private final Map<String, Leaderboard.Entry> byUser = new HashMap<>();
+
+        private LocalBoard(int capacity) {
+            this.capacity = capacity;
+        }
+
+        synchronized boolean offer(Leaderboard.Entry entry) {
+            Leaderboard.Entry previous = byUser.get(entry.getUserId());
+            if (previous != null) {
+                if (Leaderboard.Entry.RANKING.compare(entry, previous) >= 0) {
+                    return false;
+                }
+                entries.remove(previous);
+            } else if (entries.size() >= capacity && Leaderboard.Entry.RANKING.compare(entry, entries.last()) >= 0) {
+                return false;
+            }
+            entries.add(entry);
+            byUser.put(entry.getUserId(), entry);
+            if (entries.size() > capacity) {
+                byUser.remove(entries.pollLast().getUserId());
+            }
+            return true;
+        }
+
+        synchronized List<Leaderboard.Entry> top(int k) {
+            List<Leaderboard.Entry> result = new ArrayList<>(Math.min(k, entries.size()));
+            for (Leaderboard.Entry entry : entries) {
+                if (result.size() == k) {
+                    break;
+                }
+                result.add(entry);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.quizApp.backendQuizApp.dto.quiz.QuizGenerationRequest;
+import com.quizApp.backendQuizApp.model.Question;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+// A model backend that can produce validated questions; QuestionGeneratorRouter picks one per request
+public interface QuestionGenerator {
+
+    // Stable identifier used by app.generation.routing configuration
+    String name();
+
+    List<Question> generateQuestions(QuizGenerationRequest request);
+
+    // Emits each question as soon as it is complete and valid
+    Flux<Question> streamQuestions(QuizGenerationRequest request);
+}
@@ -0,0 +1,201 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.quizApp.backendQuizApp.config.properties.GenerationProperties;
+import com.quizApp.backendQuizApp.dto.quiz.QuizGenerationRequest;
+import com.quizApp.backendQuizApp.exception.CircuitOpenException;
+import com.quizApp.backendQuizApp.exception.ServiceOverloadedException;
+import com.quizApp.backendQuizApp.model.Question;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+// Picks a QuestionGenerator per request from app.generation.routing: the first configured route that matches the
+// request's size and difficulty and is currently healthy wins. On failure the remaining candidates are tried in order
+// of smoothed cost, so a slow or failing model is routed around until its moving averages recover.
+@Slf4j
+@Service
+public class QuestionGeneratorRouter {
+
+    private final QuestionGenerator defaultGenerator;
+    private final Map<String, QuestionGenerator> generators = new LinkedHashMap<>();
+    private final Map<String, GeneratorStats> stats = new LinkedHashMap<>();
+    private final GenerationProperties.Routing routing;
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public QuestionGeneratorRouter(GeminiAiService geminiAiService, List<QuestionGenerator> available,
+                                   GenerationProperties generationProperties, MeterRegistry meterRegistry) {
+        this(geminiAiService, withConfiguredModels(geminiAiService, available, generationProperties.getRouting()),
+                generationProperties.getRouting(), meterRegistry, System::nanoTime);
+    }
+
+    QuestionGeneratorRouter(QuestionGenerator defaultGenerator, List<QuestionGenerator> available,
+                            GenerationProperties.Routing routing, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.defaultGenerator = defaultGenerator;
+        this.routing = routing;
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+        generators.put(defaultGenerator.name(), defaultGenerator);
+        available.forEach(generator -> generators.putIfAbsent(generator.name(), generator));
+        for (GenerationProperties.Route route : routing.getRoutes()) {
+            if (!generators.containsKey(route.getGenerator())) {
+                throw new IllegalStateException("Unknown question generator in routing configuration: " + route.getGenerator());
+            }
+        }
+        generators.keySet().forEach(name -> {
+            GeneratorStats generatorStats = new GeneratorStats(routing.getLatencyAlpha(), routing.getErrorAlpha());
+            stats.put(name, generatorStats);
+            Gauge.builder("generation.router.latency", generatorStats, GeneratorStats::latencyMsPerQuestion)
+                    .tag("generator", name).baseUnit("milliseconds").description("Smoothed latency per question")
+                    .register(meterRegistry);
+            Gauge.builder("generation.router.error.rate", generatorStats, GeneratorStats::errorRate)
+                    .tag("generator", name).register(meterRegistry);
+        });
+    }
+
+    // Routes may name any Gemini model; each gets its own generator sharing the default one's client and bulkhead
+    private static List<QuestionGenerator> withConfiguredModels(GeminiAiService gemini, List<QuestionGenerator> available,
+                                                                GenerationProperties.Routing routing) {
+        List<QuestionGenerator> all = new ArrayList<>(available);
+        Set<String> known = new LinkedHashSet<>();
+        available.forEach(generator -> known.add(generator.name()));
+        for (GenerationProperties.Route route : routing.getRoutes()) {
+            String name = route.getGenerator();
+            if (name != null && name.startsWith(GeminiAiService.NAME_PREFIX) && known.add(name)) {
+                all.add(gemini.withModel(name.substring(GeminiAiService.NAME_PREFIX.length())));
+            }
+        }
+        return all;
+    }
+
+    public List<Question> generateQuestions(QuizGenerationRequest request) {
+        List<QuestionGenerator> candidates = candidates(request);
+        RuntimeException last = null;
+        for (int i = 0; i < candidates.size(); i++) {
+            QuestionGenerator generator = candidates.get(i);
+            if (i > 0) {
+                meterRegistry.counter("generation.router.failovers").increment();
+            }
+            long start = nanoClock.getAsLong();
+            try {
+                List<Question> questions = generator.generateQuestions(request);
+                recordSuccess(generator, nanoClock.getAsLong() - start, questions.size());
+                return questions;
+            } catch (CircuitOpenException e) {
+                // That model's breaker is open: a model fault, so move on to the next candidate
+                recordFailure(generator, e);
+                last = e;
+            } catch (ServiceOverloadedException e) {
+                // Local back-pressure, not a model fault: the caller should back off rather than spill onto other models
+                throw e;
+            } catch (RuntimeException e) {
+                recordFailure(generator, e);
+                last = e;
+            }
+        }
+        throw last;
+    }
+
+    // Fails over only while nothing has been emitted; once questions are out the stream's source cannot change
+    public Flux<Question> streamQuestions(QuizGenerationRequest request) {
+        return Flux.defer(() -> stream(request, candidates(request), 0));
+    }
+
+    private Flux<Question> stream(QuizGenerationRequest request, List<QuestionGenerator> candidates, int index) {
+        QuestionGenerator generator = candidates.get(index);
+        if (index > 0) {
+            meterRegistry.counter("generation.router.failovers").increment();
+        }
+        return Flux.defer(() -> {
+            long start = nanoClock.getAsLong();
+            AtomicInteger emitted = new AtomicInteger();
+            return generator.streamQuestions(request)
+                    .doOnNext(question -> emitted.incrementAndGet())
+                    .doOnComplete(() -> recordSuccess(generator, nanoClock.getAsLong() - start, emitted.get()))
+                    .onErrorResume(ex -> {
+                        if (ex instanceof ServiceOverloadedException && !(ex instanceof CircuitOpenException)) {
+                            return Flux.error(ex);
+                        }
+                        recordFailure(generator, ex);
+                        if (emitted.get() > 0 || index + 1 >= candidates.size()) {
+                            return Flux.error(ex);
+                        }
+                        return stream(request, candidates, index + 1);
+                    });
+        });
+    }
+
+    // Preferred generator first, then the other matching generators by smoothed cost, then the default as a last resort
+    List<QuestionGenerator> candidates(QuizGenerationRequest request) {
+        List<GenerationProperties.Route> matching = routing.getRoutes().stream()
+                .filter(route -> matches(route, request))
+                .toList();
+        if (matching.isEmpty()) {
+            return List.of(defaultGenerator);
+        }
+        GenerationProperties.Route preferred = matching.stream()
+                .filter(this::healthy)
+                .findFirst()
+                .orElseGet(() -> matching.stream()
+                        .min(Comparator.comparingDouble(route -> stats.get(route.getGenerator()).cost()))
+                        .orElseThrow());
+
+        Set<QuestionGenerator> ordered = new LinkedHashSet<>();
+        ordered.add(generators.get(preferred.getGenerator()));
+        matching.stream()
+                .sorted(Comparator.comparing((GenerationProperties.Route route) -> !healthy(route))
+                        .thenComparingDouble(route -> stats.get(route.getGenerator()).cost()))
+                .forEach(route -> ordered.add(generators.get(route.getGenerator())));
+        ordered.add(defaultGenerator);
+        return new ArrayList<>(ordered);
+    }
+
+    GeneratorStats stats(String generator) {
+        return stats.get(generator);
+    }
+
+    private static boolean matches(GenerationProperties.Route route, QuizGenerationRequest request) {
+        if (route.getMaxQuestions() != null && request.getNumberOfQuestions() > route.getMaxQuestions()) {
+            return false;
+        }
+        return route.getDifficulties().isEmpty() || route.getDifficulties().contains(request.getDifficulty());
+    }
+
+    // Until a generator has enough samples it is given the benefit of the doubt
+    private boolean healthy(GenerationProperties.Route route) {
+        GeneratorStats generatorStats = stats.get(route.getGenerator());
+        if (generatorStats.samples() < routing.getMinSamples()) {
+            return true;
+        }
+        if (generatorStats.errorRate() > routing.getMaxErrorRate()) {
+            return false;
+        }
+        return route.getMaxLatencyPerQuestion() == null
+                || generatorStats.latencyMsPerQuestion() <= route.getMaxLatencyPerQuestion().toMillis();
+    }
+
+    private void recordSuccess(QuestionGenerator generator, long elapsedNanos, int questions) {
+        stats.get(generator.name()).recordSuccess(elapsedNanos, questions);
+        meterRegistry.counter("generation.router.requests", "generator", generator.name(), "result", "success").increment();
+    }
+
+    private void recordFailure(QuestionGenerator generator, Throwable error) {
+        stats.get(generator.name()).recordFailure();
+        meterRegistry.counter("generation.router.requests", "generator", generator.name(), "result", "failure").increment();
+        log.warn("Question generator {} failed: {}", generator.name(), error.getMessage());
+    }
+}
@@ -0,0 +1,117 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.quizApp.backendQuizApp.model.Question;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Cheap local fixes for generated questions that are almost valid, applied before validation so a single sloppy
+// question does not cost a full regeneration. Anything still invalid afterwards is dropped by the caller.
+final class QuestionRepair {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    // "B", "b)", "C." or "(D)" referring to an option by position
+    private static final Pattern OPTION_LETTER = Pattern.compile("^\\(?([A-Za-z])[).:]?$");
+    // "B) JVM", "c. JVM" or "(A) JDK": a letter label in front of the option text
+    private static final Pattern LABEL_PREFIX = Pattern.compile("^\\(?[A-Za-z][).:]\\s+(.+)$");
+
+    private QuestionRepair() {
+    }
+
+    // Returns true if the question was changed
+    static boolean repair(Question question) {
+        boolean changed = false;
+        if (question.getQuestionText() != null && !question.getQuestionText().equals(question.getQuestionText().trim())) {
+            question.setQuestionText(question.getQuestionText().trim());
+            changed = true;
+        }
+
+        List<String> options = question.getOptions();
+        if ((options == null || options.isEmpty()) && question.getType() == Question.QuestionType.TRUE_FALSE) {
+            question.setOptions(List.of("True", "False"));
+            changed = true;
+        } else if (options != null) {
+            List<String> cleaned = cleanOptions(options);
+            if (!cleaned.equals(options)) {
+                question.setOptions(cleaned);
+                changed = true;
+            }
+        }
+
+        String answer = question.getCorrectAnswer();
+        if (answer == null || question.getOptions() == null || question.getOptions().contains(answer)) {
+            return changed;
+        }
+        String matched = question.getType() == Question.QuestionType.MULTIPLE_CHOICE && answer.contains(",")
+                ? matchAll(answer, question.getOptions())
+                : match(answer, question.getOptions());
+        if (matched != null && !matched.equals(answer)) {
+            question.setCorrectAnswer(matched);
+            return true;
+        }
+        return changed;
+    }
+
+    // Trimmed, non-blank, and unique ignoring case and spacing; the first spelling wins
+    private static List<String> cleanOptions(List<String> options) {
+        Map<String, String> unique = new LinkedHashMap<>();
+        for (String option : options) {
+            if (option == null || option.isBlank()) {
+                continue;
+            }
+            String trimmed = option.trim();
+            unique.putIfAbsent(key(trimmed), trimmed);
+        }
+        return new ArrayList<>(unique.values());
+    }
+
+    private static String matchAll(String answer, List<String> options) {
+        StringJoiner joined = new StringJoiner(", ");
+        for (String part : answer.split(",")) {
+            if (part.isBlank()) {
+                continue;
+            }
+            String option = match(part, options);
+            if (option == null) {
+                return null;
+            }
+            joined.add(option);
+        }
+        return joined.toString();
+    }
+
+    private static String match(String answer, List<String> options) {
+        String trimmed = answer.trim();
+        String found = byKey(trimmed, options);
+        if (found != null) {
+            return found;
+        }
+        Matcher letter = OPTION_LETTER.matcher(trimmed);
+        if (letter.matches()) {
+            int index = Character.toUpperCase(letter.group(1).charAt(0)) - 'A';
+            return index < options.size() ? options.get(index) : null;
+        }
+        Matcher labelled = LABEL_PREFIX.matcher(trimmed);
+        return labelled.matches() ? byKey(labelled.group(1), options) : null;
+    }
+
+    private static String byKey(String value, List<String> options) {
+        String key = key(value);
+        for (String option : options) {
+            if (key(option).equals(key)) {
+                return option;
+            }
+        }
+        return null;
+    }
+
+    private static String key(String value) {
+        return WHITESPACE.matcher(value.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,70 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.quizApp.backendQuizApp.model.Question;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.util.List;
+
+// Gemini responseSchema (OpenAPI subset) for {"questions": [Question, ...]}, derived from the Question model so the
+// two cannot drift: enum fields become string enums and fields carrying a not-null/blank/empty constraint are required.
+final class QuestionSchema {
+
+    private QuestionSchema() {
+    }
+
+    static ObjectNode build(ObjectMapper objectMapper) {
+        ObjectNode question = objectMapper.createObjectNode().put("type", "OBJECT");
+        ObjectNode properties = question.putObject("properties");
+        ArrayNode required = question.putArray("required");
+        ArrayNode ordering = question.putArray("propertyOrdering");
+        for (Field field : Question.class.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            properties.set(field.getName(), typeOf(objectMapper, field));
+            ordering.add(field.getName());
+            if (field.isAnnotationPresent(NotNull.class) || field.isAnnotationPresent(NotBlank.class)
+                    || field.isAnnotationPresent(NotEmpty.class)) {
+                required.add(field.getName());
+            }
+        }
+
+        ObjectNode root = objectMapper.createObjectNode().put("type", "OBJECT");
+        ObjectNode questions = root.putObject("properties").putObject("questions").put("type", "ARRAY");
+        questions.set("items", question);
+        root.putArray("required").add("questions");
+        return root;
+    }
+
+    private static ObjectNode typeOf(ObjectMapper objectMapper, Field field) {
+        Class<?> type = field.getType();
+        ObjectNode node = objectMapper.createObjectNode();
+        if (type.isEnum()) {
+            ArrayNode values = node.put("type", "STRING").put("format", "enum").putArray("enum");
+            for (Object constant : type.getEnumConstants()) {
+                values.add(((Enum<?>) constant).name());
+            }
+        } else if (Integer.class == type || int.class == type || Long.class == type || long.class == type) {
+            node.put("type", "INTEGER");
+        } else if (List.class.isAssignableFrom(type)) {
+            Class<?> element = (Class<?>) ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0];
+            if (element != String.class) {
+                throw new IllegalStateException("Unsupported list element type on Question." + field.getName());
+            }
+            node.put("type", "ARRAY").putObject("items").put("type", "STRING");
+        } else if (String.class == type) {
+            node.put("type", "STRING");
+        } else {
+            throw new IllegalStateException("Unsupported field type on Question." + field.getName());
+        }
+        return node;
+    }
+}
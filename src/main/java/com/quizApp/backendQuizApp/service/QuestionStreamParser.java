@@ -0,0 +1,63 @@
+package com.quizApp.backendQuizApp.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Splits the model's JSON text into complete question objects as fragments arrive.
+// Expects {"questions": [ {...}, {...} ]} (or a bare array) and emits each array element's source text.
+class QuestionStreamParser {
+
+    private final StringBuilder buffer = new StringBuilder();
+    private int scanned;
+    private boolean inArray;
+    private int depth;
+    private int objectStart = -1;
+    private boolean inString;
+    private boolean escaped;
+
+    List<String> feed(String fragment) {
+        buffer.append(fragment);
+        List<String> completed = new ArrayList<>();
+        for (; scanned < buffer.length(); scanned++) {
+            char c = buffer.charAt(scanned);
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+                continue;
+            }
+            if (c == '"') {
+                inString = true;
+            } else if (!inArray) {
+                inArray = c == '[';
+            } else if (c == '{') {
+                if (depth++ == 0) {
+                    objectStart = scanned;
+                }
+            } else if (c == '}' && depth > 0) {
+                if (--depth == 0) {
+                    completed.add(buffer.substring(objectStart, scanned + 1));
+                    objectStart = -1;
+                }
+            }
+        }
+        compact();
+        return completed;
+    }
+
+    // Drop text that can no longer be part of a pending object so the buffer stays small
+    private void compact() {
+        int keepFrom = objectStart >= 0 ? objectStart : scanned;
+        if (keepFrom > 0) {
+            buffer.delete(0, keepFrom);
+            scanned -= keepFrom;
+            if (objectStart >= 0) {
+                objectStart = 0;
+            }
+        }
+    }
+}
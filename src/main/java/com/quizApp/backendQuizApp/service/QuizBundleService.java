@@ -0,0 +1,109 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.quizApp.backendQuizApp.config.properties.CacheProperties;
+import com.quizApp.backendQuizApp.config.properties.JwtProperties;
+import com.quizApp.backendQuizApp.dto.quiz.QuizBundle;
+import com.quizApp.backendQuizApp.model.Quiz;
+import com.quizApp.backendQuizApp.repository.QuizRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class QuizBundleService {
+
+    // Bundles are signed with a key derived from the JWT secret, so a bundle signature can never pass as a token
+    private static final String KEY_CONTEXT = "quiz-bundle-v1";
+    private static final String HMAC = "HmacSHA256";
+
+    private final ObjectMapper objectMapper;
+    private final SecretKeySpec signingKey;
+    private final LoadingCache<String, Optional<QuizBundle>> bundles;
+
+    public QuizBundleService(QuizRepository quizRepository, ObjectMapper objectMapper, JwtProperties jwtProperties,
+                             CacheProperties cacheProperties, MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.signingKey = new SecretKeySpec(
+                hmac(new SecretKeySpec(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8), HMAC),
+                        KEY_CONTEXT.getBytes(StandardCharsets.UTF_8)),
+                HMAC);
+        this.bundles = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.getBundle().getMaxSize())
+                .expireAfterAccess(cacheProperties.getBundle().getTtl())
+                .recordStats()
+                .build(quizId -> quizRepository.findById(quizId).map(this::build));
+        CaffeineCacheMetrics.monitor(meterRegistry, bundles, "quizBundles");
+    }
+
+    public QuizBundle getBundle(String quizId) {
+        return bundles.get(quizId).orElseThrow(() -> new IllegalArgumentException("Quiz not found"));
+    }
+
+    // True when the signature belongs to the quiz as it is now; false for unknown quizzes or edited ones
+    public boolean isCurrent(String quizId, String signature) {
+        return findCurrent(quizId, signature).isPresent();
+    }
+
+    // The bundle the signature was issued for, if it still matches the quiz as it is now
+    public Optional<QuizBundle> findCurrent(String quizId, String signature) {
+        return bundles.get(quizId)
+                .filter(bundle -> MessageDigest.isEqual(
+                        bundle.getSignature().getBytes(StandardCharsets.US_ASCII),
+                        signature.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    public void invalidate(String quizId) {
+        bundles.invalidate(quizId);
+    }
+
+    private QuizBundle build(Quiz quiz) {
+        List<QuizBundle.BundleQuestion> questions = quiz.getQuestions() == null ? List.of()
+                : quiz.getQuestions().stream()
+                .map(q -> QuizBundle.BundleQuestion.builder()
+                        .questionText(q.getQuestionText())
+                        .type(q.getType())
+                        .options(q.getOptions())
+                        .points(q.getPoints())
+                        .build())
+                .toList();
+        QuizBundle unsigned = QuizBundle.builder()
+                .quizId(quiz.getId())
+                .title(quiz.getTitle())
+                .topic(quiz.getTopic())
+                .difficulty(quiz.getDifficulty())
+                .timeLimitMinutes(quiz.getTimeLimitMinutes())
+                .totalPoints(quiz.getTotalPoints())
+                .issuedAt(quiz.getUpdatedAt() != null ? quiz.getUpdatedAt() : quiz.getCreatedAt())
+                .questions(questions)
+                .build();
+        try {
+            byte[] payload = objectMapper.writeValueAsBytes(unsigned);
+            return unsigned.withSignature(Base64.getUrlEncoder().withoutPadding().encodeToString(hmac(signingKey, payload)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize quiz bundle", e);
+        }
+    }
+
+    private static byte[] hmac(SecretKeySpec key, byte[] data) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(key);
+            return mac.doFinal(data);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 unavailable", e);
+        }
+    }
+}
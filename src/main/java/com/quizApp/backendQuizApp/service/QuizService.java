@@ -1,26 +1,111 @@
 package com.quizApp.backendQuizApp.service;
 
+import com.quizApp.backendQuizApp.config.properties.GenerationProperties;
+import com.quizApp.backendQuizApp.dto.quiz.CursorPage;
+import com.quizApp.backendQuizApp.dto.quiz.QuizCatalogFilter;
+import com.quizApp.backendQuizApp.dto.quiz.QuizCursor;
 import com.quizApp.backendQuizApp.dto.quiz.QuizGenerationRequest;
+import com.quizApp.backendQuizApp.dto.quiz.QuizSummary;
+import com.quizApp.backendQuizApp.exception.GeminiApiException;
 import com.quizApp.backendQuizApp.model.Question;
 import com.quizApp.backendQuizApp.model.Quiz;
-import com.quizApp.backendQuizApp.model.User;
 import com.quizApp.backendQuizApp.repository.QuizRepository;
+import com.quizApp.backendQuizApp.security.AuthenticatedUser;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.Disposable;
+import reactor.core.scheduler.Schedulers;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class QuizService {
 
     private final QuizRepository quizRepository;
-    private final GeminiAiService geminiAiService;
+    private final QuestionGeneratorRouter questionGeneratorRouter;
+    private final GenerationProperties generationProperties;
+    private final GenerationCacheService generationCacheService;
+    private final UserActivityService userActivityService;
+    private final GenerationAdmission generationAdmission;
+    private final GenerationWarmPool generationWarmPool;
 
-    public Quiz generateQuiz(QuizGenerationRequest request, User creator) {
-        List<Question> questions = geminiAiService.generateQuestions(request);
-        Quiz quiz = Quiz.builder()
+    public Quiz generateQuiz(QuizGenerationRequest request, AuthenticatedUser creator) {
+        generationAdmission.admitUser(creator.getId());
+        return generate(request, creator);
+    }
+
+    // Background jobs are charged against the user's rate limit when submitted, not when they run.
+    // A pre-generated set for a popular key answers without waiting on the model.
+    Quiz generate(QuizGenerationRequest request, AuthenticatedUser creator) {
+        GenerationKey key = GenerationKey.of(request);
+        List<Question> questions = generationWarmPool.take(key)
+                .orElseGet(() -> generationCacheService.getOrGenerate(key,
+                        () -> questionGeneratorRouter.generateQuestions(request)));
+        return save(buildQuiz(request, creator, questions));
+    }
+
+    // Pushes a "question" event per validated question, then persists the quiz and sends "completed".
+    // Signals are moved off the HTTP client's event loop: SSE writes and the final Mongo save both block.
+    public SseEmitter streamQuiz(QuizGenerationRequest request, AuthenticatedUser creator) {
+        generationAdmission.admitUser(creator.getId());
+        SseEmitter emitter = new SseEmitter(generationProperties.getJobs().getSseTimeout().toMillis());
+        List<Question> questions = new ArrayList<>();
+        Disposable subscription = questionGeneratorRouter.streamQuestions(request)
+                .publishOn(Schedulers.boundedElastic())
+                .subscribe(
+                        question -> {
+                            questions.add(question);
+                            send(emitter, "question", Map.of("index", questions.size() - 1, "question", question));
+                        },
+                        error -> {
+                            log.warn("Streaming generation failed: {}", error.getMessage());
+                            send(emitter, "error", Map.of("message", String.valueOf(error.getMessage())));
+                            emitter.complete();
+                        },
+                        () -> {
+                            try {
+                                if (questions.isEmpty()) {
+                                    throw new GeminiApiException("No questions generated in the response");
+                                }
+                                Quiz quiz = save(buildQuiz(request, creator, questions));
+                                send(emitter, "completed", quiz);
+                            } catch (RuntimeException e) {
+                                log.warn("Failed to persist streamed quiz: {}", e.getMessage());
+                                send(emitter, "error", Map.of("message", String.valueOf(e.getMessage())));
+                            }
+                            emitter.complete();
+                        });
+        // Client went away: stop consuming the upstream stream
+        emitter.onTimeout(subscription::dispose);
+        emitter.onError(e -> subscription.dispose());
+        return emitter;
+    }
+
+    private void send(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping {} event for closed stream: {}", name, e.getMessage());
+        }
+    }
+
+    private Quiz save(Quiz quiz) {
+        Quiz saved = quizRepository.save(quiz);
+        userActivityService.recordCreated(saved);
+        return saved;
+    }
+
+    private Quiz buildQuiz(QuizGenerationRequest request, AuthenticatedUser creator, List<Question> questions) {
+        return Quiz.builder()
                 .title("AI Quiz on " + request.getTopic())
                 .description("Auto-generated quiz for topic: " + request.getTopic())
                 .topic(request.getTopic())
@@ -41,18 +126,29 @@ public class QuizService {
                 .totalQuestions(questions != null ? questions.size() : 0)
                 .totalPoints(questions != null ? questions.stream().mapToInt(q -> q.getPoints() == null ? 1 : q.getPoints()).sum() : 0)
                 .build();
-        return quizRepository.save(quiz);
     }
 
-    public List<Quiz> listPublicQuizzes() {
-        return quizRepository.findByIsPublicTrue();
+    public CursorPage<QuizSummary> listPublicQuizzes(QuizCatalogFilter filter) {
+        return page(Criteria.where("isPublic").is(true), filter);
     }
 
     public Quiz getQuiz(String id) {
         return quizRepository.findById(id).orElse(null);
     }
 
-    public List<Quiz> getMyQuizzes(String userId) {
-        return quizRepository.findByCreatorId(userId);
+    public CursorPage<QuizSummary> getMyQuizzes(String userId, QuizCatalogFilter filter) {
+        return page(Criteria.where("creatorId").is(userId), filter);
+    }
+
+    private CursorPage<QuizSummary> page(Criteria scope, QuizCatalogFilter filter) {
+        int limit = filter.getLimit();
+        // One extra row tells us whether another page exists without a count query
+        List<QuizSummary> rows = quizRepository.findSummaries(scope, filter, limit + 1);
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<QuizSummary> items = rows.subList(0, limit);
+        QuizSummary last = items.get(limit - 1);
+        return new CursorPage<>(items, new QuizCursor(last.getCreatedAt(), last.getId()).encode());
     }
 }
@@ -0,0 +1,90 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.quizApp.backendQuizApp.dto.quiz.ScoreDistribution;
+import com.quizApp.backendQuizApp.model.QuizAttempt;
+import com.quizApp.backendQuizApp.model.ScoreHistogram;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScoreDistributionService {
+
+    private final MongoTemplate mongoTemplate;
+
+    // Records the attempt and returns the share of other takers it beat, all in one findAndModify
+    public Double record(QuizAttempt attempt) {
+        int scoreBucket = ScoreHistogram.scoreBucket(attempt.getScorePercentage());
+        try {
+            ScoreHistogram histogram = mongoTemplate.findAndModify(
+                    Query.query(Criteria.where("_id").is(attempt.getQuizId())),
+                    increment(attempt),
+                    FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    ScoreHistogram.class);
+            return histogram != null ? percentileRank(histogram, scoreBucket) : null;
+        } catch (RuntimeException e) {
+            log.warn("Failed to update score histogram for quiz {}: {}", attempt.getQuizId(), e.getMessage());
+            return null;
+        }
+    }
+
+    // Bulk variant for batch uploads: one unordered bulkWrite, no percentile ranks
+    public void recordAll(List<QuizAttempt> attempts) {
+        BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ScoreHistogram.class);
+        for (QuizAttempt attempt : attempts) {
+            ops.upsert(Query.query(Criteria.where("_id").is(attempt.getQuizId())), increment(attempt));
+        }
+        try {
+            ops.execute();
+        } catch (RuntimeException e) {
+            log.warn("Failed to update score histograms for {} attempts: {}", attempts.size(), e.getMessage());
+        }
+    }
+
+    public ScoreDistribution getDistribution(String quizId) {
+        ScoreHistogram histogram = mongoTemplate.findById(quizId, ScoreHistogram.class);
+        if (histogram == null) {
+            histogram = ScoreHistogram.builder().id(quizId).total(0L).build();
+        }
+        return ScoreDistribution.builder()
+                .quizId(quizId)
+                .totalAttempts(histogram.getTotal() == null ? 0 : histogram.getTotal())
+                .scoreCounts(histogram.scoreCounts())
+                .timeBucketUpperBoundsSeconds(Arrays.copyOf(ScoreHistogram.TIME_BUCKET_UPPER_BOUNDS_SECONDS,
+                        ScoreHistogram.TIME_BUCKET_UPPER_BOUNDS_SECONDS.length))
+                .timeCounts(histogram.timeCounts())
+                .build();
+    }
+
+    private static Update increment(QuizAttempt attempt) {
+        return new Update()
+                .inc("total", 1)
+                .inc("scoreBuckets." + ScoreHistogram.scoreBucket(attempt.getScorePercentage()), 1)
+                .inc("timeBuckets." + ScoreHistogram.timeBucket(attempt.getTimeTakenSeconds()), 1);
+    }
+
+    // Percentage of the other attempts that landed in a lower score bucket; null when nobody else has taken the quiz
+    private Double percentileRank(ScoreHistogram histogram, int scoreBucket) {
+        long others = (histogram.getTotal() == null ? 0 : histogram.getTotal()) - 1;
+        if (others <= 0) {
+            return null;
+        }
+        long[] counts = histogram.scoreCounts();
+        long below = 0;
+        for (int i = 0; i < scoreBucket; i++) {
+            below += counts[i];
+        }
+        return below * 100.0 / others;
+    }
+}
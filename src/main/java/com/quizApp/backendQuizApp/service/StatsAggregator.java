@@ -0,0 +1,168 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.quizApp.backendQuizApp.config.properties.StatsProperties;
+import com.quizApp.backendQuizApp.repository.QuizRepository;
+import com.quizApp.backendQuizApp.repository.StatsDelta;
+import com.quizApp.backendQuizApp.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Write-behind aggregation of per-quiz and per-user attempt statistics.
+// Submissions only touch striped adders; a scheduled flush turns the accumulated deltas into one bulkWrite per collection.
+@Slf4j
+@Service
+public class StatsAggregator {
+
+    // Entries that stay empty for this many flushes are dropped from the maps
+    private static final int IDLE_FLUSHES_BEFORE_EVICTION = 12;
+
+    private final QuizRepository quizRepository;
+    private final UserRepository userRepository;
+    private final StatsProperties statsProperties;
+    private final Map<String, Delta> quizDeltas = new ConcurrentHashMap<>();
+    private final Map<String, Delta> userDeltas = new ConcurrentHashMap<>();
+    // Epoch millis of the oldest delta not yet flushed, 0 when nothing is pending
+    private final AtomicLong oldestPendingAt = new AtomicLong();
+    private final Timer flushTimer;
+
+    public StatsAggregator(QuizRepository quizRepository, UserRepository userRepository,
+                           StatsProperties statsProperties, MeterRegistry meterRegistry) {
+        this.quizRepository = quizRepository;
+        this.userRepository = userRepository;
+        this.statsProperties = statsProperties;
+        this.flushTimer = Timer.builder("stats.writebehind.flush").register(meterRegistry);
+        Gauge.builder("stats.writebehind.pending", this, a -> a.pendingKeys(a.quizDeltas) + a.pendingKeys(a.userDeltas))
+                .register(meterRegistry);
+        Gauge.builder("stats.writebehind.lag.ms", this, StatsAggregator::lagMillis).register(meterRegistry);
+    }
+
+    public void recordAttempt(String quizId, String userId, double scorePercentage, int earnedPoints) {
+        if (!statsProperties.isWriteBehind()) {
+            quizRepository.recordAttempt(quizId, scorePercentage);
+            userRepository.applyStats(List.of(new StatsDelta(userId, 1, scorePercentage, earnedPoints)));
+            return;
+        }
+        oldestPendingAt.compareAndSet(0, System.currentTimeMillis());
+        add(quizDeltas, quizId, 1, scorePercentage, 0);
+        add(userDeltas, userId, 1, scorePercentage, earnedPoints);
+    }
+
+    // Counters are only ever $inc'ed, so documents that predate scoreSum get it reconstructed from their stored average
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillScoreSums() {
+        Thread.ofVirtual().name("stats-backfill").start(() -> {
+            try {
+                long quizzes = quizRepository.backfillScoreSums();
+                long users = userRepository.backfillScoreSums();
+                if (quizzes + users > 0) {
+                    log.info("Backfilled scoreSum on {} quizzes and {} users", quizzes, users);
+                }
+            } catch (RuntimeException e) {
+                log.error("scoreSum backfill failed: {}", e.getMessage());
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.stats.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        oldestPendingAt.set(0);
+        flushTimer.record(() -> {
+            flush(quizDeltas, quizRepository::applyStats);
+            flush(userDeltas, userRepository::applyStats);
+        });
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        log.info("Flushing pending attempt statistics before shutdown");
+        flush();
+    }
+
+    private void flush(Map<String, Delta> deltas, Consumer<List<StatsDelta>> writer) {
+        List<StatsDelta> batch = drain(deltas);
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            writer.accept(batch);
+        } catch (RuntimeException e) {
+            log.error("Failed to flush {} statistics deltas, keeping them for the next run: {}", batch.size(), e.getMessage());
+            oldestPendingAt.compareAndSet(0, System.currentTimeMillis());
+            batch.forEach(d -> add(deltas, d.getId(), d.getAttempts(), d.getScoreSum(), d.getPoints()));
+        }
+    }
+
+    private void add(Map<String, Delta> deltas, String key, long attempts, double score, long points) {
+        Delta delta = deltas.computeIfAbsent(key, k -> new Delta());
+        delta.attempts.add(attempts);
+        delta.scoreSum.add(score);
+        delta.points.add(points);
+        if (deltas.get(key) != delta) {
+            // The flusher evicted this entry while we were adding; move whatever it did not drain to the live entry
+            long leftAttempts = delta.attempts.sumThenReset();
+            double leftScore = delta.scoreSum.sumThenReset();
+            long leftPoints = delta.points.sumThenReset();
+            if (leftAttempts != 0 || leftScore != 0 || leftPoints != 0) {
+                add(deltas, key, leftAttempts, leftScore, leftPoints);
+            }
+        }
+    }
+
+    private List<StatsDelta> drain(Map<String, Delta> deltas) {
+        List<StatsDelta> batch = new ArrayList<>();
+        deltas.forEach((key, delta) -> {
+            drainInto(batch, key, delta);
+            if (delta.idleFlushes >= IDLE_FLUSHES_BEFORE_EVICTION && deltas.remove(key, delta)) {
+                // Catch adds that raced with the removal; later ones are migrated by the writer itself
+                drainInto(batch, key, delta);
+            }
+        });
+        return batch;
+    }
+
+    private void drainInto(List<StatsDelta> batch, String key, Delta delta) {
+        long attempts = delta.attempts.sumThenReset();
+        double scoreSum = delta.scoreSum.sumThenReset();
+        long points = delta.points.sumThenReset();
+        if (attempts == 0 && scoreSum == 0 && points == 0) {
+            delta.idleFlushes++;
+            return;
+        }
+        // A submission racing with the drain may land its fields in different batches; totals still converge
+        delta.idleFlushes = 0;
+        batch.add(new StatsDelta(key, attempts, scoreSum, points));
+    }
+
+    private long pendingKeys(Map<String, Delta> deltas) {
+        return deltas.values().stream().filter(d -> d.attempts.sum() > 0).count();
+    }
+
+    private double lagMillis() {
+        long since = oldestPendingAt.get();
+        return since == 0 ? 0 : System.currentTimeMillis() - since;
+    }
+
+    private static final class Delta {
+        private final LongAdder attempts = new LongAdder();
+        private final DoubleAdder scoreSum = new DoubleAdder();
+        private final LongAdder points = new LongAdder();
+        // Only touched by the single flushing thread
+        private int idleFlushes;
+    }
+}
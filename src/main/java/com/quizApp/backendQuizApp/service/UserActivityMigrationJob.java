@@ -0,0 +1,165 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.quizApp.backendQuizApp.config.properties.ActivityProperties;
+import com.quizApp.backendQuizApp.model.Quiz;
+import com.quizApp.backendQuizApp.model.QuizAttempt;
+import com.quizApp.backendQuizApp.model.User;
+import com.quizApp.backendQuizApp.model.UserActivityBucket;
+import com.quizApp.backendQuizApp.repository.UserActivityRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// One-off migration of the createdQuizIds/attemptedQuizIds sets users used to carry into user_activity buckets.
+// Walks the legacy documents in _id order and unsets the sets only after their entries are written; entries
+// already present are skipped, so an interrupted run can simply be restarted.
+@Slf4j
+@Component
+public class UserActivityMigrationJob {
+
+    static final String CREATED_QUIZ_IDS = "createdQuizIds";
+    static final String ATTEMPTED_QUIZ_IDS = "attemptedQuizIds";
+
+    private final MongoTemplate mongoTemplate;
+    private final UserActivityRepository activityRepository;
+    private final ActivityProperties activityProperties;
+    private final Counter migrated;
+    private final Counter skipped;
+
+    public UserActivityMigrationJob(MongoTemplate mongoTemplate, UserActivityRepository activityRepository,
+                                    ActivityProperties activityProperties, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.activityRepository = activityRepository;
+        this.activityProperties = activityProperties;
+        this.migrated = Counter.builder("users.activity.migration").tag("result", "migrated").register(meterRegistry);
+        this.skipped = Counter.builder("users.activity.migration").tag("result", "skipped").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startIfEnabled() {
+        if (activityProperties.getMigration().isEnabled()) {
+            Thread.ofVirtual().name("user-activity-migration").start(this::run);
+        }
+    }
+
+    public void run() {
+        int batchSize = activityProperties.getMigration().getBatchSize();
+        String collection = mongoTemplate.getCollectionName(User.class);
+        Object lastId = null;
+        long total = 0;
+        try {
+            while (true) {
+                Criteria criteria = new Criteria().orOperator(
+                        Criteria.where(CREATED_QUIZ_IDS).exists(true),
+                        Criteria.where(ATTEMPTED_QUIZ_IDS).exists(true));
+                if (lastId != null) {
+                    criteria.and("_id").gt(lastId);
+                }
+                Query query = Query.query(criteria)
+                        .with(Sort.by(Sort.Direction.ASC, "_id"))
+                        .limit(batchSize);
+                query.fields().include(CREATED_QUIZ_IDS, ATTEMPTED_QUIZ_IDS);
+                List<Document> batch = mongoTemplate.find(query, Document.class, collection);
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (Document user : batch) {
+                    migrate(user, collection);
+                    total++;
+                }
+                lastId = batch.get(batch.size() - 1).get("_id");
+            }
+            log.info("User activity migration finished, {} users migrated", total);
+        } catch (RuntimeException e) {
+            log.error("User activity migration stopped after {} users: {}", total, e.getMessage());
+        }
+    }
+
+    private void migrate(Document user, String collection) {
+        Object id = user.get("_id");
+        String userId = id.toString();
+        List<String> created = quizIds(user, CREATED_QUIZ_IDS);
+        if (!created.isEmpty()) {
+            activityRepository.appendHistory(userId, UserActivityBucket.ActivityType.CREATED,
+                    createdEntries(userId, created));
+        }
+        List<String> attempted = quizIds(user, ATTEMPTED_QUIZ_IDS);
+        if (!attempted.isEmpty()) {
+            activityRepository.appendHistory(userId, UserActivityBucket.ActivityType.ATTEMPTED,
+                    attemptedEntries(userId, attempted));
+        }
+        mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(id)),
+                new Update().unset(CREATED_QUIZ_IDS).unset(ATTEMPTED_QUIZ_IDS), collection);
+        migrated.increment();
+    }
+
+    private List<UserActivityBucket.Entry> createdEntries(String userId, List<String> quizIds) {
+        Set<String> recorded = activityRepository.findEntryIds(userId, UserActivityBucket.ActivityType.CREATED);
+        Query query = Query.query(Criteria.where("id").in(quizIds));
+        query.fields().include("title", "createdAt");
+        List<UserActivityBucket.Entry> entries = new ArrayList<>();
+        Set<String> covered = new HashSet<>();
+        for (Quiz quiz : mongoTemplate.find(query, Quiz.class)) {
+            covered.add(quiz.getId());
+            if (recorded.contains(quiz.getId()) || quiz.getCreatedAt() == null) {
+                continue;
+            }
+            entries.add(UserActivityBucket.Entry.builder()
+                    .entryId(quiz.getId())
+                    .quizId(quiz.getId())
+                    .quizTitle(quiz.getTitle())
+                    .at(quiz.getCreatedAt())
+                    .build());
+        }
+        // Deleted quizzes leave nothing to show beyond the id
+        skipped.increment(quizIds.size() - covered.size());
+        return entries;
+    }
+
+    // The sets only kept quiz ids; the attempts themselves still hold the score and timestamp
+    private List<UserActivityBucket.Entry> attemptedEntries(String userId, List<String> quizIds) {
+        Set<String> recorded = activityRepository.findEntryIds(userId, UserActivityBucket.ActivityType.ATTEMPTED);
+        Query query = Query.query(Criteria.where("userId").is(userId).and("quizId").in(quizIds));
+        query.fields().include("quizId", "quizTitle", "scorePercentage", "createdAt", "completedAt");
+        List<UserActivityBucket.Entry> entries = new ArrayList<>();
+        Set<String> covered = new HashSet<>();
+        for (QuizAttempt attempt : mongoTemplate.find(query, QuizAttempt.class)) {
+            covered.add(attempt.getQuizId());
+            LocalDateTime at = attempt.getCreatedAt() != null ? attempt.getCreatedAt() : attempt.getCompletedAt();
+            if (recorded.contains(attempt.getId()) || at == null) {
+                continue;
+            }
+            entries.add(UserActivityBucket.Entry.builder()
+                    .entryId(attempt.getId())
+                    .quizId(attempt.getQuizId())
+                    .quizTitle(attempt.getQuizTitle())
+                    .attemptId(attempt.getId())
+                    .scorePercentage(attempt.getScorePercentage())
+                    .at(at)
+                    .build());
+        }
+        // As do quizzes whose attempts were deleted along with them
+        skipped.increment(quizIds.size() - covered.size());
+        return entries;
+    }
+
+    private static List<String> quizIds(Document user, String field) {
+        List<String> ids = user.getList(field, String.class);
+        return ids != null ? new ArrayList<>(new HashSet<>(ids)) : List.of();
+    }
+}
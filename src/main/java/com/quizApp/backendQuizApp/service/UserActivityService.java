@@ -0,0 +1,70 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.quizApp.backendQuizApp.dto.quiz.CursorPage;
+import com.quizApp.backendQuizApp.dto.quiz.QuizCursor;
+import com.quizApp.backendQuizApp.dto.user.ActivityFilter;
+import com.quizApp.backendQuizApp.model.Quiz;
+import com.quizApp.backendQuizApp.model.QuizAttempt;
+import com.quizApp.backendQuizApp.model.UserActivityBucket;
+import com.quizApp.backendQuizApp.repository.UserActivityRepository;
+import com.quizApp.backendQuizApp.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserActivityService {
+
+    private final UserActivityRepository activityRepository;
+    private final UserRepository userRepository;
+
+    public void recordCreated(Quiz quiz) {
+        try {
+            activityRepository.append(quiz.getCreatorId(), UserActivityBucket.ActivityType.CREATED,
+                    UserActivityBucket.Entry.builder()
+                            .entryId(quiz.getId())
+                            .quizId(quiz.getId())
+                            .quizTitle(quiz.getTitle())
+                            .at(quiz.getCreatedAt() != null ? quiz.getCreatedAt() : LocalDateTime.now())
+                            .build());
+            userRepository.incrementQuizzesCreated(quiz.getCreatorId());
+        } catch (RuntimeException e) {
+            log.warn("Failed to record quiz {} in creator activity: {}", quiz.getId(), e.getMessage());
+        }
+    }
+
+    // Attempt counters and average score are maintained by StatsAggregator; this only records history
+    public void recordAttempt(QuizAttempt attempt) {
+        try {
+            activityRepository.append(attempt.getUserId(), UserActivityBucket.ActivityType.ATTEMPTED,
+                    UserActivityBucket.Entry.builder()
+                            .entryId(attempt.getId())
+                            .quizId(attempt.getQuizId())
+                            .quizTitle(attempt.getQuizTitle())
+                            .attemptId(attempt.getId())
+                            .scorePercentage(attempt.getScorePercentage())
+                            .at(attempt.getCreatedAt())
+                            .build());
+        } catch (RuntimeException e) {
+            log.warn("Failed to record attempt {} in user activity: {}", attempt.getId(), e.getMessage());
+        }
+    }
+
+    public CursorPage<UserActivityBucket.Entry> getActivity(String userId, ActivityFilter filter) {
+        QuizCursor after = filter.getCursor() != null ? QuizCursor.decode(filter.getCursor()) : null;
+        List<UserActivityBucket.Entry> entries = activityRepository.findEntries(userId, filter.getType(), after,
+                filter.getLimit() + 1);
+        String next = null;
+        if (entries.size() > filter.getLimit()) {
+            entries = entries.subList(0, filter.getLimit());
+            UserActivityBucket.Entry last = entries.get(entries.size() - 1);
+            next = new QuizCursor(last.getAt(), last.getEntryId()).encode();
+        }
+        return new CursorPage<>(entries, next);
+    }
+}
@@ -0,0 +1,42 @@
+package com.quizApp.backendQuizApp.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+// Minimal harness for the @Tag("benchmark") tests (mvn test -Pbenchmarks): warm-up rounds, then timed rounds whose
+// per-operation latency and heap allocation are averaged. Results are consumed into a sink so the JIT cannot drop them.
+public final class MicroBenchmark {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static volatile Object sink;
+
+    private MicroBenchmark() {
+    }
+
+    public record Result(String name, double nanosPerOp, double bytesPerOp) {
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-40s %12.1f ns/op %12.0f B/op", name, nanosPerOp, bytesPerOp);
+        }
+    }
+
+    public static Result run(String name, int warmupOps, int measuredOps, Supplier<?> op) {
+        for (int i = 0; i < warmupOps; i++) {
+            sink = op.get();
+        }
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < measuredOps; i++) {
+            sink = op.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        Result result = new Result(name, (double) elapsed / measuredOps, (double) allocated / measuredOps);
+        System.out.println(result);
+        return result;
+    }
+}
@@ -0,0 +1,151 @@
+package com.quizApp.backendQuizApp.config;
+
+import com.quizApp.backendQuizApp.config.properties.GeminiProperties;
+import com.quizApp.backendQuizApp.exception.CircuitOpenException;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Runs the filter against a local stub server whose responses (status + latency) are scripted per request
+class GeminiResilienceFilterTest {
+
+    private record Scripted(int status, long delayMillis) {
+    }
+
+    private final Queue<Scripted> script = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger hits = new AtomicInteger();
+    private HttpServer server;
+    private GeminiProperties properties;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            hits.incrementAndGet();
+            Scripted next = script.poll();
+            Scripted response = next != null ? next : new Scripted(200, 0);
+            try {
+                Thread.sleep(response.delayMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = ("{\"status\":" + response.status() + "}").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(response.status(), body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            } catch (IOException ignored) {
+                // hedge loser: client already went away
+            }
+        });
+        server.start();
+
+        properties = new GeminiProperties();
+        GeminiProperties.Resilience resilience = properties.getResilience();
+        resilience.setInitialBackoff(Duration.ofMillis(10));
+        resilience.setMaxBackoff(Duration.ofMillis(20));
+        resilience.setAttemptTimeout(Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    private WebClient client(GeminiResilienceFilter filter) {
+        return WebClient.builder()
+                .baseUrl("http://localhost:" + server.getAddress().getPort())
+                .filter(filter)
+                .build();
+    }
+
+    private String call(WebClient client) {
+        return call(client, "test");
+    }
+
+    private String call(WebClient client, String model) {
+        return client.post().uri("/models/" + model + ":generateContent").retrieve().bodyToMono(String.class).block();
+    }
+
+    @Test
+    void retriesTransientFailuresWithBackoff() {
+        script.add(new Scripted(503, 0));
+        script.add(new Scripted(502, 0));
+        GeminiResilienceFilter filter = new GeminiResilienceFilter(properties, new SimpleMeterRegistry());
+
+        assertThat(call(client(filter))).contains("200");
+        assertThat(hits.get()).isEqualTo(3);
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        script.add(new Scripted(400, 0));
+        GeminiResilienceFilter filter = new GeminiResilienceFilter(properties, new SimpleMeterRegistry());
+
+        assertThatThrownBy(() -> call(client(filter))).hasMessageContaining("400");
+        assertThat(hits.get()).isEqualTo(1);
+    }
+
+    @Test
+    void opensCircuitAndFailsFastWhileUpstreamIsUnhealthy() {
+        properties.getResilience().setMaxAttempts(1);
+        GeminiProperties.CircuitBreaker breaker = properties.getResilience().getCircuitBreaker();
+        breaker.setMinimumCalls(4);
+        breaker.setWindowSize(4);
+        breaker.setOpenDuration(Duration.ofMinutes(1));
+        for (int i = 0; i < 4; i++) {
+            script.add(new Scripted(500, 0));
+        }
+        GeminiResilienceFilter filter = new GeminiResilienceFilter(properties, new SimpleMeterRegistry());
+        WebClient client = client(filter);
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> call(client));
+        }
+        assertThat(filter.circuitState("test")).isEqualTo(CircuitBreaker.State.OPEN);
+
+        assertThatThrownBy(() -> call(client))
+                .isInstanceOf(CircuitOpenException.class)
+                .satisfies(e -> assertThat(((CircuitOpenException) e).getModel()).isEqualTo("test"));
+        assertThat(hits.get()).isEqualTo(4);
+
+        // Breakers are per model: another model behind the same client is unaffected
+        assertThat(call(client, "other")).contains("200");
+        assertThat(filter.circuitState("other")).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void hedgeAnswersBeforeSlowPrimary() {
+        properties.getResilience().getHedging().setEnabled(true);
+        properties.getResilience().getHedging().setInitialDelay(Duration.ofMillis(100));
+        GeminiResilienceFilter filter = new GeminiResilienceFilter(properties, new SimpleMeterRegistry());
+        WebClient client = client(filter);
+        // Warm up the connector so its startup cost does not count against the hedge
+        call(client);
+        hits.set(0);
+        script.add(new Scripted(200, 3_000));
+        script.add(new Scripted(200, 0));
+
+        long start = System.nanoTime();
+        assertThat(call(client)).contains("200");
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(2_000));
+        assertThat(hits.get()).isEqualTo(2);
+    }
+}
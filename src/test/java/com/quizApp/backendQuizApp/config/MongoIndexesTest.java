@@ -0,0 +1,66 @@
+package com.quizApp.backendQuizApp.config;
+
+import com.quizApp.backendQuizApp.config.properties.GenerationProperties;
+import com.quizApp.backendQuizApp.model.GenerationJob;
+import com.quizApp.backendQuizApp.model.Quiz;
+import com.quizApp.backendQuizApp.model.QuizAttempt;
+import com.quizApp.backendQuizApp.model.UserActivityBucket;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MongoIndexesTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+
+    @Test
+    void createsDeclaredIndexesThatAutoIndexCreationWouldSkip() {
+        IndexOperations quizIndexes = indexOps(Quiz.class);
+        IndexOperations attemptIndexes = indexOps(QuizAttempt.class);
+        IndexOperations activityIndexes = indexOps(UserActivityBucket.class);
+        IndexOperations jobIndexes = indexOps(GenerationJob.class);
+        when(mongoTemplate.indexOps(any(Class.class))).thenReturn(mock(IndexOperations.class));
+        when(mongoTemplate.indexOps(Quiz.class)).thenReturn(quizIndexes);
+        when(mongoTemplate.indexOps(QuizAttempt.class)).thenReturn(attemptIndexes);
+        when(mongoTemplate.indexOps(UserActivityBucket.class)).thenReturn(activityIndexes);
+        when(mongoTemplate.indexOps(GenerationJob.class)).thenReturn(jobIndexes);
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(new MongoCustomConversions(List.of()).getSimpleTypeHolder());
+        when(mongoTemplate.getConverter()).thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext));
+
+        new MongoIndexes(mongoTemplate, new GenerationProperties()).ensure();
+
+        assertThat(names(quizIndexes)).contains("public_catalog", "public_topic", "public_difficulty",
+                "public_category", "creator_catalog");
+        assertThat(names(attemptIndexes)).contains("quiz_created");
+        assertThat(names(activityIndexes)).contains("user_type_first");
+        ArgumentCaptor<IndexDefinition> ttl = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(jobIndexes).ensureIndex(ttl.capture());
+        assertThat(ttl.getValue().getIndexOptions().get("expireAfterSeconds")).isEqualTo(86_400L);
+    }
+
+    private List<Object> names(IndexOperations indexOperations) {
+        ArgumentCaptor<IndexDefinition> created = ArgumentCaptor.forClass(IndexDefinition.class);
+        verify(indexOperations, atLeastOnce()).ensureIndex(created.capture());
+        return created.getAllValues().stream().map(index -> index.getIndexOptions().get("name")).toList();
+    }
+
+    private static IndexOperations indexOps(Class<?> entity) {
+        return mock(IndexOperations.class, entity.getSimpleName() + "Indexes");
+    }
+}
@@ -0,0 +1,35 @@
+package com.quizApp.backendQuizApp.dto.quiz;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QuizCursorTest {
+
+    @Test
+    void roundTripsThroughItsOpaqueForm() {
+        QuizCursor cursor = new QuizCursor(LocalDateTime.of(2026, 3, 1, 12, 30, 5, 123_000_000), "65f1c2a9e4b0a1b2c3d4e5f6");
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded).doesNotContain("|", "=", "+", "/");
+        assertThat(QuizCursor.decode(encoded)).isEqualTo(cursor);
+    }
+
+    @Test
+    void rejectsCursorsItDidNotIssue() {
+        String noSeparator = Base64.getUrlEncoder().encodeToString("2026-03-01T12:30".getBytes(StandardCharsets.UTF_8));
+        String badDate = Base64.getUrlEncoder().encodeToString("yesterday|abc".getBytes(StandardCharsets.UTF_8));
+
+        for (String cursor : new String[]{"not base64!", noSeparator, badDate}) {
+            assertThatThrownBy(() -> QuizCursor.decode(cursor))
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Invalid cursor");
+        }
+    }
+}
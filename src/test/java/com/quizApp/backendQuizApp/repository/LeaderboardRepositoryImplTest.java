@@ -0,0 +1,99 @@
+package com.quizApp.backendQuizApp.repository;
+
+import com.mongodb.client.result.UpdateResult;
+import com.quizApp.backendQuizApp.model.Leaderboard;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LeaderboardRepositoryImplTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final LeaderboardRepositoryImpl repository = new LeaderboardRepositoryImpl(mongoTemplate);
+
+    @Test
+    void firstOfferThatLosesTheBoardCreationRaceIsPushedIntoTheWinnersBoard() {
+        // Another user's first offer created the board between our match and our insert
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(Leaderboard.class)))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error collection: leaderboards"));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Leaderboard.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        repository.offer("quiz", entry("a2", "bob", 70), 10);
+
+        // One plain push that matched; no pull was needed
+        verify(mongoTemplate, times(1)).updateFirst(any(Query.class), any(Update.class), eq(Leaderboard.class));
+    }
+
+    @Test
+    void listedUserWithABetterEntryEndsAfterAPlainPushAndAnEmptyPull() {
+        when(mongoTemplate.upsert(any(Query.class), any(Update.class), eq(Leaderboard.class)))
+                .thenThrow(new DuplicateKeyException("E11000 duplicate key error collection: leaderboards"));
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Leaderboard.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        repository.offer("quiz", entry("a2", "ann", 40), 10);
+
+        // Upsert raced, plain push found ann listed, pull removed nothing: no further rounds
+        verify(mongoTemplate, times(1)).upsert(any(Query.class), any(Update.class), eq(Leaderboard.class));
+        verify(mongoTemplate, times(2)).updateFirst(any(Query.class), any(Update.class), eq(Leaderboard.class));
+    }
+
+    @Test
+    void concurrentFirstOffersForDifferentUsersAreAllListed() throws Exception {
+        try (LiveMongo mongo = LiveMongo.connect("quiz_leaderboard_test");
+             ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            LeaderboardRepositoryImpl live = new LeaderboardRepositoryImpl(mongo.template());
+            for (int quiz = 0; quiz < 50; quiz++) {
+                String quizId = "quiz-" + quiz;
+                CyclicBarrier start = new CyclicBarrier(2);
+                List<CompletableFuture<Void>> offers = new ArrayList<>();
+                for (String user : List.of("ann", "bob")) {
+                    offers.add(CompletableFuture.runAsync(() -> {
+                        await(start);
+                        live.offer(quizId, entry(user + "-attempt", user, 50), 10);
+                    }, executor));
+                }
+                offers.forEach(CompletableFuture::join);
+
+                assertThat(mongo.template().findById(quizId, Leaderboard.class).getEntries())
+                        .extracting(Leaderboard.Entry::getUserId)
+                        .containsExactlyInAnyOrder("ann", "bob");
+            }
+        }
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Leaderboard.Entry entry(String attemptId, String userId, double score) {
+        return Leaderboard.Entry.builder()
+                .attemptId(attemptId)
+                .userId(userId)
+                .scorePercentage(score)
+                .timeTakenSeconds(60L)
+                .build();
+    }
+}
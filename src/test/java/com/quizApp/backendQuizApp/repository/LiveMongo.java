@@ -0,0 +1,53 @@
+package com.quizApp.backendQuizApp.repository;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.junit.jupiter.api.Assumptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+// Throwaway database on the MongoDB at MONGO_URI, for tests that need real server semantics (atomic updates, unique
+// _id races). Aborts the calling test, which JUnit reports as skipped, when no server is reachable.
+final class LiveMongo implements AutoCloseable {
+
+    private final MongoClient client;
+    private final MongoTemplate template;
+
+    private LiveMongo(MongoClient client, MongoTemplate template) {
+        this.client = client;
+        this.template = template;
+    }
+
+    static LiveMongo connect(String database) {
+        String uri = System.getenv().getOrDefault("MONGO_URI", "mongodb://localhost:27017");
+        MongoClient client = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(uri))
+                .applyToClusterSettings(cluster -> cluster.serverSelectionTimeout(2, TimeUnit.SECONDS))
+                .build());
+        MongoTemplate template = new MongoTemplate(client, database);
+        try {
+            template.executeCommand("{ ping: 1 }");
+        } catch (RuntimeException e) {
+            client.close();
+            Assumptions.abort("No MongoDB reachable at " + uri);
+        }
+        template.getDb().drop();
+        return new LiveMongo(client, template);
+    }
+
+    MongoTemplate template() {
+        return template;
+    }
+
+    @Override
+    public void close() {
+        try {
+            template.getDb().drop();
+        } finally {
+            client.close();
+        }
+    }
+}
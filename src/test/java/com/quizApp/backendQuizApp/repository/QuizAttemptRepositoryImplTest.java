@@ -0,0 +1,56 @@
+package com.quizApp.backendQuizApp.repository;
+
+import com.quizApp.backendQuizApp.model.QuizAttempt;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QuizAttemptRepositoryImplTest {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private static final LocalDateTime TO = LocalDateTime.of(2026, 2, 1, 0, 0);
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final QuizAttemptRepositoryImpl repository = new QuizAttemptRepositoryImpl(mongoTemplate);
+
+    @Test
+    void boundsAreFromInclusiveToExclusiveAndOnlyRequestedFieldsAreRead() {
+        Query query = stream(FROM, TO, List.of("username", "scorePercentage"));
+
+        assertThat(query.getQueryObject()).isEqualTo(new Document("quizId", "q1")
+                .append("createdAt", new Document("$gte", FROM).append("$lt", TO)));
+        assertThat(query.getSortObject()).isEqualTo(new Document("createdAt", 1));
+        assertThat(query.getFieldsObject()).isEqualTo(new Document("username", 1).append("scorePercentage", 1));
+    }
+
+    @Test
+    void eachBoundIsOptional() {
+        assertThat(stream(FROM, null, List.of("id")).getQueryObject())
+                .isEqualTo(new Document("quizId", "q1").append("createdAt", new Document("$gte", FROM)));
+        assertThat(stream(null, TO, List.of("id")).getQueryObject())
+                .isEqualTo(new Document("quizId", "q1").append("createdAt", new Document("$lt", TO)));
+        assertThat(stream(null, null, List.of("id")).getQueryObject()).isEqualTo(new Document("quizId", "q1"));
+    }
+
+    private Query stream(LocalDateTime from, LocalDateTime to, List<String> fields) {
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        when(mongoTemplate.stream(any(Query.class), eq(QuizAttempt.class))).thenReturn(Stream.empty());
+        repository.streamForQuiz("q1", from, to, fields).close();
+        verify(mongoTemplate, atLeastOnce()).stream(query.capture(), eq(QuizAttempt.class));
+        return query.getValue();
+    }
+}
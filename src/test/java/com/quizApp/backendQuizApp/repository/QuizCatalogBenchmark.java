@@ -0,0 +1,110 @@
+package com.quizApp.backendQuizApp.repository;
+
+import com.quizApp.backendQuizApp.benchmark.MicroBenchmark;
+import com.quizApp.backendQuizApp.dto.quiz.QuizCatalogFilter;
+import com.quizApp.backendQuizApp.dto.quiz.QuizCursor;
+import com.quizApp.backendQuizApp.dto.quiz.QuizSummary;
+import com.quizApp.backendQuizApp.model.Question;
+import com.quizApp.backendQuizApp.model.Quiz;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Deep catalog pages: the old skip/limit read of full Quiz documents against a keyset page of QuizSummary projections.
+// Needs a MongoDB at MONGO_URI; seeds and drops its own quiz_benchmark database, and is skipped when none is reachable.
+@Tag("benchmark")
+class QuizCatalogBenchmark {
+
+    private static final int QUIZZES = 5_000;
+    private static final int QUESTIONS_PER_QUIZ = 20;
+    private static final int PAGE_SIZE = 20;
+    private static final int PAGE = 200;
+
+    private static LiveMongo mongo;
+    private static MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    static void seed() {
+        mongo = LiveMongo.connect("quiz_benchmark");
+        mongoTemplate = mongo.template();
+        new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext())
+                .resolveIndexFor(Quiz.class)
+                .forEach(index -> mongoTemplate.indexOps(Quiz.class).ensureIndex(index));
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 0, 0);
+        List<Quiz> quizzes = new ArrayList<>();
+        for (int i = 0; i < QUIZZES; i++) {
+            quizzes.add(quiz(i, start.plusMinutes(i)));
+        }
+        mongoTemplate.insert(quizzes, Quiz.class);
+    }
+
+    @AfterAll
+    static void drop() {
+        if (mongo != null) {
+            mongo.close();
+        }
+    }
+
+    @Test
+    void keysetSummaryPageAgainstSkipOverFullDocuments() {
+        QuizRepositoryImpl repository = new QuizRepositoryImpl(mongoTemplate);
+        Criteria scope = Criteria.where("isPublic").is(true);
+        QuizCatalogFilter filter = new QuizCatalogFilter();
+        filter.setLimit(PAGE_SIZE);
+        // Position of the row just before the page under test, as the previous page's nextCursor would carry it
+        Quiz previous = mongoTemplate.find(offsetQuery(scope, PAGE * PAGE_SIZE - 1, 1), Quiz.class).get(0);
+        filter.setCursor(new QuizCursor(previous.getCreatedAt(), previous.getId()).encode());
+
+        MicroBenchmark.Result offset = MicroBenchmark.run("catalog: skip/limit, full quizzes", 50, 200,
+                () -> mongoTemplate.find(offsetQuery(scope, PAGE * PAGE_SIZE, PAGE_SIZE), Quiz.class));
+        MicroBenchmark.Result keyset = MicroBenchmark.run("catalog: keyset, summaries", 50, 200,
+                () -> repository.findSummaries(scope, filter, PAGE_SIZE + 1));
+
+        List<Quiz> expected = mongoTemplate.find(offsetQuery(scope, PAGE * PAGE_SIZE, PAGE_SIZE), Quiz.class);
+        assertThat(repository.findSummaries(scope, filter, PAGE_SIZE)).extracting(QuizSummary::getId)
+                .containsExactlyElementsOf(expected.stream().map(Quiz::getId).toList());
+        assertThat(keyset.nanosPerOp()).isLessThan(offset.nanosPerOp());
+        assertThat(keyset.bytesPerOp()).isLessThan(offset.bytesPerOp());
+    }
+
+    private static Query offsetQuery(Criteria scope, int skip, int limit) {
+        return Query.query(scope)
+                .with(Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by(Sort.Direction.DESC, "_id")))
+                .skip(skip)
+                .limit(limit);
+    }
+
+    private static Quiz quiz(int i, LocalDateTime createdAt) {
+        List<Question> questions = new ArrayList<>();
+        for (int q = 0; q < QUESTIONS_PER_QUIZ; q++) {
+            questions.add(Question.builder()
+                    .questionText("Question " + q + " of quiz " + i + ": which option is correct?")
+                    .type(Question.QuestionType.SINGLE_CHOICE)
+                    .options(List.of("First option", "Second option", "Third option", "Fourth option"))
+                    .correctAnswer("First option")
+                    .explanation("The first option is correct because the seed data says so.")
+                    .build());
+        }
+        return Quiz.builder()
+                .title("Quiz " + i)
+                .topic("topic-" + (i % 10))
+                .creatorId("creator-" + (i % 50))
+                .difficulty(Question.DifficultyLevel.MEDIUM)
+                .questions(questions)
+                .totalQuestions(QUESTIONS_PER_QUIZ)
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,48 @@
+package com.quizApp.backendQuizApp.repository;
+
+import com.quizApp.backendQuizApp.model.Quiz;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuizRepositoryImplTest {
+
+    private static final int ATTEMPTS = 500;
+
+    @Test
+    void concurrentRecordAttemptsLoseNoUpdates() throws Exception {
+        try (LiveMongo mongo = LiveMongo.connect("quiz_stats_test");
+             ExecutorService executor = Executors.newFixedThreadPool(32)) {
+            Quiz quiz = mongo.template().insert(Quiz.builder().title("Contended").totalAttempts(0).scoreSum(0.0).build());
+            QuizRepositoryImpl repository = new QuizRepositoryImpl(mongo.template());
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> submissions = new ArrayList<>();
+            double expectedSum = 0;
+            for (int i = 0; i < ATTEMPTS; i++) {
+                // Whole percentages keep the expected sum exact in double arithmetic
+                double score = i % 101;
+                expectedSum += score;
+                submissions.add(executor.submit(() -> {
+                    start.await();
+                    repository.recordAttempt(quiz.getId(), score);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> submission : submissions) {
+                submission.get();
+            }
+
+            Quiz stored = mongo.template().findById(quiz.getId(), Quiz.class);
+            assertThat(stored.getTotalAttempts()).isEqualTo(ATTEMPTS);
+            assertThat(stored.getScoreSum()).isEqualTo(expectedSum);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.quizApp.backendQuizApp.repository;
+
+import com.quizApp.backendQuizApp.benchmark.MicroBenchmark;
+import com.quizApp.backendQuizApp.model.Question;
+import com.quizApp.backendQuizApp.model.Quiz;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Recording an attempt: the old findById, update in memory, save-the-whole-quiz cycle against a single $inc.
+// Needs a MongoDB at MONGO_URI; uses and drops its own quiz_stats_benchmark database, and is skipped when none is reachable.
+@Tag("benchmark")
+class QuizStatsBenchmark {
+
+    private static final int QUESTIONS_PER_QUIZ = 20;
+    private static final int CONCURRENT_ATTEMPTS = 400;
+
+    private static LiveMongo mongo;
+    private static MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    static void connect() {
+        mongo = LiveMongo.connect("quiz_stats_benchmark");
+        mongoTemplate = mongo.template();
+    }
+
+    @AfterAll
+    static void drop() {
+        if (mongo != null) {
+            mongo.close();
+        }
+    }
+
+    @Test
+    void serverSideIncrementAgainstReadModifyWrite() throws Exception {
+        QuizRepositoryImpl repository = new QuizRepositoryImpl(mongoTemplate);
+        String rmwQuiz = mongoTemplate.insert(quiz()).getId();
+        String incQuiz = mongoTemplate.insert(quiz()).getId();
+
+        MicroBenchmark.Result rmw = MicroBenchmark.run("attempt stats: read-modify-write", 200, 1_000,
+                () -> readModifyWrite(rmwQuiz, 75.0));
+        MicroBenchmark.Result inc = MicroBenchmark.run("attempt stats: $inc", 200, 1_000, () -> {
+            repository.recordAttempt(incQuiz, 75.0);
+            return incQuiz;
+        });
+
+        long lostByRmw = CONCURRENT_ATTEMPTS - contended(quizId -> readModifyWrite(quizId, 75.0));
+        long lostByInc = CONCURRENT_ATTEMPTS - contended(quizId -> repository.recordAttempt(quizId, 75.0));
+        System.out.printf("attempt stats under contention: read-modify-write lost %d of %d, $inc lost %d%n",
+                lostByRmw, CONCURRENT_ATTEMPTS, lostByInc);
+
+        assertThat(lostByInc).isZero();
+        assertThat(inc.nanosPerOp()).isLessThan(rmw.nanosPerOp());
+        assertThat(inc.bytesPerOp()).isLessThan(rmw.bytesPerOp());
+    }
+
+    // What submitAttempt did before recordAttempt: the questions array makes the round trip both ways
+    private static Quiz readModifyWrite(String quizId, double score) {
+        Quiz quiz = mongoTemplate.findById(quizId, Quiz.class);
+        int attempts = quiz.getTotalAttempts() == null ? 1 : quiz.getTotalAttempts() + 1;
+        quiz.setTotalAttempts(attempts);
+        quiz.setAverageScore(quiz.getAverageScore() == null ? score
+                : (quiz.getAverageScore() * (attempts - 1) + score) / attempts);
+        return mongoTemplate.save(quiz);
+    }
+
+    // Attempts the quiz ends up counting after CONCURRENT_ATTEMPTS simultaneous submissions
+    private static int contended(Consumer<String> record) throws Exception {
+        String quizId = mongoTemplate.insert(quiz()).getId();
+        try (ExecutorService executor = Executors.newFixedThreadPool(32)) {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> submissions = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_ATTEMPTS; i++) {
+                submissions.add(executor.submit(() -> {
+                    start.await();
+                    record.accept(quizId);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> submission : submissions) {
+                submission.get();
+            }
+        }
+        return mongoTemplate.findById(quizId, Quiz.class).getTotalAttempts();
+    }
+
+    private static Quiz quiz() {
+        List<Question> questions = new ArrayList<>();
+        for (int q = 0; q < QUESTIONS_PER_QUIZ; q++) {
+            questions.add(Question.builder()
+                    .questionText("Question " + q + ": which option is correct?")
+                    .type(Question.QuestionType.SINGLE_CHOICE)
+                    .options(List.of("First option", "Second option", "Third option", "Fourth option"))
+                    .correctAnswer("First option")
+                    .explanation("The first option is correct because the seed data says so.")
+                    .build());
+        }
+        return Quiz.builder()
+                .title("Stats quiz")
+                .questions(questions)
+                .totalQuestions(QUESTIONS_PER_QUIZ)
+                .totalAttempts(0)
+                .scoreSum(0.0)
+                .build();
+    }
+}
@@ -0,0 +1,69 @@
+package com.quizApp.backendQuizApp.security;
+
+import com.quizApp.backendQuizApp.config.properties.JwtProperties;
+import com.quizApp.backendQuizApp.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationFilterTest {
+
+    private final AuthenticatedUser user = AuthenticatedUser.builder()
+            .id("u1").username("alice").role(User.Role.USER).enabled(true).build();
+    private final PrincipalCache principalCache = mock(PrincipalCache.class);
+    private JwtService jwtService;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret("0123456789abcdef0123456789abcdef");
+        properties.setExpiration(3_600_000L);
+        properties.setRefreshExpiration(86_400_000L);
+        jwtService = new JwtService(properties);
+        jwtService.init();
+        filter = new JwtAuthenticationFilter(jwtService, principalCache);
+        when(principalCache.get("alice")).thenReturn(user);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatesAccessTokens() throws Exception {
+        filter.doFilter(request(jwtService.generateToken(user)), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).isEqualTo(user);
+    }
+
+    @Test
+    void refreshTokensDoNotAuthenticateRequests() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request(jwtService.generateRefreshToken(user)), new MockHttpServletResponse(), chain);
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(chain.getRequest()).isNotNull();
+        verify(principalCache, never()).get(anyString());
+    }
+
+    private static MockHttpServletRequest request(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/quizzes");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        return request;
+    }
+}
@@ -0,0 +1,53 @@
+package com.quizApp.backendQuizApp.security;
+
+import com.quizApp.backendQuizApp.benchmark.MicroBenchmark;
+import com.quizApp.backendQuizApp.config.properties.JwtProperties;
+import com.quizApp.backendQuizApp.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Per-request cost of authenticating a bearer token: the old filter path (three parses, each with a freshly built
+// parser) against JwtService.verify (one parse with the shared parser)
+@Tag("benchmark")
+class JwtServiceBenchmark {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    @Test
+    void verifyOnceAgainstParseThreeTimes() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setExpiration(3_600_000L);
+        properties.setRefreshExpiration(86_400_000L);
+        JwtService jwtService = new JwtService(properties);
+        jwtService.init();
+        AuthenticatedUser user = AuthenticatedUser.builder().id("u1").username("alice").role(User.Role.USER).enabled(true).build();
+        String token = jwtService.generateToken(user);
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+
+        MicroBenchmark.Result legacy = MicroBenchmark.run("jwt: parse x3, new parser each", 20_000, 50_000, () -> {
+            String subject = parse(key, token).getSubject();
+            boolean sameUser = parse(key, token).getSubject().equals(subject);
+            Date expiry = parse(key, token).getExpiration();
+            return sameUser && expiry.after(new Date());
+        });
+        MicroBenchmark.Result verified = MicroBenchmark.run("jwt: verify once, shared parser", 20_000, 50_000,
+                () -> jwtService.isTokenValid(jwtService.verify(token), user));
+
+        assertThat(verified.nanosPerOp()).isLessThan(legacy.nanosPerOp());
+        assertThat(verified.bytesPerOp()).isLessThan(legacy.bytesPerOp());
+    }
+
+    private static Claims parse(SecretKey key, String token) {
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+}
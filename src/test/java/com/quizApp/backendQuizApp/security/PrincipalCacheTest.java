@@ -0,0 +1,85 @@
+package com.quizApp.backendQuizApp.security;
+
+import com.quizApp.backendQuizApp.config.properties.CacheProperties;
+import com.quizApp.backendQuizApp.model.User;
+import com.quizApp.backendQuizApp.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PrincipalCacheTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final AtomicLong nanos = new AtomicLong();
+    private final PrincipalCache cache;
+    private final PrincipalCacheInvalidator invalidator;
+
+    PrincipalCacheTest() {
+        CacheProperties properties = new CacheProperties();
+        properties.getPrincipal().setTtl(Duration.ofMinutes(5));
+        cache = new PrincipalCache(userRepository, properties, new SimpleMeterRegistry(), nanos::get);
+        invalidator = new PrincipalCacheInvalidator(cache);
+        when(userRepository.findAuthViewByUsername("ann")).thenReturn(Optional.of(user("ann", User.Role.USER)));
+    }
+
+    @Test
+    void hitIsServedWithoutTheRepository() {
+        AuthenticatedUser first = cache.get("ann");
+        AuthenticatedUser second = cache.get("ann");
+
+        assertThat(second).isSameAs(first);
+        verify(userRepository, times(1)).findAuthViewByUsername("ann");
+    }
+
+    @Test
+    void savingTheUserEvictsItsPrincipal() {
+        cache.get("ann");
+        User promoted = user("ann", User.Role.ADMIN);
+        when(userRepository.findAuthViewByUsername("ann")).thenReturn(Optional.of(promoted));
+
+        invalidator.onAfterSave(new AfterSaveEvent<>(promoted, new Document(), "users"));
+
+        assertThat(cache.get("ann").getRole()).isEqualTo(User.Role.ADMIN);
+        verify(userRepository, times(2)).findAuthViewByUsername("ann");
+    }
+
+    @Test
+    void deletingAnyUserEvictsEveryPrincipal() {
+        cache.get("ann");
+        when(userRepository.findAuthViewByUsername("ann")).thenReturn(Optional.empty());
+
+        invalidator.onAfterDelete(new AfterDeleteEvent<>(new Document("_id", "u-ann"), User.class, "users"));
+
+        assertThatThrownBy(() -> cache.get("ann")).isInstanceOf(UsernameNotFoundException.class);
+    }
+
+    @Test
+    void entriesExpireAfterTheTtl() {
+        cache.get("ann");
+        nanos.addAndGet(Duration.ofMinutes(5).minusSeconds(1).toNanos());
+        cache.get("ann");
+        verify(userRepository, times(1)).findAuthViewByUsername("ann");
+
+        nanos.addAndGet(Duration.ofSeconds(2).toNanos());
+        cache.get("ann");
+        verify(userRepository, times(2)).findAuthViewByUsername("ann");
+    }
+
+    private static User user(String username, User.Role role) {
+        return User.builder().id("u-" + username).username(username).role(role).build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.quizApp.backendQuizApp.model.Question;
+import com.quizApp.backendQuizApp.model.Quiz;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnswerKeyTest {
+
+    private final AnswerKey key = AnswerKey.compile(Quiz.builder()
+            .id("quiz-1")
+            .title("Java")
+            .questions(List.of(
+                    Question.builder().type(Question.QuestionType.SINGLE_CHOICE).correctAnswer("JVM").points(2)
+                            .options(List.of("JDK", "JVM", "JRE")).build(),
+                    Question.builder().type(Question.QuestionType.MULTIPLE_CHOICE).correctAnswer("List, Set")
+                            .options(List.of("List", "Map", "Set")).build(),
+                    Question.builder().type(Question.QuestionType.TRUE_FALSE).correctAnswer("True").build()))
+            .build());
+
+    @Test
+    void scoresCaseInsensitivelyAndTreatsMultipleChoiceAsSet() {
+        boolean[] results = new boolean[key.size()];
+
+        AnswerKey.Score score = key.score(new String[]{" jvm ", "set,list", "false"}, results);
+
+        assertThat(results).containsExactly(true, true, false);
+        assertThat(score.correctAnswers()).isEqualTo(2);
+        assertThat(score.earnedPoints()).isEqualTo(3);
+        assertThat(key.getTotalPoints()).isEqualTo(4);
+    }
+
+    @Test
+    void missingAnswersAreIncorrect() {
+        boolean[] results = new boolean[key.size()];
+
+        AnswerKey.Score score = key.score(new String[]{"JVM"}, results);
+
+        assertThat(results).containsExactly(true, false, false);
+        assertThat(score.earnedPoints()).isEqualTo(2);
+    }
+
+    @Test
+    void mapsAnswersToOptionIndices() {
+        assertThat(key.selectedOptions(0, "jre")).containsExactly(2);
+        assertThat(key.selectedOptions(1, "set, list")).containsExactly(0, 2);
+        assertThat(key.selectedOptions(0, "CLR")).isEmpty();
+        assertThat(key.selectedOptions(2, "True")).isEmpty();
+    }
+}
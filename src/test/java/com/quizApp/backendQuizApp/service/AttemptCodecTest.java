@@ -0,0 +1,61 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.quizApp.backendQuizApp.model.Question;
+import com.quizApp.backendQuizApp.model.Quiz;
+import com.quizApp.backendQuizApp.model.QuizAttempt;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AttemptCodecTest {
+
+    private final AnswerKey key = AnswerKey.compile(Quiz.builder()
+            .id("quiz-1")
+            .questions(List.of(
+                    Question.builder().type(Question.QuestionType.SINGLE_CHOICE).correctAnswer("JVM")
+                            .options(List.of("JDK", "JVM", "JRE")).build(),
+                    Question.builder().type(Question.QuestionType.MULTIPLE_CHOICE).correctAnswer("List, Set")
+                            .options(List.of("List", "Map", "Set")).build(),
+                    Question.builder().type(Question.QuestionType.FILL_IN_THE_BLANK).correctAnswer("final")
+                            .options(List.of("final")).build(),
+                    Question.builder().type(Question.QuestionType.TRUE_FALSE).correctAnswer("True")
+                            .options(List.of("True", "False")).build()))
+            .build());
+
+    @Test
+    void roundTripsAnswersThroughOptionMasksAndBitset() {
+        String[] answers = {"jvm", "set,list", "static", null};
+        boolean[] results = new boolean[key.size()];
+        key.score(answers, results);
+        QuizAttempt attempt = new QuizAttempt();
+
+        AttemptCodec.encode(attempt, key, answers, results);
+
+        assertThat(attempt.getAnswerSelections()).containsExactly(2, 5, 0, 0);
+        assertThat(attempt.getFreeTextAnswers()).containsExactly(Map.entry(2, "static"));
+        assertThat(attempt.getUserAnswers()).isNull();
+        assertThat(attempt.getCorrectAnswerMap()).isNull();
+
+        AttemptCodec.decode(attempt, key);
+
+        assertThat(attempt.getUserAnswers()).containsExactlyInAnyOrderEntriesOf(
+                Map.of(0, "JVM", 1, "List, Set", 2, "static"));
+        assertThat(attempt.getQuestionResultsMap()).containsExactlyInAnyOrderEntriesOf(
+                Map.of(0, true, 1, true, 2, false, 3, false));
+        assertThat(attempt.getCorrectAnswerMap()).containsEntry(3, "True");
+    }
+
+    @Test
+    void keepsAnswersThatOptionsCannotReproduce() {
+        String[] answers = {"JVM, JRE", "List, Queue", null, null};
+        QuizAttempt attempt = new QuizAttempt();
+
+        AttemptCodec.encode(attempt, key, answers, new boolean[key.size()]);
+
+        assertThat(attempt.getAnswerSelections()).containsOnly(0);
+        assertThat(attempt.getFreeTextAnswers()).containsOnlyKeys(0, 1);
+    }
+}
@@ -0,0 +1,139 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.mongodb.MongoClientSettings;
+import com.quizApp.backendQuizApp.benchmark.MicroBenchmark;
+import com.quizApp.backendQuizApp.model.Question;
+import com.quizApp.backendQuizApp.model.Quiz;
+import com.quizApp.backendQuizApp.model.QuizAttempt;
+import org.bson.BsonBinaryReader;
+import org.bson.ByteBuf;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Stored size and read cost of one 20-question attempt: the verbose Integer-keyed maps against the compact encoding.
+// Read = BSON bytes -> Document -> QuizAttempt, plus the AttemptCodec.decode a verbose response needs; no MongoDB involved.
+@Tag("benchmark")
+class AttemptEncodingBenchmark {
+
+    private static final int QUESTIONS = 20;
+    private static final Codec<Document> DOCUMENT_CODEC = MongoClientSettings.getDefaultCodecRegistry().get(Document.class);
+
+    private final MappingMongoConverter converter = converter();
+    private final AnswerKey key = AnswerKey.compile(quiz());
+
+    @Test
+    void compactAttemptsAreSmallerAndNoSlowerToRead() {
+        String[] answers = new String[QUESTIONS];
+        for (int i = 0; i < QUESTIONS; i++) {
+            answers[i] = i % 3 == 0 ? "Option " + (i % 4) : "Option 1";
+        }
+        boolean[] results = new boolean[QUESTIONS];
+        key.score(answers, results);
+
+        QuizAttempt verbose = attempt();
+        Map<Integer, String> userAnswers = new HashMap<>();
+        Map<Integer, String> correctAnswers = new HashMap<>();
+        Map<Integer, Boolean> questionResults = new HashMap<>();
+        for (int i = 0; i < QUESTIONS; i++) {
+            userAnswers.put(i, answers[i]);
+            correctAnswers.put(i, key.correctAnswer(i));
+            questionResults.put(i, results[i]);
+        }
+        verbose.setUserAnswers(userAnswers);
+        verbose.setCorrectAnswerMap(correctAnswers);
+        verbose.setQuestionResultsMap(questionResults);
+        QuizAttempt compact = attempt();
+        AttemptCodec.encode(compact, key, answers, results);
+
+        byte[] verboseBson = bson(verbose);
+        byte[] compactBson = bson(compact);
+        System.out.printf("attempt BSON size: verbose %d B, compact %d B%n", verboseBson.length, compactBson.length);
+
+        MicroBenchmark.Result verboseRead = MicroBenchmark.run("attempt read: verbose maps", 20_000, 100_000,
+                () -> read(verboseBson));
+        MicroBenchmark.Result compactRead = MicroBenchmark.run("attempt read: compact + decode", 20_000, 100_000, () -> {
+            QuizAttempt attempt = read(compactBson);
+            AttemptCodec.decode(attempt, key);
+            return attempt;
+        });
+
+        QuizAttempt decoded = read(compactBson);
+        AttemptCodec.decode(decoded, key);
+        assertThat(decoded.getQuestionResultsMap()).isEqualTo(questionResults);
+        assertThat(decoded.getCorrectAnswerMap()).isEqualTo(correctAnswers);
+        assertThat(compactBson.length).isLessThan(verboseBson.length / 2);
+        assertThat(compactRead.bytesPerOp()).isLessThan(verboseRead.bytesPerOp());
+    }
+
+    private byte[] bson(QuizAttempt attempt) {
+        Document document = new Document();
+        converter.write(attempt, document);
+        ByteBuf buffer = new RawBsonDocument(document, DOCUMENT_CODEC).getByteBuffer();
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private QuizAttempt read(byte[] bson) {
+        try (BsonBinaryReader reader = new BsonBinaryReader(ByteBuffer.wrap(bson))) {
+            Document document = DOCUMENT_CODEC.decode(reader, DecoderContext.builder().build());
+            return converter.read(QuizAttempt.class, document);
+        }
+    }
+
+    private static MappingMongoConverter converter() {
+        MongoCustomConversions conversions = new MongoCustomConversions(List.of());
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(conversions.getSimpleTypeHolder());
+        mappingContext.afterPropertiesSet();
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.afterPropertiesSet();
+        return converter;
+    }
+
+    private static QuizAttempt attempt() {
+        LocalDateTime completedAt = LocalDateTime.of(2026, 4, 2, 18, 30);
+        return QuizAttempt.builder()
+                .id("6610c2a9e4b0a1b2c3d4e5f6")
+                .quizId("6610c2a9e4b0a1b2c3d4e5f0")
+                .userId("6610c2a9e4b0a1b2c3d4e5f1")
+                .username("alice")
+                .quizTitle("Java collections and generics")
+                .totalQuestions(QUESTIONS)
+                .scorePercentage(65.0)
+                .startedAt(completedAt.minusMinutes(9))
+                .completedAt(completedAt)
+                .timeTakenSeconds(540L)
+                .build();
+    }
+
+    private static Quiz quiz() {
+        List<Question> questions = new ArrayList<>();
+        for (int i = 0; i < QUESTIONS; i++) {
+            questions.add(Question.builder()
+                    .type(Question.QuestionType.SINGLE_CHOICE)
+                    .options(List.of("Option 0", "Option 1", "Option 2", "Option 3"))
+                    .correctAnswer("Option " + (i % 4))
+                    .build());
+        }
+        return Quiz.builder().id("6610c2a9e4b0a1b2c3d4e5f0").questions(questions).build();
+    }
+}
@@ -0,0 +1,181 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizApp.backendQuizApp.dto.attempt.AttemptAnswer;
+import com.quizApp.backendQuizApp.dto.attempt.AttemptExportRequest;
+import com.quizApp.backendQuizApp.dto.attempt.BatchSubmitRequest;
+import com.quizApp.backendQuizApp.dto.attempt.BatchSubmitResponse;
+import com.quizApp.backendQuizApp.dto.attempt.SubmitAttemptRequest;
+import com.quizApp.backendQuizApp.dto.quiz.QuizBundle;
+import com.quizApp.backendQuizApp.model.Question;
+import com.quizApp.backendQuizApp.model.Quiz;
+import com.quizApp.backendQuizApp.model.QuizAttempt;
+import com.quizApp.backendQuizApp.model.User;
+import com.quizApp.backendQuizApp.repository.QuizAttemptRepository;
+import com.quizApp.backendQuizApp.security.AuthenticatedUser;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class AttemptServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 1, 12, 0);
+    private static final QuizBundle BUNDLE = QuizBundle.builder()
+            .quizId("q1")
+            .timeLimitMinutes(10)
+            .issuedAt(NOW.minusDays(1))
+            .signature("sig")
+            .build();
+
+    private final QuizAttemptRepository attemptRepository = mock(QuizAttemptRepository.class);
+    private final AnswerKeyCache answerKeyCache = mock(AnswerKeyCache.class);
+    private final StatsAggregator statsAggregator = mock(StatsAggregator.class);
+    private final ScoreDistributionService scoreDistributionService = mock(ScoreDistributionService.class);
+    private final QuizBundleService quizBundleService = mock(QuizBundleService.class);
+    private final AttemptService service = new AttemptService(attemptRepository, answerKeyCache, statsAggregator,
+            mock(LeaderboardService.class), scoreDistributionService, mock(ItemStatsService.class),
+            mock(UserActivityService.class), quizBundleService, new ObjectMapper());
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void batchReportsEachItemAndMapsInsertedIdsBackToAcceptedOnes() {
+        AnswerKey key = AnswerKey.compile(Quiz.builder().id("q1").title("JVM basics")
+                .questions(List.of(Question.builder().type(Question.QuestionType.SINGLE_CHOICE)
+                        .options(List.of("JDK", "JVM")).correctAnswer("JVM").build()))
+                .build());
+        when(answerKeyCache.find(anyString())).thenReturn(Optional.empty());
+        when(answerKeyCache.find("q1")).thenReturn(Optional.of(key));
+        when(quizBundleService.findCurrent("q1", "old")).thenReturn(Optional.empty());
+        when(quizBundleService.findCurrent("q1", "sig")).thenReturn(Optional.of(BUNDLE));
+        when(attemptRepository.insert(anyList())).thenAnswer(invocation -> {
+            List<QuizAttempt> attempts = invocation.getArgument(0);
+            for (int i = 0; i < attempts.size(); i++) {
+                attempts.get(i).setId("a" + i);
+            }
+            return attempts;
+        });
+        SubmitAttemptRequest stale = answered("q1", "JVM");
+        stale.setBundleSignature("old");
+        SubmitAttemptRequest signed = answered("q1", "JDK");
+        signed.setBundleSignature("sig");
+        BatchSubmitRequest request = new BatchSubmitRequest();
+        request.setAttempts(List.of(answered("q1", "JVM"), answered("gone", "JVM"), stale, signed));
+
+        BatchSubmitResponse response = service.submitBatch(request, AuthenticatedUser.builder()
+                .id("u1").username("alice").role(User.Role.USER).enabled(true).build());
+
+        assertThat(response.getResults()).extracting(BatchSubmitResponse.ItemResult::getIndex,
+                        BatchSubmitResponse.ItemResult::getStatus, BatchSubmitResponse.ItemResult::getAttemptId,
+                        BatchSubmitResponse.ItemResult::getScorePercentage)
+                .containsExactly(
+                        tuple(0, BatchSubmitResponse.ItemStatus.ACCEPTED, "a0", 100.0),
+                        tuple(1, BatchSubmitResponse.ItemStatus.QUIZ_NOT_FOUND, null, null),
+                        tuple(2, BatchSubmitResponse.ItemStatus.STALE_BUNDLE, null, null),
+                        tuple(3, BatchSubmitResponse.ItemStatus.ACCEPTED, "a1", 0.0));
+        // One insertMany for the accepted items, and each distinct quiz/bundle is looked up once
+        ArgumentCaptor<List<QuizAttempt>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(attemptRepository).insert(inserted.capture());
+        assertThat(inserted.getValue()).extracting(QuizAttempt::getUserId).containsOnly("u1");
+        verify(answerKeyCache).find("q1");
+        verify(statsAggregator).recordAttempt("q1", "u1", 100.0, 1);
+        verify(statsAggregator).recordAttempt("q1", "u1", 0.0, 0);
+        verify(scoreDistributionService).recordAll(inserted.getValue());
+    }
+
+    @Test
+    void exportRejectsUnknownFieldsBeforeQuerying() {
+        AttemptExportRequest request = new AttemptExportRequest();
+        request.setFields(List.of("username", "userAnswers"));
+
+        assertThatThrownBy(() -> service.exportAttempts("q1", request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unknown export field: userAnswers");
+        verifyNoInteractions(attemptRepository);
+    }
+
+    @Test
+    void exportQuotesCsvValuesThatContainSeparatorsQuotesOrNewlines() throws Exception {
+        AttemptExportRequest request = new AttemptExportRequest();
+        request.setFormat(AttemptExportRequest.ExportFormat.CSV);
+        request.setFields(List.of("username", "scorePercentage"));
+        request.setFrom(NOW.minusDays(7));
+        request.setTo(NOW);
+        when(attemptRepository.streamForQuiz("q1", NOW.minusDays(7), NOW, request.getFields())).thenReturn(Stream.of(
+                QuizAttempt.builder().username("plain").scorePercentage(50.0).build(),
+                QuizAttempt.builder().username("smith, \"jo\"\nline two").scorePercentage(75.0).build(),
+                QuizAttempt.builder().scorePercentage(0.0).build()));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        service.exportAttempts("q1", request).writeTo(out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("""
+                username,scorePercentage
+                plain,50.0
+                "smith, ""jo""
+                line two",75.0
+                ,0.0
+                """);
+    }
+
+    @Test
+    void keepsClientTimesFromAVerifiedBundleWithinTheTimeLimit() {
+        AttemptService.Played played = AttemptService.played(times(NOW.minusHours(2), NOW.minusHours(2).plusMinutes(9)), BUNDLE, NOW);
+
+        assertThat(played.startedAt()).isEqualTo(NOW.minusHours(2));
+        assertThat(played.completedAt()).isEqualTo(NOW.minusHours(2).plusMinutes(9));
+    }
+
+    @Test
+    void fallsBackToUploadTimeForAnythingImplausible() {
+        // No verified bundle (single uploads and unsigned batch items)
+        assertServerTime(AttemptService.played(times(NOW.minusMinutes(5), NOW.minusMinutes(1)), null, NOW));
+        // Longer than the time limit
+        assertServerTime(AttemptService.played(times(NOW.minusMinutes(30), NOW.minusMinutes(1)), BUNDLE, NOW));
+        // Started before this version of the quiz existed
+        assertServerTime(AttemptService.played(times(NOW.minusDays(2), NOW.minusDays(2).plusMinutes(5)), BUNDLE, NOW));
+        // Finished in the future, or out of order
+        assertServerTime(AttemptService.played(times(NOW.minusMinutes(5), NOW.plusMinutes(1)), BUNDLE, NOW));
+        assertServerTime(AttemptService.played(times(NOW.minusMinutes(1), NOW.minusMinutes(5)), BUNDLE, NOW));
+        // Only one of the two reported
+        assertServerTime(AttemptService.played(times(null, NOW.minusMinutes(1)), BUNDLE, NOW));
+    }
+
+    private static void assertServerTime(AttemptService.Played played) {
+        assertThat(played.startedAt()).isEqualTo(NOW);
+        assertThat(played.completedAt()).isEqualTo(NOW);
+    }
+
+    private static SubmitAttemptRequest answered(String quizId, String answer) {
+        AttemptAnswer attemptAnswer = new AttemptAnswer();
+        attemptAnswer.setQuestionIndex(0);
+        attemptAnswer.setAnswer(answer);
+        SubmitAttemptRequest request = new SubmitAttemptRequest();
+        request.setQuizId(quizId);
+        request.setAnswers(List.of(attemptAnswer));
+        return request;
+    }
+
+    private static SubmitAttemptRequest times(LocalDateTime startedAt, LocalDateTime completedAt) {
+        SubmitAttemptRequest request = new SubmitAttemptRequest();
+        request.setQuizId("q1");
+        request.setStartedAt(startedAt);
+        request.setCompletedAt(completedAt);
+        return request;
+    }
+}
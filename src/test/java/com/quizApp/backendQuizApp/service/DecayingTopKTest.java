@@ -0,0 +1,48 @@
+package com.quizApp.backendQuizApp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class DecayingTopKTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000);
+
+    @Test
+    void recentHitsOutweighOlderOnes() {
+        DecayingTopK<String> sketch = new DecayingTopK<>(10, Duration.ofHours(1), clock::get);
+        for (int i = 0; i < 8; i++) {
+            sketch.offer("java");
+        }
+        clock.addAndGet(Duration.ofHours(2).toMillis());
+        for (int i = 0; i < 3; i++) {
+            sketch.offer("kotlin");
+        }
+
+        assertThat(sketch.estimate("java")).isCloseTo(2.0, within(1e-9));
+        assertThat(sketch.top(2, 0)).containsExactly("kotlin", "java");
+        assertThat(sketch.top(2, 2.5)).containsExactly("kotlin");
+    }
+
+    @Test
+    void keepsHeavyHittersWhenFullAndSurvivesRescaling() {
+        DecayingTopK<String> sketch = new DecayingTopK<>(2, Duration.ofMinutes(1), clock::get);
+        for (int i = 0; i < 5; i++) {
+            sketch.offer("hot");
+        }
+        sketch.offer("warm");
+        sketch.offer("cold");
+
+        assertThat(sketch.top(2, 0)).first().isEqualTo("hot");
+        assertThat(sketch.estimate("warm")).isZero();
+
+        // Far enough ahead that forward-decay weights would overflow without rescaling
+        clock.addAndGet(Duration.ofMinutes(60).toMillis());
+        sketch.offer("hot");
+        assertThat(sketch.estimate("hot")).isCloseTo(1.0, within(1e-6));
+    }
+}
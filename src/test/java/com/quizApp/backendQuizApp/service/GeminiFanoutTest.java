@@ -0,0 +1,222 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizApp.backendQuizApp.config.properties.GeminiProperties;
+import com.quizApp.backendQuizApp.config.properties.GenerationProperties;
+import com.quizApp.backendQuizApp.dto.quiz.QuizGenerationRequest;
+import com.quizApp.backendQuizApp.exception.GeminiApiException;
+import com.quizApp.backendQuizApp.exception.ServiceOverloadedException;
+import com.quizApp.backendQuizApp.model.Question;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GeminiFanoutTest {
+
+    private static final Pattern COUNT = Pattern.compile("Generate (\\d+) quiz questions");
+    private static final Pattern MAX_OUTPUT_TOKENS = Pattern.compile("\"maxOutputTokens\"\\s*:\\s*(\\d+)");
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger nextQuestion = new AtomicInteger();
+    private final List<Integer> outputBudgets = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+    // When set, the stub holds every response until it is counted down
+    private volatile CountDownLatch hold;
+
+    // Answers each prompt with as many questions as it asks for; the second request repeats question 0
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            int request = requests.incrementAndGet();
+            if (hold != null) {
+                try {
+                    hold.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            Matcher matcher = COUNT.matcher(body);
+            int count = matcher.find() ? Integer.parseInt(matcher.group(1)) : 1;
+            Matcher budget = MAX_OUTPUT_TOKENS.matcher(body);
+            if (budget.find()) {
+                outputBudgets.add(Integer.parseInt(budget.group(1)));
+            }
+            StringJoiner questions = new StringJoiner(",");
+            for (int i = 0; i < count; i++) {
+                String text = request == 2 && i == 0 ? "  QUESTION 0?" : "Question " + nextQuestion.getAndIncrement();
+                questions.add("{\\\"questionText\\\":\\\"" + text + "\\\",\\\"type\\\":\\\"SINGLE_CHOICE\\\","
+                        + "\\\"options\\\":[\\\"a\\\",\\\"b\\\"],\\\"correctAnswer\\\":\\\"a\\\"}");
+            }
+            String envelope = "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"{\\\"questions\\\":["
+                    + questions + "]}\"}]}}]}";
+            boolean streaming = exchange.getRequestURI().getPath().contains("streamGenerateContent");
+            byte[] response = (streaming ? "data: " + envelope + "\n\n" : envelope).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", streaming ? "text/event-stream" : "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    void splitsLargeRequestsDeduplicatesAndTopsUp() {
+        GeminiProperties geminiProperties = new GeminiProperties();
+        geminiProperties.setModel("test");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        GeminiAiService service = new GeminiAiService(
+                WebClient.create("http://localhost:" + server.getAddress().getPort()),
+                geminiProperties, registry, new GenerationAdmission(geminiProperties, registry),
+                new GenerationProperties(), new ObjectMapper());
+        QuizGenerationRequest request = new QuizGenerationRequest();
+        request.setTopic("Java");
+        request.setNumberOfQuestions(25);
+
+        List<Question> questions = service.generateQuestions(request);
+
+        assertThat(questions).hasSize(25);
+        assertThat(questions).extracting(q -> GeminiAiService.normalizeText(q.getQuestionText())).doesNotHaveDuplicates();
+        // Three chunks (10 + 10 + 5) plus one top-up for the duplicate
+        assertThat(requests.get()).isEqualTo(4);
+        assertThat(registry.counter("gemini.fanout.duplicates").count()).isEqualTo(1);
+    }
+
+    @Test
+    void admissionRejectionFailsTheWholeFanOut() {
+        GeminiProperties geminiProperties = new GeminiProperties();
+        geminiProperties.setModel("test");
+        geminiProperties.getAdmission().setMaxConcurrent(1);
+        geminiProperties.getAdmission().setMaxQueued(0);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        GeminiAiService service = new GeminiAiService(
+                WebClient.create("http://localhost:" + server.getAddress().getPort()),
+                geminiProperties, registry, new GenerationAdmission(geminiProperties, registry),
+                new GenerationProperties(), new ObjectMapper());
+        QuizGenerationRequest request = new QuizGenerationRequest();
+        request.setTopic("Java");
+        request.setNumberOfQuestions(25);
+
+        assertThatThrownBy(() -> service.generateQuestions(request)).isInstanceOf(ServiceOverloadedException.class);
+        assertThat(registry.counter("gemini.fanout.failed.chunks").count()).isZero();
+    }
+
+    @Test
+    void shortfallAfterTopUpsFailsInsteadOfReturningAShortQuiz() {
+        GeminiProperties geminiProperties = new GeminiProperties();
+        geminiProperties.setModel("test");
+        GenerationProperties generationProperties = new GenerationProperties();
+        generationProperties.getFanout().setMaxTopUps(0);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        GeminiAiService service = new GeminiAiService(
+                WebClient.create("http://localhost:" + server.getAddress().getPort()),
+                geminiProperties, registry, new GenerationAdmission(geminiProperties, registry),
+                generationProperties, new ObjectMapper());
+        QuizGenerationRequest request = new QuizGenerationRequest();
+        request.setTopic("Java");
+        request.setNumberOfQuestions(25);
+
+        // The duplicate in the second chunk leaves 24 unique questions and no top-up is allowed
+        assertThatThrownBy(() -> service.generateQuestions(request))
+                .isInstanceOf(GeminiApiException.class)
+                .hasMessageContaining("24 of 25");
+        assertThat(registry.counter("gemini.generation.shortfall").count()).isEqualTo(1);
+    }
+
+    @Test
+    void streamsMoreQuestionsThanOneCallCanHoldInBudgetedChunks() {
+        GeminiProperties geminiProperties = new GeminiProperties();
+        geminiProperties.setModel("test");
+        // Room for 8 questions per call: 256 + 200 * 8
+        geminiProperties.setMaxTokens(1856);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        GeminiAiService service = new GeminiAiService(
+                WebClient.create("http://localhost:" + server.getAddress().getPort()),
+                geminiProperties, registry, new GenerationAdmission(geminiProperties, registry),
+                new GenerationProperties(), new ObjectMapper());
+        QuizGenerationRequest request = new QuizGenerationRequest();
+        request.setTopic("Java");
+        request.setNumberOfQuestions(20);
+
+        List<Question> questions = service.streamQuestions(request).collectList().block();
+
+        assertThat(questions).hasSize(20);
+        assertThat(questions).extracting(q -> GeminiAiService.normalizeText(q.getQuestionText())).doesNotHaveDuplicates();
+        // Three chunks (8 + 8 + 4), none asking for more than fits, plus one top-up for the duplicate
+        assertThat(requests.get()).isEqualTo(4);
+        assertThat(outputBudgets).allSatisfy(budget -> assertThat(budget).isLessThanOrEqualTo(1856));
+        assertThat(registry.counter("gemini.stream.chunks").count()).isEqualTo(2);
+    }
+
+    @Test
+    void coalescedCallersGetTheirOwnQuestionInstances() throws Exception {
+        hold = new CountDownLatch(1);
+        GeminiProperties geminiProperties = new GeminiProperties();
+        geminiProperties.setModel("test");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        GeminiAiService service = new GeminiAiService(
+                WebClient.create("http://localhost:" + server.getAddress().getPort()),
+                geminiProperties, registry, new GenerationAdmission(geminiProperties, registry),
+                new GenerationProperties(), new ObjectMapper());
+        QuizGenerationRequest request = new QuizGenerationRequest();
+        request.setTopic("Java");
+        request.setNumberOfQuestions(3);
+
+        CompletableFuture<List<Question>> leader = CompletableFuture.supplyAsync(() -> service.generateQuestions(request));
+        while (requests.get() == 0) {
+            Thread.sleep(1);
+        }
+        AtomicReference<Thread> followerThread = new AtomicReference<>();
+        CompletableFuture<List<Question>> follower = CompletableFuture.supplyAsync(() -> {
+            followerThread.set(Thread.currentThread());
+            return service.generateQuestions(request);
+        });
+        // Parked on the leader's in-flight call
+        while (followerThread.get() == null || followerThread.get().getState() != Thread.State.WAITING) {
+            Thread.sleep(1);
+        }
+        hold.countDown();
+
+        List<Question> first = leader.get(5, TimeUnit.SECONDS);
+        List<Question> second = follower.get(5, TimeUnit.SECONDS);
+        assertThat(requests.get()).isEqualTo(1);
+        assertThat(registry.counter("gemini.requests.coalesced").count()).isEqualTo(1);
+        assertThat(second).extracting(Question::getQuestionText)
+                .containsExactlyElementsOf(first.stream().map(Question::getQuestionText).toList());
+        // One caller repairing its quiz must not change the other's
+        first.get(0).getOptions().set(0, "changed");
+        first.get(0).setQuestionText("changed");
+        assertThat(second.get(0).getQuestionText()).isEqualTo("Question 0");
+        assertThat(second.get(0).getOptions()).containsExactly("a", "b");
+    }
+}
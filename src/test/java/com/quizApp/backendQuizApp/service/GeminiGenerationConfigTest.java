@@ -0,0 +1,101 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizApp.backendQuizApp.config.properties.GeminiProperties;
+import com.quizApp.backendQuizApp.config.properties.GenerationProperties;
+import com.quizApp.backendQuizApp.dto.quiz.QuizGenerationRequest;
+import com.quizApp.backendQuizApp.model.Question;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GeminiGenerationConfigTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<JsonNode> requestBodies = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+
+    // The first answer's correctAnswer is not among its options; the retry is well-formed
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            requestBodies.add(objectMapper.readTree(exchange.getRequestBody()));
+            String answer = requestBodies.size() == 1 ? "c" : "a";
+            byte[] response = ("{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"{\\\"questions\\\":["
+                    + "{\\\"questionText\\\":\\\"Q\\\",\\\"type\\\":\\\"SINGLE_CHOICE\\\","
+                    + "\\\"options\\\":[\\\"a\\\",\\\"b\\\"],\\\"correctAnswer\\\":\\\"" + answer + "\\\"}]}\"}]}}],"
+                    + "\"usageMetadata\":{\"promptTokenCount\":40,\"candidatesTokenCount\":90}}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    void sendsScaledBudgetAndSchemaAndRetriesOffSchemaOutput() {
+        GeminiProperties geminiProperties = new GeminiProperties();
+        geminiProperties.setModel("test");
+        geminiProperties.setMaxTokens(4096);
+        geminiProperties.setTemperature(0.3);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        GeminiAiService service = new GeminiAiService(
+                WebClient.create("http://localhost:" + server.getAddress().getPort()),
+                geminiProperties, registry, new GenerationAdmission(geminiProperties, registry),
+                new GenerationProperties(), objectMapper);
+        QuizGenerationRequest request = new QuizGenerationRequest();
+        request.setTopic("Java");
+        request.setNumberOfQuestions(1);
+
+        List<Question> questions = service.generateQuestions(request);
+
+        assertThat(questions).extracting(Question::getCorrectAnswer).containsExactly("a");
+        JsonNode config = requestBodies.get(0).path("generationConfig");
+        assertThat(config.path("maxOutputTokens").asInt()).isEqualTo(256 + 200);
+        assertThat(config.path("temperature").asDouble()).isEqualTo(0.3);
+        JsonNode item = config.path("responseSchema").path("properties").path("questions").path("items");
+        assertThat(item.path("required")).extracting(JsonNode::asText)
+                .containsExactly("questionText", "type", "options", "correctAnswer");
+        assertThat(item.path("properties").path("type").path("enum")).hasSize(Question.QuestionType.values().length);
+
+        assertThat(requestBodies).hasSize(2);
+        assertThat(registry.counter("gemini.schema.failures").count()).isEqualTo(1);
+        assertThat(registry.counter("gemini.schema.retries").count()).isEqualTo(1);
+        assertThat(registry.counter("gemini.tokens", "kind", "wasted").count()).isEqualTo(90);
+        assertThat(registry.counter("gemini.tokens", "kind", "output").count()).isEqualTo(180);
+    }
+
+    @Test
+    void capsBudgetAtMaxTokens() {
+        GeminiProperties geminiProperties = new GeminiProperties();
+        geminiProperties.setMaxTokens(1000);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        GeminiAiService service = new GeminiAiService(WebClient.create(), geminiProperties, registry,
+                new GenerationAdmission(geminiProperties, registry), new GenerationProperties(), objectMapper);
+
+        assertThat(service.maxOutputTokens(2)).isEqualTo(656);
+        assertThat(service.maxOutputTokens(10)).isEqualTo(1000);
+    }
+}
@@ -0,0 +1,81 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizApp.backendQuizApp.benchmark.MicroBenchmark;
+import com.quizApp.backendQuizApp.model.Question;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A 20-question generateContent body with safety ratings and usage metadata: the former String + readTree + readValue
+// path against GeminiResponseParser's single streaming pass over the body bytes
+@Tag("benchmark")
+class GeminiResponseParserBenchmark {
+
+    private static final int QUESTIONS = 20;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final GeminiResponseParser parser = new GeminiResponseParser(objectMapper);
+
+    @Test
+    void streamingPassAllocatesLessThanTreeParsing() throws IOException {
+        byte[] body = response();
+
+        MicroBenchmark.Result tree = MicroBenchmark.run("gemini: string + readTree + readValue", 5_000, 20_000,
+                () -> readTree(body));
+        MicroBenchmark.Result streaming = MicroBenchmark.run("gemini: streaming parser", 5_000, 20_000,
+                () -> parser.readQuestions(new ByteArrayInputStream(body)));
+
+        assertThat(parser.readQuestions(new ByteArrayInputStream(body))).hasSize(QUESTIONS)
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(readTree(body));
+        assertThat(streaming.bytesPerOp()).isLessThan(tree.bytesPerOp());
+    }
+
+    // What GeminiAiService did before: bodyToMono(String), then a tree walk and a second parse of the embedded text
+    private List<Question> readTree(byte[] body) {
+        try {
+            JsonNode root = objectMapper.readTree(new String(body, StandardCharsets.UTF_8));
+            String text = root.at("/candidates/0/content/parts/0/text").asText();
+            Map<String, List<Question>> result = objectMapper.readValue(text, new TypeReference<>() {
+            });
+            return result.get("questions");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private byte[] response() throws IOException {
+        StringBuilder questions = new StringBuilder("{\"questions\": [");
+        for (int i = 0; i < QUESTIONS; i++) {
+            questions.append(i == 0 ? "" : ",").append("""
+                    {"questionText": "Which collection keeps insertion order and rejects duplicates (%d)?",
+                     "type": "SINGLE_CHOICE", "options": ["HashSet", "LinkedHashSet", "TreeSet", "ArrayList"],
+                     "correctAnswer": "LinkedHashSet", "explanation": "LinkedHashSet keeps a linked list of entries.",
+                     "points": 1, "difficulty": "MEDIUM", "category": "collections", "tags": ["java", "sets"]}
+                    """.formatted(i));
+        }
+        questions.append("]}");
+        Map<String, Object> envelope = Map.of(
+                "candidates", List.of(Map.of(
+                        "content", Map.of("role", "model", "parts", List.of(Map.of("text", questions.toString()))),
+                        "finishReason", "STOP",
+                        "safetyRatings", List.of(
+                                Map.of("category", "HARM_CATEGORY_HARASSMENT", "probability", "NEGLIGIBLE"),
+                                Map.of("category", "HARM_CATEGORY_HATE_SPEECH", "probability", "NEGLIGIBLE"),
+                                Map.of("category", "HARM_CATEGORY_DANGEROUS_CONTENT", "probability", "NEGLIGIBLE")))),
+                "usageMetadata", Map.of("promptTokenCount", 412, "candidatesTokenCount", 2380, "totalTokenCount", 2792),
+                "modelVersion", "gemini-1.5-flash");
+        return objectMapper.writeValueAsBytes(envelope);
+    }
+}
@@ -0,0 +1,91 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizApp.backendQuizApp.exception.GeminiApiException;
+import com.quizApp.backendQuizApp.exception.GeminiSchemaException;
+import com.quizApp.backendQuizApp.model.Question;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GeminiResponseParserTest {
+
+    private final GeminiResponseParser parser = new GeminiResponseParser(new ObjectMapper());
+
+    @Test
+    void readsQuestionsAndSkipsUnrelatedFields() {
+        String text = """
+                {"topic": "Java", "questions": [
+                  {"questionText": "Which runs bytecode?", "type": "SINGLE_CHOICE",
+                   "options": ["JDK", "JVM"], "correctAnswer": "JVM", "points": 2},
+                  {"questionText": "Java is typed?", "type": "TRUE_FALSE",
+                   "options": ["True", "False"], "correctAnswer": "True"}
+                ]}""";
+
+        List<Question> questions = parser.readQuestions(response(text));
+
+        assertThat(questions).extracting(Question::getCorrectAnswer).containsExactly("JVM", "True");
+        assertThat(questions.get(0).getPoints()).isEqualTo(2);
+    }
+
+    @Test
+    void bindsLenientlyAndLeavesValidationToCaller() {
+        String text = """
+                {"questions": [{"questionText": "Q", "type": "ESSAY", "hint": "none",
+                  "options": ["A", "B"], "correctAnswer": "C"}]}""";
+
+        Question question = parser.readQuestions(response(text)).get(0);
+
+        assertThat(question.getType()).isNull();
+        assertThatThrownBy(() -> GeminiResponseParser.validate(question, 1))
+                .isInstanceOf(GeminiSchemaException.class)
+                .hasMessageContaining("Question 1");
+    }
+
+    @Test
+    void acceptsEveryCorrectOptionForMultipleChoice() {
+        Question question = Question.builder().questionText("Q").type(Question.QuestionType.MULTIPLE_CHOICE)
+                .options(List.of("List", "Map", "Set")).correctAnswer("List, Set").build();
+
+        GeminiResponseParser.validate(question, 1);
+
+        question.setCorrectAnswer("List, Queue");
+        assertThatThrownBy(() -> GeminiResponseParser.validate(question, 1)).isInstanceOf(GeminiSchemaException.class);
+    }
+
+    @Test
+    void surfacesApiErrorAndMissingCandidates() {
+        assertThatThrownBy(() -> parser.readQuestions(stream("{\"error\": {\"code\": 400, \"message\": \"bad key\"}}")))
+                .isInstanceOf(GeminiApiException.class)
+                .hasMessageContaining("bad key");
+        assertThatThrownBy(() -> parser.readQuestions(stream("{\"candidates\": []}")))
+                .isInstanceOf(GeminiApiException.class)
+                .hasMessageContaining("candidates");
+    }
+
+    @Test
+    void streamChunkWithoutTextIsEmpty() {
+        assertThat(parser.readChunkText("{\"candidates\": [{\"finishReason\": \"STOP\"}], \"usageMetadata\": {}}"))
+                .isEmpty();
+    }
+
+    // Recorded generateContent envelope shape, including fields the parser has to skip
+    private static InputStream response(String text) {
+        String escaped = text.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        return stream("""
+                {"candidates": [{"content": {"parts": [{"text": "%s"}], "role": "model"},
+                  "finishReason": "STOP", "safetyRatings": [{"category": "HARM_CATEGORY_HARASSMENT", "probability": "NEGLIGIBLE"}]}],
+                 "usageMetadata": {"promptTokenCount": 120, "candidatesTokenCount": 300},
+                 "modelVersion": "gemini-1.5-flash"}""".formatted(escaped));
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,159 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.quizApp.backendQuizApp.config.properties.GeminiProperties;
+import com.quizApp.backendQuizApp.config.properties.GenerationProperties;
+import com.quizApp.backendQuizApp.dto.quiz.QuizGenerationRequest;
+import com.quizApp.backendQuizApp.exception.GeminiApiException;
+import com.quizApp.backendQuizApp.model.Question;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GeminiSalvageTest {
+
+    // Recorded model output: one clean question, two that only need local fixes, one with an answer not in its options
+    private static final String BAD_BATCH = """
+            {"questions": [
+              {"questionText": "Which tool compiles Java?", "type": "SINGLE_CHOICE",
+               "options": ["javac", "java"], "correctAnswer": "javac"},
+              {"questionText": "  What runs bytecode? ", "type": "SINGLE_CHOICE",
+               "options": ["JDK", "JVM", "JRE"], "correctAnswer": " jvm "},
+              {"questionText": "Java is statically typed.", "type": "TRUE_FALSE",
+               "options": ["True", "true", "False"], "correctAnswer": "TRUE"},
+              {"questionText": "Which is a JVM language?", "type": "SINGLE_CHOICE",
+               "options": ["C", "Go"], "correctAnswer": "Kotlin"}
+            ]}""";
+
+    // Recorded top-up output for the single missing question
+    private static final String TOP_UP = """
+            {"questions": [
+              {"questionText": "Which keyword declares a constant?", "type": "SINGLE_CHOICE",
+               "options": ["final", "const"], "correctAnswer": "final"}
+            ]}""";
+
+    // A top-up that only repeats a question the quiz already has
+    private static final String DUPLICATE_TOP_UP = """
+            {"questions": [
+              {"questionText": "which tool compiles java", "type": "SINGLE_CHOICE",
+               "options": ["javac", "java"], "correctAnswer": "javac"}
+            ]}""";
+
+    private final List<String> prompts = new CopyOnWriteArrayList<>();
+    private List<String> script = List.of(BAD_BATCH, TOP_UP);
+    private HttpServer server;
+
+    @BeforeEach
+    void startStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            prompts.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            String text = script.get(Math.min(prompts.size(), script.size()) - 1);
+            String escaped = text.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+            String envelope = "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"" + escaped + "\"}]}}]}";
+            boolean streaming = exchange.getRequestURI().getPath().contains("streamGenerateContent");
+            byte[] response = (streaming ? "data: " + envelope + "\n\n" : envelope).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", streaming ? "text/event-stream" : "application/json");
+            exchange.sendResponseHeaders(200, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopStub() {
+        server.stop(0);
+    }
+
+    @Test
+    void repairsDropsAndTopsUpOnlyTheGap() {
+        GeminiProperties geminiProperties = new GeminiProperties();
+        geminiProperties.setModel("test");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        GeminiAiService service = new GeminiAiService(
+                WebClient.create("http://localhost:" + server.getAddress().getPort()),
+                geminiProperties, registry, new GenerationAdmission(geminiProperties, registry),
+                new GenerationProperties(), new ObjectMapper());
+        QuizGenerationRequest request = new QuizGenerationRequest();
+        request.setTopic("Java");
+        request.setNumberOfQuestions(4);
+
+        List<Question> questions = service.generateQuestions(request);
+
+        assertThat(questions).extracting(Question::getCorrectAnswer).containsExactly("javac", "JVM", "True", "final");
+        assertThat(questions.get(1).getQuestionText()).isEqualTo("What runs bytecode?");
+        assertThat(questions.get(2).getOptions()).containsExactly("True", "False");
+        assertThat(prompts).hasSize(2);
+        assertThat(prompts.get(1)).contains("Generate 1 quiz questions");
+        assertThat(registry.counter("gemini.repair", "result", "clean").count()).isEqualTo(2);
+        assertThat(registry.counter("gemini.repair", "result", "repaired").count()).isEqualTo(2);
+        assertThat(registry.counter("gemini.repair", "result", "dropped").count()).isEqualTo(1);
+        assertThat(registry.counter("gemini.repair.topups").count()).isEqualTo(1);
+    }
+
+    @Test
+    void streamTopsUpOffTheEventLoopForAsManyRoundsAsAllowed() {
+        script = List.of(BAD_BATCH, DUPLICATE_TOP_UP, TOP_UP);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        GeminiProperties geminiProperties = new GeminiProperties();
+        geminiProperties.setModel("test");
+        // Records where bulkhead slots are acquired: a blocking acquire must never run on a Netty event loop
+        List<String> acquiredOn = new CopyOnWriteArrayList<>();
+        GenerationAdmission admission = new GenerationAdmission(geminiProperties, registry) {
+            @Override
+            public void acquire() {
+                acquiredOn.add(Thread.currentThread().getName());
+                super.acquire();
+            }
+        };
+        GeminiAiService service = new GeminiAiService(WebClient.create("http://localhost:" + server.getAddress().getPort()),
+                geminiProperties, registry, admission, new GenerationProperties(), new ObjectMapper());
+        QuizGenerationRequest request = new QuizGenerationRequest();
+        request.setTopic("Java");
+        request.setNumberOfQuestions(4);
+
+        List<Question> questions = service.streamQuestions(request).collectList().block();
+
+        assertThat(questions).extracting(Question::getCorrectAnswer).containsExactly("javac", "JVM", "True", "final");
+        assertThat(prompts).hasSize(3);
+        assertThat(registry.counter("gemini.repair.topups").count()).isEqualTo(2);
+        assertThat(acquiredOn).hasSize(3);
+        assertThat(acquiredOn.subList(1, 3)).allSatisfy(thread -> assertThat(thread).startsWith("boundedElastic"));
+    }
+
+    @Test
+    void streamFailsWhenTopUpsCannotFillTheGap() {
+        script = List.of(BAD_BATCH, DUPLICATE_TOP_UP);
+        GeminiAiService service = service(new SimpleMeterRegistry());
+        QuizGenerationRequest request = new QuizGenerationRequest();
+        request.setTopic("Java");
+        request.setNumberOfQuestions(4);
+
+        assertThatThrownBy(() -> service.streamQuestions(request).collectList().block())
+                .isInstanceOf(GeminiApiException.class)
+                .hasMessageContaining("3 of 4");
+    }
+
+    private GeminiAiService service(SimpleMeterRegistry registry) {
+        GeminiProperties geminiProperties = new GeminiProperties();
+        geminiProperties.setModel("test");
+        return new GeminiAiService(WebClient.create("http://localhost:" + server.getAddress().getPort()),
+                geminiProperties, registry, new GenerationAdmission(geminiProperties, registry),
+                new GenerationProperties(), new ObjectMapper());
+    }
+}
@@ -0,0 +1,53 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.quizApp.backendQuizApp.config.properties.GeminiProperties;
+import com.quizApp.backendQuizApp.exception.RateLimitedException;
+import com.quizApp.backendQuizApp.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GenerationAdmissionTest {
+
+    private static GenerationAdmission admission(int maxConcurrent, int maxQueued, int burst) {
+        GeminiProperties properties = new GeminiProperties();
+        properties.getAdmission().setMaxConcurrent(maxConcurrent);
+        properties.getAdmission().setMaxQueued(maxQueued);
+        properties.getAdmission().setMaxWait(Duration.ofMillis(20));
+        properties.getAdmission().setUserBurst(burst);
+        properties.getAdmission().setUserRefillPerMinute(1);
+        return new GenerationAdmission(properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void rejectsUserOnceBurstIsSpentWithRetryAfter() {
+        GenerationAdmission admission = admission(1, 1, 2);
+        admission.admitUser("alice");
+        admission.admitUser("alice");
+
+        assertThatThrownBy(() -> admission.admitUser("alice"))
+                .isInstanceOf(RateLimitedException.class)
+                .satisfies(e -> assertThat(((RateLimitedException) e).getRetryAfter())
+                        .isBetween(Duration.ofSeconds(1), Duration.ofMinutes(1)));
+        // Buckets are per user
+        admission.admitUser("bob");
+    }
+
+    @Test
+    void rejectsWhenBulkheadStaysFullPastMaxWait() {
+        GenerationAdmission admission = admission(1, 1, 1);
+        admission.acquire();
+
+        assertThatThrownBy(admission::acquire)
+                .isInstanceOf(ServiceOverloadedException.class)
+                .satisfies(e -> assertThat(((ServiceOverloadedException) e).getRetryAfter()).isNotNull());
+
+        admission.release();
+        admission.acquire();
+        admission.release();
+    }
+}
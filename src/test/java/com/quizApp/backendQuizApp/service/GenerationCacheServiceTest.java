@@ -0,0 +1,119 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.quizApp.backendQuizApp.config.properties.GenerationProperties;
+import com.quizApp.backendQuizApp.model.GenerationCacheEntry;
+import com.quizApp.backendQuizApp.model.Question;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GenerationCacheServiceTest {
+
+    private static final GenerationKey KEY = new GenerationKey("java", Question.DifficultyLevel.MEDIUM, "", 1);
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger generated = new AtomicInteger();
+    private final GenerationCacheService service;
+
+    GenerationCacheServiceTest() {
+        GenerationProperties properties = new GenerationProperties();
+        properties.getCache().setMaxReuses(3);
+        properties.getCache().setNearCacheTtl(Duration.ofMinutes(10));
+        service = new GenerationCacheService(mongoTemplate, properties, meterRegistry, nanos::get);
+    }
+
+    @Test
+    void repeatedRequestsAreServedFromTheNearCacheAsCopies() {
+        List<Question> first = service.getOrGenerate(KEY, generator());
+        List<Question> second = service.getOrGenerate(KEY, generator());
+
+        assertThat(generated).hasValue(1);
+        assertThat(second).usingRecursiveFieldByFieldElementComparator().isEqualTo(first);
+        assertThat(second.get(0)).isNotSameAs(first.get(0));
+        // Only the first request had to consult the shared collection
+        verifyClaims(1);
+        assertThat(count("near_hit")).isEqualTo(1);
+    }
+
+    @Test
+    void entryIsRegeneratedOnceItsReuseBudgetIsSpent() {
+        for (int i = 0; i < 3; i++) {
+            service.getOrGenerate(KEY, generator());
+        }
+        assertThat(generated).hasValue(1);
+
+        service.getOrGenerate(KEY, generator());
+
+        assertThat(generated).hasValue(2);
+        verify(mongoTemplate).remove(any(Query.class), eq(GenerationCacheEntry.class));
+        assertThat(count("stale")).isEqualTo(1);
+    }
+
+    @Test
+    void expiredNearEntryFallsBackToAClaimOnTheSharedEntry() {
+        service.getOrGenerate(KEY, generator());
+        nanos.addAndGet(Duration.ofMinutes(10).plusSeconds(1).toNanos());
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(GenerationCacheEntry.class)))
+                .thenReturn(GenerationCacheEntry.builder().id(KEY.asString()).questions(questions()).useCount(2).build());
+
+        List<Question> questions = service.getOrGenerate(KEY, generator());
+
+        assertThat(generated).hasValue(1);
+        assertThat(questions).extracting(Question::getQuestionText).containsExactly("What is a JVM?");
+        Query claim = verifyClaims(2);
+        // Expired or used-up shared entries are never claimed
+        Document criteria = claim.getQueryObject();
+        assertThat(criteria.get("useCount", Document.class)).containsEntry("$lt", 3);
+        assertThat(criteria.get("expiresAt", Document.class)).containsKey("$gt");
+        assertThat(count("hit")).isEqualTo(1);
+    }
+
+    private Query verifyClaims(int times) {
+        ArgumentCaptor<Query> claims = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(times)).findAndModify(claims.capture(), any(Update.class),
+                any(FindAndModifyOptions.class), eq(GenerationCacheEntry.class));
+        return claims.getValue();
+    }
+
+    private double count(String result) {
+        return meterRegistry.counter("quiz.generation.cache", "result", result).count();
+    }
+
+    private Supplier<List<Question>> generator() {
+        return () -> {
+            generated.incrementAndGet();
+            return questions();
+        };
+    }
+
+    private static List<Question> questions() {
+        return List.of(Question.builder()
+                .questionText("What is a JVM?")
+                .type(Question.QuestionType.SINGLE_CHOICE)
+                .options(List.of("A virtual machine", "A compiler"))
+                .correctAnswer("A virtual machine")
+                .build());
+    }
+}
@@ -0,0 +1,180 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.quizApp.backendQuizApp.config.properties.GeminiProperties;
+import com.quizApp.backendQuizApp.config.properties.GenerationProperties;
+import com.quizApp.backendQuizApp.dto.quiz.QuizGenerationRequest;
+import com.quizApp.backendQuizApp.model.Question;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GenerationWarmPoolTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:59:00Z"));
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<QuizGenerationRequest> generated = new ArrayList<>();
+    private final GenerationProperties.WarmPool props = new GenerationProperties.WarmPool();
+    private final GenerationAdmission admission = admission();
+
+    @Test
+    void poolsHotKeysOffPeakAndRefillsWhenTaken() {
+        props.setOffPeakStart(LocalTime.of(1, 0));
+        props.setOffPeakEnd(LocalTime.of(6, 0));
+        GenerationWarmPool pool = pool();
+        GenerationKey hot = GenerationKey.of(request("Java  Streams"));
+        GenerationKey cold = GenerationKey.of(request("Rust"));
+        for (int i = 0; i < 3; i++) {
+            assertThat(pool.take(hot)).isEmpty();
+        }
+        pool.take(cold);
+
+        // Outside the off-peak window nothing is generated in the background
+        pool.refillHotKeys();
+        assertThat(generated).isEmpty();
+
+        clock.set(Instant.parse("2026-01-01T01:00:00Z"));
+        pool.refillHotKeys();
+        assertThat(pool.pooled(hot)).isEqualTo(2);
+        assertThat(pool.pooled(cold)).isZero();
+        assertThat(generated).extracting(QuizGenerationRequest::getTopic).containsOnly("java streams");
+
+        clock.set(Instant.parse("2026-01-01T01:00:50Z"));
+        assertThat(pool.take(GenerationKey.of(request("java streams")))).hasValueSatisfying(q -> assertThat(q).hasSize(3));
+        assertThat(pool.pooled(hot)).isEqualTo(2);
+        assertThat(registry.get("generation.pool.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(registry.get("generation.pool.size").gauge().value()).isEqualTo(2);
+        assertThat(registry.get("generation.pool.refill.lag").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void discardsExpiredSetsAndKeysThatCooledDown() {
+        props.setMaxAge(Duration.ofHours(1));
+        props.setHalfLife(Duration.ofMinutes(30));
+        GenerationWarmPool pool = pool();
+        GenerationKey key = GenerationKey.of(request("Java"));
+        for (int i = 0; i < 3; i++) {
+            pool.take(key);
+        }
+        pool.refillHotKeys();
+        assertThat(pool.pooled(key)).isEqualTo(2);
+
+        clock.set(clock.instant().plus(Duration.ofHours(2)));
+        assertThat(pool.take(key)).isEmpty();
+        pool.refillHotKeys();
+
+        assertThat(pool.pooled(key)).isZero();
+        assertThat(registry.get("generation.pool.size").gauge().value()).isZero();
+    }
+
+    @Test
+    void defersRefillsWhileAdmissionIsSaturatedAndForgetsFinishedKeys() {
+        props.setOffPeakStart(LocalTime.of(1, 0));
+        props.setOffPeakEnd(LocalTime.of(6, 0));
+        clock.set(Instant.parse("2026-01-01T01:00:00Z"));
+        GenerationWarmPool pool = pool();
+        GenerationKey key = GenerationKey.of(request("Java"));
+        for (int i = 0; i < 3; i++) {
+            pool.take(key);
+        }
+        pool.refillHotKeys();
+        assertThat(pool.pooled(key)).isEqualTo(2);
+        assertThat(pool.pendingKeys()).isZero();
+
+        // A user request holds the only bulkhead slot: taking a set must not queue a refill behind it
+        admission.acquire();
+        generated.clear();
+        clock.set(Instant.parse("2026-01-01T07:00:00Z"));
+        assertThat(pool.take(key)).isPresent();
+        assertThat(generated).isEmpty();
+        assertThat(registry.get("generation.pool.refills.deferred").gauge().value()).isEqualTo(1);
+
+        // Once the slot is free the next pass makes the replacement, even outside the off-peak window
+        admission.release();
+        pool.refillHotKeys();
+        assertThat(generated).hasSize(1);
+        assertThat(pool.pooled(key)).isEqualTo(2);
+        assertThat(pool.pendingKeys()).isZero();
+        assertThat(registry.get("generation.pool.refills.deferred").gauge().value()).isZero();
+    }
+
+    private GenerationWarmPool pool() {
+        props.setMinRequests(2);
+        props.setZone(ZoneOffset.UTC);
+        QuestionGenerator stub = new QuestionGenerator() {
+            @Override
+            public String name() {
+                return "stub";
+            }
+
+            @Override
+            public List<Question> generateQuestions(QuizGenerationRequest request) {
+                generated.add(request);
+                clock.set(clock.instant().plusSeconds(20));
+                List<Question> questions = new ArrayList<>();
+                for (int i = 0; i < request.getNumberOfQuestions(); i++) {
+                    questions.add(Question.builder().questionText("Q" + i).build());
+                }
+                return questions;
+            }
+
+            @Override
+            public Flux<Question> streamQuestions(QuizGenerationRequest request) {
+                return Flux.fromIterable(generateQuestions(request));
+            }
+        };
+        QuestionGeneratorRouter router = new QuestionGeneratorRouter(stub, List.of(),
+                new GenerationProperties.Routing(), registry, System::nanoTime);
+        return new GenerationWarmPool(router, admission, props, registry, clock, Runnable::run);
+    }
+
+    private GenerationAdmission admission() {
+        GeminiProperties geminiProperties = new GeminiProperties();
+        geminiProperties.getAdmission().setMaxConcurrent(1);
+        return new GenerationAdmission(geminiProperties, registry);
+    }
+
+    private static QuizGenerationRequest request(String topic) {
+        QuizGenerationRequest request = new QuizGenerationRequest();
+        request.setTopic(topic);
+        request.setNumberOfQuestions(3);
+        return request;
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void set(Instant now) {
+            this.now = now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return Clock.fixed(now, zone);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.quizApp.backendQuizApp.config.properties.StatsProperties;
+import com.quizApp.backendQuizApp.model.ItemStats;
+import com.quizApp.backendQuizApp.model.Question;
+import com.quizApp.backendQuizApp.model.Quiz;
+import com.quizApp.backendQuizApp.model.User;
+import com.quizApp.backendQuizApp.repository.QuizRepository;
+import com.quizApp.backendQuizApp.security.AuthenticatedUser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ItemStatsServiceTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final BulkOperations bulk = mock(BulkOperations.class);
+    private final QuizRepository quizRepository = mock(QuizRepository.class);
+    private final ItemStatsService service = new ItemStatsService(mongoTemplate, quizRepository, new StatsProperties(),
+            new SimpleMeterRegistry());
+
+    @Test
+    void tallyGrowsToTheLargerShapeWhenTheQuizChangesBetweenSubmissions() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ItemStats.class)).thenReturn(bulk);
+        AnswerKey twoQuestions = AnswerKey.compile(quiz(question("a", "b"), question("x", "y")));
+        AnswerKey threeQuestions = AnswerKey.compile(quiz(question("a", "b"), question("x", "y", "z"), question("p", "q")));
+
+        service.record(twoQuestions, new String[]{"a", "y"}, new boolean[]{true, false});
+        service.record(threeQuestions, new String[]{"b", "z", "p"}, new boolean[]{false, false, true});
+        service.flush();
+
+        Document inc = flushedIncrements();
+        assertThat(inc.get("questions.0.attempts")).isEqualTo(2L);
+        assertThat(inc.get("questions.0.correct")).isEqualTo(1L);
+        assertThat(inc.get("questions.0.options.0")).isEqualTo(1L);
+        assertThat(inc.get("questions.0.options.1")).isEqualTo(1L);
+        assertThat(inc.get("questions.1.options.2")).isEqualTo(1L);
+        assertThat(inc.get("questions.2.attempts")).isEqualTo(1L);
+        assertThat(inc.get("questions.2.correct")).isEqualTo(1L);
+    }
+
+    @Test
+    void failedFlushMergesItsCountsBackForTheNextRun() {
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ItemStats.class))
+                .thenThrow(new IllegalStateException("primary stepped down"))
+                .thenReturn(bulk);
+        AnswerKey key = AnswerKey.compile(quiz(question("a", "b")));
+
+        service.record(key, new String[]{"a"}, new boolean[]{true});
+        service.flush();
+        service.record(key, new String[]{"b"}, new boolean[]{false});
+        service.flush();
+
+        Document inc = flushedIncrements();
+        assertThat(inc.get("questions.0.attempts")).isEqualTo(2L);
+        assertThat(inc.get("questions.0.correct")).isEqualTo(1L);
+        assertThat(inc.get("questions.0.options.0")).isEqualTo(1L);
+        assertThat(inc.get("questions.0.options.1")).isEqualTo(1L);
+    }
+
+    @Test
+    void onlyTheAuthorMayReadItemStatistics() {
+        Quiz quiz = quiz(question("a", "b"));
+        when(quizRepository.findById("quiz-1")).thenReturn(Optional.of(quiz));
+
+        assertThatThrownBy(() -> service.getItemAnalysis("quiz-1", user("someone-else", User.Role.USER)))
+                .isInstanceOf(AccessDeniedException.class);
+        assertThat(service.getItemAnalysis("quiz-1", user("author", User.Role.USER)).getQuestions()).hasSize(1);
+        assertThat(service.getItemAnalysis("quiz-1", user("admin", User.Role.ADMIN)).getQuestions()).hasSize(1);
+    }
+
+    private Document flushedIncrements() {
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(bulk).upsert(any(Query.class), update.capture());
+        verify(bulk).execute();
+        return update.getValue().getUpdateObject().get("$inc", Document.class);
+    }
+
+    private static Quiz quiz(Question... questions) {
+        return Quiz.builder().id("quiz-1").creatorId("author").questions(new ArrayList<>(List.of(questions))).build();
+    }
+
+    private static Question question(String correct, String... others) {
+        List<String> options = new ArrayList<>();
+        options.add(correct);
+        options.addAll(List.of(others));
+        return Question.builder()
+                .questionText("Pick " + correct)
+                .type(Question.QuestionType.SINGLE_CHOICE)
+                .options(options)
+                .correctAnswer(correct)
+                .build();
+    }
+
+    private static AuthenticatedUser user(String id, User.Role role) {
+        return AuthenticatedUser.builder().id(id).username(id).role(role).build();
+    }
+}
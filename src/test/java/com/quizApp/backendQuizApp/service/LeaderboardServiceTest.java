@@ -0,0 +1,75 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.quizApp.backendQuizApp.config.properties.StatsProperties;
+import com.quizApp.backendQuizApp.model.Leaderboard;
+import com.quizApp.backendQuizApp.model.QuizAttempt;
+import com.quizApp.backendQuizApp.repository.LeaderboardRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LeaderboardServiceTest {
+
+    private final LeaderboardRepository repository = mock(LeaderboardRepository.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void keepsTheTopKInRankingOrderAndSkipsWritesThatCannotPlace() {
+        LeaderboardService service = service(3);
+
+        service.record(attempt("a1", "ann", 80, 60));
+        service.record(attempt("a2", "bob", 90, 120));
+        service.record(attempt("a3", "cat", 90, 100));
+        service.record(attempt("a4", "dan", 70, 30));
+        service.record(attempt("a5", "eve", 85, 50));
+
+        assertThat(service.top("quiz", 10)).extracting(Leaderboard.Entry::getAttemptId).containsExactly("a3", "a2", "a5");
+        assertThat(service.top("quiz", 2)).extracting(Leaderboard.Entry::getAttemptId).containsExactly("a3", "a2");
+        // dan's 70 never beat the full board's last place, so it was not written
+        verify(repository, times(4)).offer(eq("quiz"), any(Leaderboard.Entry.class), eq(3));
+        assertThat(registry.counter("leaderboard.offers", "result", "skipped").count()).isEqualTo(1);
+    }
+
+    @Test
+    void listsEachUserOnceWithTheirBestAttempt() {
+        LeaderboardService service = service(3);
+
+        service.record(attempt("a1", "ann", 70, 60));
+        service.record(attempt("a2", "bob", 80, 60));
+        service.record(attempt("a3", "ann", 90, 60));
+        service.record(attempt("a4", "ann", 60, 10));
+        service.record(attempt("a5", "cat", 50, 60));
+
+        assertThat(service.top("quiz", 3)).extracting(Leaderboard.Entry::getAttemptId).containsExactly("a3", "a2", "a5");
+        // The worse retry is not even sent to the shared board
+        verify(repository, times(4)).offer(eq("quiz"), any(Leaderboard.Entry.class), anyInt());
+    }
+
+    private LeaderboardService service(int capacity) {
+        when(repository.findById("quiz")).thenReturn(Optional.empty());
+        StatsProperties props = new StatsProperties();
+        props.getLeaderboard().setCapacity(capacity);
+        return new LeaderboardService(repository, props, registry);
+    }
+
+    private static QuizAttempt attempt(String id, String userId, double score, long seconds) {
+        return QuizAttempt.builder()
+                .id(id)
+                .quizId("quiz")
+                .userId(userId)
+                .username(userId)
+                .scorePercentage(score)
+                .timeTakenSeconds(seconds)
+                .build();
+    }
+}
@@ -0,0 +1,191 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.quizApp.backendQuizApp.config.properties.GenerationProperties;
+import com.quizApp.backendQuizApp.dto.quiz.QuizGenerationRequest;
+import com.quizApp.backendQuizApp.exception.CircuitOpenException;
+import com.quizApp.backendQuizApp.exception.GeminiApiException;
+import com.quizApp.backendQuizApp.exception.ServiceOverloadedException;
+import com.quizApp.backendQuizApp.model.Question;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QuestionGeneratorRouterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void routesBySizeAndDifficultyAndAvoidsRoutesOverTheirLatencyBudget() {
+        StubGenerator small = new StubGenerator("small", 100);
+        StubGenerator large = new StubGenerator("large", 400);
+        GenerationProperties.Routing routing = routing(
+                route("small", 10, EnumSet.of(Question.DifficultyLevel.EASY), Duration.ofMillis(200)),
+                route("large", null, EnumSet.noneOf(Question.DifficultyLevel.class), null));
+        QuestionGeneratorRouter router = router(large, routing, small, large);
+
+        assertThat(router.generateQuestions(request(5, Question.DifficultyLevel.EASY))).hasSize(5);
+        assertThat(router.generateQuestions(request(30, Question.DifficultyLevel.HARD))).hasSize(30);
+        assertThat(small.calls).isEqualTo(1);
+        assertThat(large.calls).isEqualTo(1);
+
+        // The small model slows down past its budget; once the average reflects it, easy quizzes move over
+        small.latencyMsPerQuestion = 600;
+        for (int i = 0; i < 3; i++) {
+            router.generateQuestions(request(5, Question.DifficultyLevel.EASY));
+        }
+        int before = small.calls;
+        router.generateQuestions(request(5, Question.DifficultyLevel.EASY));
+
+        assertThat(small.calls).isEqualTo(before);
+        assertThat(router.stats("small").latencyMsPerQuestion()).isGreaterThan(200);
+    }
+
+    @Test
+    void failsOverToCheapestCandidateAndStopsPreferringAFailingOne() {
+        StubGenerator flaky = new StubGenerator("flaky", 50);
+        flaky.failing = true;
+        StubGenerator slow = new StubGenerator("slow", 400);
+        StubGenerator quick = new StubGenerator("quick", 100);
+        GenerationProperties.Routing routing = routing(
+                route("flaky", null, EnumSet.noneOf(Question.DifficultyLevel.class), null),
+                route("slow", null, EnumSet.noneOf(Question.DifficultyLevel.class), null),
+                route("quick", null, EnumSet.noneOf(Question.DifficultyLevel.class), null));
+        QuestionGeneratorRouter router = router(slow, routing, flaky, slow, quick);
+        for (int i = 0; i < 2; i++) {
+            router.stats("slow").recordSuccess(TimeUnit.MILLISECONDS.toNanos(400), 1);
+            router.stats("quick").recordSuccess(TimeUnit.MILLISECONDS.toNanos(100), 1);
+        }
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(router.generateQuestions(request(4, Question.DifficultyLevel.MEDIUM))).hasSize(4);
+        }
+
+        // Failover skips the next configured route for the cheaper one; after two failures flaky is unhealthy
+        // and the next configured route becomes the preferred one
+        assertThat(flaky.calls).isEqualTo(2);
+        assertThat(quick.calls).isEqualTo(2);
+        assertThat(slow.calls).isEqualTo(1);
+        assertThat(registry.counter("generation.router.failovers").count()).isEqualTo(2);
+    }
+
+    @Test
+    void streamFailsOverOnlyBeforeTheFirstQuestion() {
+        StubGenerator flaky = new StubGenerator("flaky", 50);
+        flaky.failing = true;
+        StubGenerator backup = new StubGenerator("backup", 100);
+        GenerationProperties.Routing routing = routing(
+                route("flaky", null, EnumSet.noneOf(Question.DifficultyLevel.class), null),
+                route("backup", null, EnumSet.noneOf(Question.DifficultyLevel.class), null));
+        QuestionGeneratorRouter router = router(backup, routing, flaky, backup);
+
+        List<Question> streamed = router.streamQuestions(request(3, Question.DifficultyLevel.MEDIUM)).collectList().block();
+
+        assertThat(streamed).hasSize(3);
+        assertThat(flaky.calls).isEqualTo(1);
+        assertThat(router.stats("flaky").errorRate()).isGreaterThan(0);
+    }
+
+    @Test
+    void failsOverWhenAModelsBreakerIsOpenButNotOnLocalBackPressure() {
+        StubGenerator primary = new StubGenerator("primary", 50);
+        primary.failing = true;
+        primary.failure = new ServiceOverloadedException("Too many generations in progress");
+        StubGenerator backup = new StubGenerator("backup", 100);
+        GenerationProperties.Routing routing = routing(
+                route("primary", null, EnumSet.noneOf(Question.DifficultyLevel.class), null),
+                route("backup", null, EnumSet.noneOf(Question.DifficultyLevel.class), null));
+        QuestionGeneratorRouter router = router(backup, routing, primary, backup);
+
+        assertThatThrownBy(() -> router.generateQuestions(request(3, Question.DifficultyLevel.MEDIUM)))
+                .isExactlyInstanceOf(ServiceOverloadedException.class);
+        assertThat(backup.calls).isZero();
+        assertThat(router.stats("primary").errorRate()).isZero();
+
+        primary.failure = new CircuitOpenException("primary", Duration.ofSeconds(30));
+        assertThat(router.generateQuestions(request(3, Question.DifficultyLevel.MEDIUM))).hasSize(3);
+        assertThat(router.streamQuestions(request(3, Question.DifficultyLevel.MEDIUM)).collectList().block()).hasSize(3);
+        assertThat(backup.calls).isEqualTo(2);
+        assertThat(router.stats("primary").errorRate()).isGreaterThan(0);
+    }
+
+    private QuestionGeneratorRouter router(QuestionGenerator defaultGenerator, GenerationProperties.Routing routing,
+                                           QuestionGenerator... generators) {
+        return new QuestionGeneratorRouter(defaultGenerator, List.of(generators), routing, registry, clock::get);
+    }
+
+    private static GenerationProperties.Routing routing(GenerationProperties.Route... routes) {
+        GenerationProperties.Routing routing = new GenerationProperties.Routing();
+        routing.setRoutes(List.of(routes));
+        routing.setLatencyAlpha(0.5);
+        routing.setErrorAlpha(0.5);
+        routing.setMinSamples(2);
+        return routing;
+    }
+
+    private static GenerationProperties.Route route(String generator, Integer maxQuestions,
+                                                    EnumSet<Question.DifficultyLevel> difficulties, Duration budget) {
+        GenerationProperties.Route route = new GenerationProperties.Route();
+        route.setGenerator(generator);
+        route.setMaxQuestions(maxQuestions);
+        route.setDifficulties(difficulties);
+        route.setMaxLatencyPerQuestion(budget);
+        return route;
+    }
+
+    private static QuizGenerationRequest request(int questions, Question.DifficultyLevel difficulty) {
+        QuizGenerationRequest request = new QuizGenerationRequest();
+        request.setTopic("Java");
+        request.setNumberOfQuestions(questions);
+        request.setDifficulty(difficulty);
+        return request;
+    }
+
+    // Simulated model: advances the shared clock by its latency profile instead of sleeping
+    private class StubGenerator implements QuestionGenerator {
+        private final String name;
+        private long latencyMsPerQuestion;
+        private boolean failing;
+        private RuntimeException failure;
+        private int calls;
+
+        StubGenerator(String name, long latencyMsPerQuestion) {
+            this.name = name;
+            this.latencyMsPerQuestion = latencyMsPerQuestion;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public List<Question> generateQuestions(QuizGenerationRequest request) {
+            calls++;
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMsPerQuestion * request.getNumberOfQuestions()));
+            if (failing) {
+                throw failure != null ? failure : new GeminiApiException(name + " unavailable");
+            }
+            List<Question> questions = new ArrayList<>();
+            for (int i = 0; i < request.getNumberOfQuestions(); i++) {
+                questions.add(Question.builder().questionText(name + " " + i).build());
+            }
+            return questions;
+        }
+
+        @Override
+        public Flux<Question> streamQuestions(QuizGenerationRequest request) {
+            return Flux.defer(() -> Flux.fromIterable(generateQuestions(request)));
+        }
+    }
+}
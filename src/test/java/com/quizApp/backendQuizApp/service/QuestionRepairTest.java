@@ -0,0 +1,58 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.quizApp.backendQuizApp.model.Question;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuestionRepairTest {
+
+    @Test
+    void matchesAnswerIgnoringCaseSpacingAndLetterLabels() {
+        assertThat(repaired(Question.QuestionType.SINGLE_CHOICE, "  java   virtual machine ",
+                "JDK", "Java Virtual Machine")).isEqualTo("Java Virtual Machine");
+        assertThat(repaired(Question.QuestionType.SINGLE_CHOICE, "b)", "JDK", "JVM", "JRE")).isEqualTo("JVM");
+        assertThat(repaired(Question.QuestionType.SINGLE_CHOICE, "C. JRE", "JDK", "JVM", "JRE")).isEqualTo("JRE");
+        assertThat(repaired(Question.QuestionType.MULTIPLE_CHOICE, "list,SET", "List", "Map", "Set")).isEqualTo("List, Set");
+    }
+
+    @Test
+    void deduplicatesOptionsAndFillsTrueFalse() {
+        Question duplicated = question(Question.QuestionType.SINGLE_CHOICE, "JVM", " JVM", "jvm", "", "JDK");
+        Question trueFalse = question(Question.QuestionType.TRUE_FALSE, "true");
+        trueFalse.setOptions(null);
+
+        assertThat(QuestionRepair.repair(duplicated)).isTrue();
+        assertThat(QuestionRepair.repair(trueFalse)).isTrue();
+
+        assertThat(duplicated.getOptions()).containsExactly("JVM", "JDK");
+        assertThat(trueFalse.getOptions()).containsExactly("True", "False");
+        assertThat(trueFalse.getCorrectAnswer()).isEqualTo("True");
+    }
+
+    @Test
+    void leavesUnrepairableAndValidQuestionsAlone() {
+        Question unknown = question(Question.QuestionType.SINGLE_CHOICE, "Kotlin", "JDK", "JVM");
+        Question outOfRange = question(Question.QuestionType.SINGLE_CHOICE, "D", "JDK", "JVM");
+        Question valid = question(Question.QuestionType.SINGLE_CHOICE, "JVM", "JDK", "JVM");
+
+        assertThat(QuestionRepair.repair(unknown)).isFalse();
+        assertThat(QuestionRepair.repair(outOfRange)).isFalse();
+        assertThat(QuestionRepair.repair(valid)).isFalse();
+        assertThat(unknown.getCorrectAnswer()).isEqualTo("Kotlin");
+    }
+
+    private static String repaired(Question.QuestionType type, String answer, String... options) {
+        Question question = question(type, answer, options);
+        QuestionRepair.repair(question);
+        GeminiResponseParser.validate(question, 1);
+        return question.getCorrectAnswer();
+    }
+
+    private static Question question(Question.QuestionType type, String answer, String... options) {
+        return Question.builder().questionText("Q").type(type).correctAnswer(answer)
+                .options(List.of(options)).build();
+    }
+}
@@ -0,0 +1,34 @@
+package com.quizApp.backendQuizApp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuestionStreamParserTest {
+
+    private static final String RESPONSE = "{\"questions\": ["
+            + "{\"questionText\": \"What does {} mean in \\\"Java\\\"?\", \"options\": [\"a\", \"b\"]},"
+            + "{\"questionText\": \"Second\", \"options\": [\"x]\", \"y\"]}"
+            + "]}";
+
+    @Test
+    void emitsEachQuestionOnceItIsComplete() {
+        QuestionStreamParser parser = new QuestionStreamParser();
+        List<String> emitted = new ArrayList<>();
+        for (int i = 0; i < RESPONSE.length(); i += 7) {
+            emitted.addAll(parser.feed(RESPONSE.substring(i, Math.min(RESPONSE.length(), i + 7))));
+        }
+
+        assertThat(emitted).hasSize(2);
+        assertThat(emitted.get(0)).startsWith("{\"questionText\": \"What does {} mean").endsWith("]}");
+        assertThat(emitted.get(1)).isEqualTo("{\"questionText\": \"Second\", \"options\": [\"x]\", \"y\"]}");
+    }
+
+    @Test
+    void handlesWholeResponseInOneFragment() {
+        assertThat(new QuestionStreamParser().feed(RESPONSE)).hasSize(2);
+    }
+}
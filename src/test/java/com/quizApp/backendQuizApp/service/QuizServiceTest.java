@@ -0,0 +1,46 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.quizApp.backendQuizApp.config.properties.GenerationProperties;
+import com.quizApp.backendQuizApp.dto.quiz.QuizGenerationRequest;
+import com.quizApp.backendQuizApp.model.Question;
+import com.quizApp.backendQuizApp.model.Quiz;
+import com.quizApp.backendQuizApp.model.User;
+import com.quizApp.backendQuizApp.repository.QuizRepository;
+import com.quizApp.backendQuizApp.security.AuthenticatedUser;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class QuizServiceTest {
+
+    @Test
+    void streamedQuizIsSavedOffTheThreadThatDeliveredTheQuestions() throws Exception {
+        QuizRepository quizRepository = mock(QuizRepository.class);
+        QuestionGeneratorRouter router = mock(QuestionGeneratorRouter.class);
+        CompletableFuture<String> savedOn = new CompletableFuture<>();
+        when(quizRepository.save(any(Quiz.class))).thenAnswer(invocation -> {
+            savedOn.complete(Thread.currentThread().getName());
+            return invocation.getArgument(0);
+        });
+        // Stands in for the reactor-netty event loop that emits the last chunk
+        when(router.streamQuestions(any())).thenReturn(Flux.just(Question.builder().questionText("Q").build())
+                .subscribeOn(Schedulers.newSingle("event-loop")));
+        QuizService service = new QuizService(quizRepository, router, new GenerationProperties(),
+                mock(GenerationCacheService.class), mock(UserActivityService.class), mock(GenerationAdmission.class),
+                mock(GenerationWarmPool.class));
+        QuizGenerationRequest request = new QuizGenerationRequest();
+        request.setTopic("Java");
+
+        service.streamQuiz(request, AuthenticatedUser.builder().id("u1").username("alice").role(User.Role.USER).build());
+
+        assertThat(savedOn.get(5, TimeUnit.SECONDS)).startsWith("boundedElastic");
+    }
+}
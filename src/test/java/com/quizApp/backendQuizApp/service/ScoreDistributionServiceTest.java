@@ -0,0 +1,81 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.quizApp.backendQuizApp.model.QuizAttempt;
+import com.quizApp.backendQuizApp.model.ScoreHistogram;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ScoreDistributionServiceTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final ScoreDistributionService service = new ScoreDistributionService(mongoTemplate);
+
+    @Test
+    void ranksAgainstOtherAttemptsInLowerBuckets() {
+        // After the update: this attempt (80.5%) plus four others, three of them below 80%
+        returnHistogram(ScoreHistogram.builder().id("q1").total(5L)
+                .scoreBuckets(Map.of("40", 1L, "79", 2L, "80", 1L, "95", 1L)).build());
+
+        Double rank = service.record(attempt(80.5, 95L));
+
+        assertThat(rank).isEqualTo(75.0);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), update.capture(), any(FindAndModifyOptions.class),
+                eq(ScoreHistogram.class));
+        assertThat(update.getValue().getUpdateObject().get("$inc", Document.class))
+                .containsEntry("total", 1)
+                .containsEntry("scoreBuckets.80", 1)
+                .containsEntry("timeBuckets.2", 1);
+    }
+
+    @Test
+    void tiesAndTheFirstTakerAreNotCountedAsBeaten() {
+        returnHistogram(ScoreHistogram.builder().id("q1").total(3L).scoreBuckets(Map.of("100", 3L)).build());
+        assertThat(service.record(attempt(100.0, 10L))).isZero();
+
+        returnHistogram(ScoreHistogram.builder().id("q1").total(1L).scoreBuckets(Map.of("50", 1L)).build());
+        assertThat(service.record(attempt(50.0, 10L))).isNull();
+    }
+
+    @Test
+    void histogramFailureLeavesTheRankUnset() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(ScoreHistogram.class))).thenThrow(new IllegalStateException("timeout"));
+
+        assertThat(service.record(attempt(70.0, 10L))).isNull();
+    }
+
+    @Test
+    void bucketsClampOutOfRangeValues() {
+        assertThat(ScoreHistogram.scoreBucket(null)).isZero();
+        assertThat(ScoreHistogram.scoreBucket(-3.0)).isZero();
+        assertThat(ScoreHistogram.scoreBucket(99.99)).isEqualTo(99);
+        assertThat(ScoreHistogram.scoreBucket(140.0)).isEqualTo(100);
+        assertThat(ScoreHistogram.timeBucket(29L)).isZero();
+        assertThat(ScoreHistogram.timeBucket(30L)).isEqualTo(1);
+        assertThat(ScoreHistogram.timeBucket(Long.MAX_VALUE)).isEqualTo(ScoreHistogram.TIME_BUCKET_UPPER_BOUNDS_SECONDS.length - 1);
+    }
+
+    private void returnHistogram(ScoreHistogram histogram) {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+                eq(ScoreHistogram.class))).thenReturn(histogram);
+    }
+
+    private static QuizAttempt attempt(double score, long seconds) {
+        return QuizAttempt.builder().quizId("q1").scorePercentage(score).timeTakenSeconds(seconds).build();
+    }
+}
@@ -0,0 +1,98 @@
+package com.quizApp.backendQuizApp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile Thread follower;
+
+    @Test
+    void concurrentCallersShareOneExecution() throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<SingleFlight.Result<String>> leader = executor.submit(() -> singleFlight.execute("java", () -> blocking("quiz")));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<SingleFlight.Result<String>> follower = executor.submit(() -> joining(() -> singleFlight.execute("java", () -> blocking("other"))));
+            awaitFollowerParked();
+            release.countDown();
+
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(new SingleFlight.Result<>("quiz", false));
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo(new SingleFlight.Result<>("quiz", true));
+        }
+        assertThat(calls).hasValue(1);
+
+        // Finished flights are forgotten: the next call runs again
+        assertThat(singleFlight.execute("java", () -> "fresh")).isEqualTo(new SingleFlight.Result<>("fresh", false));
+    }
+
+    @Test
+    void failureReachesEveryWaiterAndIsNotCached() throws Exception {
+        IllegalStateException failure = new IllegalStateException("quota exceeded");
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<SingleFlight.Result<String>> leader = executor.submit(() -> singleFlight.execute("java", () -> {
+                blocking("unused");
+                throw failure;
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<SingleFlight.Result<String>> follower = executor.submit(() -> joining(() -> singleFlight.execute("java", () -> "other")));
+            awaitFollowerParked();
+            release.countDown();
+
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCause(failure);
+            assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCause(failure);
+        }
+        assertThat(singleFlight.execute("java", () -> "retried").value()).isEqualTo("retried");
+    }
+
+    @Test
+    void differentKeysDoNotWaitOnEachOther() throws Exception {
+        CompletableFuture<SingleFlight.Result<String>> slow =
+                CompletableFuture.supplyAsync(() -> singleFlight.execute("java", () -> blocking("java")));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(singleFlight.execute("rust", () -> "rust")).isEqualTo(new SingleFlight.Result<>("rust", false));
+
+        release.countDown();
+        assertThat(slow.get(5, TimeUnit.SECONDS).value()).isEqualTo("java");
+    }
+
+    private String blocking(String value) {
+        calls.incrementAndGet();
+        started.countDown();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+
+    private <T> T joining(Supplier<T> call) {
+        follower = Thread.currentThread();
+        return call.get();
+    }
+
+    // The follower has no "joined" signal of its own; it is parked on the leader's future once its thread waits
+    private void awaitFollowerParked() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (follower == null || follower.getState() != Thread.State.WAITING) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+}
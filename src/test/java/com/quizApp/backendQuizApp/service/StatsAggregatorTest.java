@@ -0,0 +1,102 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.quizApp.backendQuizApp.config.properties.StatsProperties;
+import com.quizApp.backendQuizApp.repository.QuizRepository;
+import com.quizApp.backendQuizApp.repository.StatsDelta;
+import com.quizApp.backendQuizApp.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class StatsAggregatorTest {
+
+    private final QuizRepository quizRepository = mock(QuizRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final StatsAggregator aggregator = aggregator();
+
+    @Test
+    void flushDrainsAccumulatedDeltasIntoOneBatchPerCollection() {
+        aggregator.recordAttempt("q1", "u1", 80, 4);
+        aggregator.recordAttempt("q1", "u2", 60, 3);
+        aggregator.recordAttempt("q2", "u1", 100, 5);
+        verifyNoInteractions(quizRepository, userRepository);
+        assertThat(registry.get("stats.writebehind.pending").gauge().value()).isEqualTo(4);
+
+        aggregator.flush();
+
+        assertThat(quizBatches(1).get(0)).containsExactlyInAnyOrder(
+                new StatsDelta("q1", 2, 140, 0), new StatsDelta("q2", 1, 100, 0));
+        assertThat(userBatches(1).get(0)).containsExactlyInAnyOrder(
+                new StatsDelta("u1", 2, 180, 9), new StatsDelta("u2", 1, 60, 3));
+        assertThat(registry.get("stats.writebehind.pending").gauge().value()).isZero();
+
+        // Nothing new since the last flush: no empty bulk writes
+        aggregator.flush();
+        verify(quizRepository, times(1)).applyStats(anyList());
+        verify(userRepository, times(1)).applyStats(anyList());
+    }
+
+    @Test
+    void failedWriteIsRequeuedAndMergedWithNewAttempts() {
+        aggregator.recordAttempt("q1", "u1", 50, 2);
+        doThrow(new IllegalStateException("primary stepped down")).doNothing().when(quizRepository).applyStats(anyList());
+
+        aggregator.flush();
+        aggregator.recordAttempt("q1", "u1", 70, 3);
+        aggregator.flush();
+
+        List<List<StatsDelta>> quizBatches = quizBatches(2);
+        assertThat(quizBatches.get(0)).containsExactly(new StatsDelta("q1", 1, 50, 0));
+        assertThat(quizBatches.get(1)).containsExactly(new StatsDelta("q1", 2, 120, 0));
+        // The user write succeeded the first time and is not repeated
+        List<List<StatsDelta>> userBatches = userBatches(2);
+        assertThat(userBatches.get(0)).containsExactly(new StatsDelta("u1", 1, 50, 2));
+        assertThat(userBatches.get(1)).containsExactly(new StatsDelta("u1", 1, 70, 3));
+    }
+
+    @Test
+    void writesThroughWhenWriteBehindIsOff() {
+        StatsProperties properties = new StatsProperties();
+        properties.setWriteBehind(false);
+        StatsAggregator direct = new StatsAggregator(quizRepository, userRepository, properties, new SimpleMeterRegistry());
+
+        direct.recordAttempt("q1", "u1", 90, 4);
+
+        verify(quizRepository).recordAttempt("q1", 90);
+        verify(userRepository).applyStats(List.of(new StatsDelta("u1", 1, 90, 4)));
+        direct.flush();
+        verify(quizRepository, never()).applyStats(anyList());
+    }
+
+    private StatsAggregator aggregator() {
+        StatsProperties properties = new StatsProperties();
+        properties.setWriteBehind(true);
+        return new StatsAggregator(quizRepository, userRepository, properties, registry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<StatsDelta>> quizBatches(int calls) {
+        ArgumentCaptor<List<StatsDelta>> captor = ArgumentCaptor.forClass(List.class);
+        verify(quizRepository, times(calls)).applyStats(captor.capture());
+        return captor.getAllValues();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<StatsDelta>> userBatches(int calls) {
+        ArgumentCaptor<List<StatsDelta>> captor = ArgumentCaptor.forClass(List.class);
+        verify(userRepository, times(calls)).applyStats(captor.capture());
+        return captor.getAllValues();
+    }
+}
@@ -0,0 +1,114 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.quizApp.backendQuizApp.config.properties.ActivityProperties;
+import com.quizApp.backendQuizApp.model.Quiz;
+import com.quizApp.backendQuizApp.model.QuizAttempt;
+import com.quizApp.backendQuizApp.model.User;
+import com.quizApp.backendQuizApp.model.UserActivityBucket;
+import com.quizApp.backendQuizApp.repository.UserActivityRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserActivityMigrationJobTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 5, 1, 10, 0);
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final UserActivityRepository activityRepository = mock(UserActivityRepository.class);
+    private final ActivityProperties properties = new ActivityProperties();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserActivityMigrationJob job =
+            new UserActivityMigrationJob(mongoTemplate, activityRepository, properties, meterRegistry);
+
+    @Test
+    void appendsTheLegacySetsBeforeUnsettingThemAndSkipsEntriesAlreadyRecorded() {
+        ObjectId userId = new ObjectId();
+        when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("users")))
+                .thenReturn(List.of(new Document("_id", userId)
+                        .append("createdQuizIds", List.of("q1", "q2", "gone"))
+                        .append("attemptedQuizIds", List.of("q3"))))
+                .thenReturn(List.of());
+        when(activityRepository.findEntryIds(userId.toString(), UserActivityBucket.ActivityType.CREATED))
+                .thenReturn(Set.of("q2"));
+        when(activityRepository.findEntryIds(userId.toString(), UserActivityBucket.ActivityType.ATTEMPTED))
+                .thenReturn(Set.of());
+        when(mongoTemplate.find(any(Query.class), eq(Quiz.class))).thenReturn(List.of(
+                Quiz.builder().id("q1").title("Java").createdAt(NOW.minusDays(2)).build(),
+                Quiz.builder().id("q2").title("Kotlin").createdAt(NOW.minusDays(1)).build()));
+        when(mongoTemplate.find(any(Query.class), eq(QuizAttempt.class))).thenReturn(List.of(
+                QuizAttempt.builder().id("a1").quizId("q3").quizTitle("Go").scorePercentage(80.0)
+                        .createdAt(NOW).build()));
+
+        job.run();
+
+        ArgumentCaptor<List<UserActivityBucket.Entry>> created = entries();
+        ArgumentCaptor<List<UserActivityBucket.Entry>> attempted = entries();
+        InOrder order = inOrder(activityRepository, mongoTemplate);
+        order.verify(activityRepository).appendHistory(eq(userId.toString()),
+                eq(UserActivityBucket.ActivityType.CREATED), created.capture());
+        order.verify(activityRepository).appendHistory(eq(userId.toString()),
+                eq(UserActivityBucket.ActivityType.ATTEMPTED), attempted.capture());
+        ArgumentCaptor<Update> unset = ArgumentCaptor.forClass(Update.class);
+        order.verify(mongoTemplate).updateFirst(any(Query.class), unset.capture(), eq("users"));
+        assertThat(created.getValue()).extracting(UserActivityBucket.Entry::getEntryId).containsExactly("q1");
+        assertThat(attempted.getValue()).singleElement().satisfies(entry -> {
+            assertThat(entry.getEntryId()).isEqualTo("a1");
+            assertThat(entry.getScorePercentage()).isEqualTo(80.0);
+            assertThat(entry.getAt()).isEqualTo(NOW);
+        });
+        assertThat(unset.getValue().getUpdateObject().get("$unset", Document.class).keySet())
+                .containsExactlyInAnyOrder("createdQuizIds", "attemptedQuizIds");
+        assertThat(meterRegistry.counter("users.activity.migration", "result", "skipped").count()).isEqualTo(1);
+    }
+
+    @Test
+    void resumesEachBatchAfterTheLastMigratedId() {
+        properties.getMigration().setBatchSize(1);
+        ObjectId first = new ObjectId();
+        ObjectId second = new ObjectId();
+        when(mongoTemplate.getCollectionName(User.class)).thenReturn("users");
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("users")))
+                .thenReturn(List.of(new Document("_id", first).append("attemptedQuizIds", List.of())))
+                .thenReturn(List.of(new Document("_id", second).append("attemptedQuizIds", List.of())))
+                .thenReturn(List.of());
+
+        job.run();
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(3)).find(queries.capture(), eq(Document.class), eq("users"));
+        assertThat(queries.getAllValues().get(0).getQueryObject()).doesNotContainKey("_id");
+        assertThat(queries.getAllValues().get(1).getQueryObject().get("_id")).isEqualTo(new Document("$gt", first));
+        assertThat(queries.getAllValues().get(2).getQueryObject().get("_id")).isEqualTo(new Document("$gt", second));
+        assertThat(queries.getAllValues()).allSatisfy(query -> assertThat(query.getLimit()).isEqualTo(1));
+        verify(activityRepository, times(0)).appendHistory(any(), any(), anyList());
+        verify(mongoTemplate, times(2)).updateFirst(any(Query.class), any(Update.class), eq("users"));
+        assertThat(meterRegistry.counter("users.activity.migration", "result", "migrated").count()).isEqualTo(2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<List<UserActivityBucket.Entry>> entries() {
+        return ArgumentCaptor.forClass(List.class);
+    }
+}
@@ -0,0 +1,66 @@
+package com.quizApp.backendQuizApp.service;
+
+import com.quizApp.backendQuizApp.dto.quiz.CursorPage;
+import com.quizApp.backendQuizApp.dto.quiz.QuizCursor;
+import com.quizApp.backendQuizApp.dto.user.ActivityFilter;
+import com.quizApp.backendQuizApp.model.UserActivityBucket;
+import com.quizApp.backendQuizApp.repository.UserActivityRepository;
+import com.quizApp.backendQuizApp.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserActivityServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 5, 1, 10, 0);
+
+    private final UserActivityRepository activityRepository = mock(UserActivityRepository.class);
+    private final UserActivityService service = new UserActivityService(activityRepository, mock(UserRepository.class));
+
+    @Test
+    void fullPageCarriesACursorAtItsLastEntry() {
+        ActivityFilter filter = new ActivityFilter();
+        filter.setLimit(2);
+        when(activityRepository.findEntries(eq("u1"), eq(UserActivityBucket.ActivityType.ATTEMPTED), isNull(), eq(3)))
+                .thenReturn(entries(3));
+
+        CursorPage<UserActivityBucket.Entry> page = service.getActivity("u1", filter);
+
+        assertThat(page.getItems()).extracting(UserActivityBucket.Entry::getEntryId).containsExactly("a0", "a1");
+        assertThat(QuizCursor.decode(page.getNextCursor())).isEqualTo(new QuizCursor(NOW.minusMinutes(1), "a1"));
+    }
+
+    @Test
+    void lastPageHasNoCursorAndResumesAfterTheGivenOne() {
+        QuizCursor after = new QuizCursor(NOW.minusMinutes(1), "a1");
+        ActivityFilter filter = new ActivityFilter();
+        filter.setLimit(2);
+        filter.setCursor(after.encode());
+        when(activityRepository.findEntries(eq("u1"), any(), eq(after), eq(3))).thenReturn(entries(2));
+
+        CursorPage<UserActivityBucket.Entry> page = service.getActivity("u1", filter);
+
+        assertThat(page.getItems()).hasSize(2);
+        assertThat(page.getNextCursor()).isNull();
+        verify(activityRepository).findEntries("u1", UserActivityBucket.ActivityType.ATTEMPTED, after, 3);
+    }
+
+    // Newest first, one minute apart
+    private static List<UserActivityBucket.Entry> entries(int count) {
+        List<UserActivityBucket.Entry> entries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            entries.add(UserActivityBucket.Entry.builder().entryId("a" + i).at(NOW.minusMinutes(i)).build());
+        }
+        return entries;
+    }
+}